@@ -0,0 +1,41 @@
+package com.example.account.domain;
+
+import com.example.account.type.AccountStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Account 잔액 변경 벤치마크
+ *  balance 가 Long 이므로 연산마다 박싱 할당이 발생 -> -prof gc 로 확인
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountBenchmark {
+    private Account account;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        account = Account.builder()
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(Long.MAX_VALUE / 2)
+                .build();
+    }
+
+    @Benchmark
+    public Long useBalance() {
+        account.useBalance(10L);
+        return account.getBalance();
+    }
+
+    @Benchmark
+    public Long cancelBalance() {
+        account.cancelBalance(10L);
+        return account.getBalance();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.account.dto;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.type.AccountStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.dto.TransactionType.USE;
+import static com.example.account.type.TransactionResultType.S;
+
+/**
+ *  Entity -> Dto -> Response 변환 벤치마크
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionDtoBenchmark {
+    private Transaction transaction;
+    private TransactionDto transactionDto;
+
+    @Setup
+    public void setUp() {
+        Account account = Account.builder()
+                .id(1L)
+                .accountUser(AccountUser.builder().id(1L).name("Pororo").build())
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10000L)
+                .build();
+        transaction = Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("c52454620a8f4d6a88e09bc58b41e6cb")
+                .transactedAt(LocalDateTime.now())
+                .amount(1000L)
+                .balanceSnapShot(9000L)
+                .build();
+        transactionDto = TransactionDto.fromEntity(transaction);
+    }
+
+    @Benchmark
+    public TransactionDto fromEntity() {
+        return TransactionDto.fromEntity(transaction);
+    }
+
+    @Benchmark
+    public UseBalance.Response useBalanceResponse() {
+        return UseBalance.Response.from(transactionDto);
+    }
+
+    @Benchmark
+    public UseBalance.Response entityToResponse() {
+        return UseBalance.Response.from(TransactionDto.fromEntity(transaction));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.account.service;
+
+import com.example.account.shard.ShardRouter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  거래 아이디 생성 벤치마크 (SecureRandom 기반 UUID + 문자열 치환 + 샤드 번호)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionIdBenchmark {
+
+    @Benchmark
+    public String createTransactionId() {
+        return ShardRouter.newTransactionId(0);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String createTransactionIdContended() {
+        return ShardRouter.newTransactionId(0);
+    }
+}
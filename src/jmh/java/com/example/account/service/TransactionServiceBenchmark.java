@@ -0,0 +1,55 @@
+package com.example.account.service;
+
+import com.example.account.AccountApplication;
+import com.example.account.dto.TransactionDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  TransactionService.useBalance 전체 경로 벤치마크
+ *  내장 H2 + 내장 Redis 로 애플리케이션 컨텍스트를 띄워서 측정 (웹 서버 제외)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionServiceBenchmark {
+    private static final long USER_ID = 1L;     // data.sql 의 기본 사용자
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private String accountNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AccountApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.redis.port=6390",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        transactionService = context.getBean(TransactionService.class);
+        accountNumber = context.getBean(AccountService.class)
+                .createAccount(USER_ID, Long.MAX_VALUE / 2)
+                .getAccountNumber();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionDto useBalance() {
+        return transactionService.useBalance(USER_ID, accountNumber, 10L);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.account.tcp;
+
+import com.example.account.AccountApplication;
+import com.example.account.dto.TransactionDto;
+import com.example.account.service.AccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *  잔액 사용 REST(JSON / HTTP) 와 바이너리 TCP 프로토콜 비교
+ *  같은 애플리케이션에 두 경로를 모두 열고 요청 (./gradlew jmh -PjmhInclude=TransactionProtocolBenchmark)
+ *  계좌 락 경합이 아닌 프로토콜 비용을 비교하도록 벤치마크 스레드마다 자기 계좌를 쓴다. (AccountState)
+ *  - rest : 요청마다 응답을 기다림 (HTTP keep-alive)
+ *  - binary : 연결 하나를 공유, 요청마다 응답을 기다림
+ *  - binaryPipelined : 응답을 기다리지 않고 PIPELINE_DEPTH 개씩 이어 보냄
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class TransactionProtocolBenchmark {
+    private static final int USER_COUNT = 3;    // data.sql 의 기본 사용자 (1 ~ 3, 사용자당 계좌 10개까지)
+    private static final int PIPELINE_DEPTH = 16;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private int httpPort;
+    private BinaryTransactionClient binaryClient;
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AccountApplication.class)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "server.port=0",
+                        "spring.redis.port=6391",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN",
+                        "account.binary.enabled=true",
+                        "account.binary.port=0",
+                        // 동시 처리 한도가 아닌 프로토콜 비용을 비교
+                        "account.limiter.enabled=false",
+                        "account.executor.write.queue-capacity=1000")
+                .run();
+
+        httpPort = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        binaryClient = BinaryTransactionClient.connect(
+                "localhost", context.getBean(BinaryTransactionServer.class).getPort());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        binaryClient.close();
+        context.close();
+    }
+
+    // 벤치마크 스레드별 계좌
+    @State(Scope.Thread)
+    public static class AccountState {
+        private long userId;
+        private String accountNumber;
+        private HttpRequest useRequest;
+
+        @Setup(Level.Trial)
+        public void setUp(TransactionProtocolBenchmark benchmark) {
+            userId = benchmark.threadIndex.getAndIncrement() % USER_COUNT + 1;
+            accountNumber = benchmark.context.getBean(AccountService.class)
+                    .createAccount(userId, Long.MAX_VALUE / 2)
+                    .getAccountNumber();
+            useRequest = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + benchmark.httpPort + "/transaction/use"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"userId\":" + userId + ",\"accountNumber\":\"" + accountNumber + "\",\"amount\":10}"))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public String rest(AccountState account) throws Exception {
+        HttpResponse<String> response = httpClient.send(account.useRequest, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(response.body());
+        }
+        return response.body();
+    }
+
+    @Benchmark
+    public TransactionDto binary(AccountState account) {
+        return binaryClient.useBalance(account.userId, account.accountNumber, 10L).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE_DEPTH)
+    public List<TransactionDto> binaryPipelined(AccountState account) {
+        List<CompletableFuture<TransactionDto>> futures = new ArrayList<>(PIPELINE_DEPTH);
+        for (int i = 0; i < PIPELINE_DEPTH; i++) {
+            futures.add(binaryClient.useBalance(account.userId, account.accountNumber, 10L));
+        }
+        List<TransactionDto> results = new ArrayList<>(PIPELINE_DEPTH);
+        for (CompletableFuture<TransactionDto> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+}
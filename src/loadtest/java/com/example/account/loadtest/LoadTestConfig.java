@@ -0,0 +1,50 @@
+package com.example.account.loadtest;
+
+/**
+ *  부하 테스트 설정 (-Dloadtest.xxx, gradle 에서는 -Ploadtest.xxx)
+ */
+public class LoadTestConfig {
+    final int threads = intValue("threads", 16);
+    final int accounts = intValue("accounts", 100);
+    final double zipfSkew = doubleValue("zipfSkew", 0.99);
+    final int warmupSeconds = intValue("warmupSeconds", 10);
+    final int durationSeconds = intValue("durationSeconds", 60);
+    final long initialBalance = longValue("initialBalance", 1_000_000_000L);
+    final long amount = longValue("amount", 100L);
+    final int redisPort = intValue("redisPort", 6391);
+    // 가장 많이 호출되는 계좌부터 N 개를 잔액 분할 계좌로 전환
+    final int hotAccounts = intValue("hotAccounts", 0);
+    final int hotAccountSlots = intValue("hotAccountSlots", 8);
+    final boolean virtualThreads = Boolean.parseBoolean(
+            System.getProperty("loadtest.virtualThreads", "false"));
+    // 클라이언트 스레드마다 계좌를 나눠 가져서 같은 계좌에 동시 요청이 없게 한다. (잔액 검증 기준선)
+    final boolean uncontended = Boolean.parseBoolean(
+            System.getProperty("loadtest.uncontended", "false"));
+
+    // 요청 비율 (use : cancel : query)
+    final int useWeight = intValue("mix.use", 60);
+    final int cancelWeight = intValue("mix.cancel", 20);
+    final int queryWeight = intValue("mix.query", 20);
+
+    final String reportDir = System.getProperty("loadtest.reportDir", "build/reports/loadtest");
+
+    private static int intValue(String key, int defaultValue) {
+        return Integer.parseInt(System.getProperty("loadtest." + key, String.valueOf(defaultValue)));
+    }
+
+    private static long longValue(String key, long defaultValue) {
+        return Long.parseLong(System.getProperty("loadtest." + key, String.valueOf(defaultValue)));
+    }
+
+    private static double doubleValue(String key, double defaultValue) {
+        return Double.parseDouble(System.getProperty("loadtest." + key, String.valueOf(defaultValue)));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "threads=%d, accounts=%d, zipfSkew=%.2f, warmup=%ds, duration=%ds, mix(use/cancel/query)=%d/%d/%d, virtualThreads=%s, uncontended=%s, hotAccounts=%d(x%d)",
+                threads, accounts, zipfSkew, warmupSeconds, durationSeconds,
+                useWeight, cancelWeight, queryWeight, virtualThreads, uncontended, hotAccounts, hotAccountSlots);
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.account.loadtest;
+
+import com.example.account.AccountApplication;
+import com.example.account.service.AccountService;
+import com.example.account.service.HotAccountService;
+import com.example.account.shard.ShardTemplate;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *  거래 API 부하 테스트
+ *  1. 내장 H2 + 내장 Redis 로 애플리케이션을 띄운다. (임의 포트)
+ *  2. N 개의 클라이언트 스레드가 Zipf 분포로 계좌를 골라 use / cancel / query 를 섞어서 호출
+ *  3. 요청 종류별 지연시간을 HdrHistogram 으로 기록 (워밍업 구간 제외)
+ *  4. 종료 후 계좌 잔액이 거래 내역 / 클라이언트 집계와 일치하는지 검증 (불일치시 exit 1)
+ *     -Ploadtest.uncontended=true 이면 스레드마다 계좌를 나눠서 같은 계좌에 동시 요청을 보내지 않는다.
+ *
+ *  플랫폼 스레드 / 가상 스레드 모드 비교는 threads 를 늘려가며 두 모드로 각각 실행해서
+ *  p99 가 무너지기 직전의 동시성을 비교한다. (-PvirtualThreads)
+ */
+public class LoadTestRunner {
+    private static final long USER_ID_BASE = 1000L;
+    private static final int MAX_ACCOUNT_PER_USER = 10;
+    private static final int MAX_PENDING_CANCEL = 1000;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    enum Op { USE, CANCEL, QUERY }
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String baseUrl;
+    private long[] userIds;
+    private String[] accountNumbers;
+    private AtomicLongArray clientLedger;   // 계좌별 성공한 거래 금액 합계 (use -, cancel +)
+
+    private volatile boolean recording = false;
+    private volatile boolean running = true;
+
+    public LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        System.out.println("Load test: " + config);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AccountApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "spring.redis.port=" + config.redisPort,
+                        "account.virtual-threads.enabled=" + config.virtualThreads,
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN")
+                .run(args);
+
+        int mismatches;
+        try {
+            mismatches = new LoadTestRunner(config).run(context);
+        } finally {
+            context.close();
+        }
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+
+    private int run(ConfigurableApplicationContext context) throws Exception {
+        if (config.uncontended && config.accounts < config.threads) {
+            throw new IllegalArgumentException("uncontended mode needs at least one account per thread");
+        }
+        baseUrl = "http://localhost:" +
+                ((WebServerApplicationContext) context).getWebServer().getPort();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        ShardTemplate shardTemplate = context.getBean(ShardTemplate.class);
+
+        createAccounts(jdbcTemplate, shardTemplate, context.getBean(AccountService.class));
+        splitHotAccounts(context.getBean(HotAccountService.class));
+
+        ZipfianGenerator zipfian = new ZipfianGenerator(config.accounts, config.zipfSkew);
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < config.threads; i++) {
+            // 나눠 갖는 경우 i, i + threads, i + 2 * threads ... 번 계좌만 사용
+            Worker worker = config.uncontended
+                    ? new Worker(new ZipfianGenerator(
+                            (config.accounts - i + config.threads - 1) / config.threads, config.zipfSkew),
+                            i, config.threads)
+                    : new Worker(zipfian, 0, 1);
+            Thread thread = new Thread(worker, "load-client-" + i);
+            workers.add(worker);
+            threads.add(thread);
+            thread.start();
+        }
+
+        TimeUnit.SECONDS.sleep(config.warmupSeconds);
+        recording = true;
+        long startedAt = System.nanoTime();
+        TimeUnit.SECONDS.sleep(config.durationSeconds);
+        recording = false;
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        report(workers, elapsedSeconds);
+        return verifyLedger(jdbcTemplate, shardTemplate);
+    }
+
+    // data.sql 의 사용자 아이디와 겹치지 않게 직접 넣고, 사용자당 최대 10개의 계좌 생성
+    // 사용자는 모든 샤드에 넣는다.
+    private void createAccounts(JdbcTemplate jdbcTemplate, ShardTemplate shardTemplate,
+                                AccountService accountService) {
+        int userCount = (config.accounts + MAX_ACCOUNT_PER_USER - 1) / MAX_ACCOUNT_PER_USER;
+        shardTemplate.forEachShard(shard -> {
+            for (int i = 0; i < userCount; i++) {
+                jdbcTemplate.update(
+                        "insert into account_user(id, name, created_at, updated_at) values (?, ?, now(), now())",
+                        USER_ID_BASE + i, "loadtest-" + i);
+            }
+        });
+
+        userIds = new long[config.accounts];
+        accountNumbers = new String[config.accounts];
+        clientLedger = new AtomicLongArray(config.accounts);
+        for (int i = 0; i < config.accounts; i++) {
+            userIds[i] = USER_ID_BASE + i / MAX_ACCOUNT_PER_USER;
+            accountNumbers[i] = accountService
+                    .createAccount(userIds[i], config.initialBalance)
+                    .getAccountNumber();
+        }
+    }
+
+    // Zipfian 분포의 앞쪽 계좌일수록 많이 호출된다.
+    private void splitHotAccounts(HotAccountService hotAccountService) {
+        for (int i = 0; i < Math.min(config.hotAccounts, accountNumbers.length); i++) {
+            hotAccountService.splitBalance(accountNumbers[i], config.hotAccountSlots);
+        }
+    }
+
+    private void report(List<Worker> workers, double elapsedSeconds) throws Exception {
+        File reportDir = new File(config.reportDir);
+        reportDir.mkdirs();
+
+        System.out.printf("%n%-8s %10s %8s %10s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "ops/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (Op op : Op.values()) {
+            Histogram histogram = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+            long errors = 0;
+            for (Worker worker : workers) {
+                histogram.add(worker.histograms.get(op));
+                errors += worker.errors.get(op);
+            }
+
+            System.out.printf("%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    op, histogram.getTotalCount(), errors,
+                    histogram.getTotalCount() / elapsedSeconds,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+
+            try (PrintStream out = new PrintStream(new FileOutputStream(
+                    new File(reportDir, op.name().toLowerCase() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1000.0);   // ms 단위
+            }
+        }
+        System.out.println("Latency distributions written to " + reportDir.getAbsolutePath());
+    }
+
+    /**
+     * 최종 잔액 = 초기 잔액 - 성공한 사용 + 성공한 취소
+     * 거래 테이블 기준과 클라이언트 집계 기준 모두 확인
+     *
+     * 일반 계좌는 계좌 단위 락 없이 버전(@Version)으로 충돌을 막는다.
+     * 같은 계좌에 동시에 들어온 요청 중 늦게 커밋하는 쪽은 ACCOUNT_TRANSACTION_LOCK 으로 실패하고
+     * 성공 거래(S)만 집계하므로, 경합이 있어도 잔액은 맞아야 한다. (경합은 에러 수로 보인다)
+     * 경합 모드에서만 불일치가 나오면 갱신 유실이고, uncontended 모드에서도 나오면 경합과 무관한 문제다.
+     */
+    private int verifyLedger(JdbcTemplate jdbcTemplate, ShardTemplate shardTemplate) {
+        Map<String, Integer> indexByAccountNumber = new HashMap<>();
+        for (int i = 0; i < accountNumbers.length; i++) {
+            indexByAccountNumber.put(accountNumbers[i], i);
+        }
+
+        List<Map<String, Object>> rows = shardTemplate.readAllShards(shard -> jdbcTemplate.queryForList(
+                "select a.account_number as account_number, " +
+                "a.balance + coalesce((select sum(s.balance) from account_balance_slot s " +
+                "where s.account_id = a.id), 0) as balance, " +
+                "coalesce(sum(case when t.transaction_result_type = 'S' and t.transaction_type = 'USE' " +
+                "then t.amount end), 0) as used, " +
+                "coalesce(sum(case when t.transaction_result_type = 'S' and t.transaction_type = 'CANCEL' " +
+                "then t.amount end), 0) as cancelled " +
+                "from account a left join transaction t on t.account_id = a.id " +
+                "group by a.id, a.account_number, a.balance"));
+
+        int mismatches = 0;
+        for (Map<String, Object> row : rows) {
+            Integer index = indexByAccountNumber.get((String) row.get("account_number"));
+            if (index == null) {
+                continue;
+            }
+            long balance = ((Number) row.get("balance")).longValue();
+            long ledgerBalance = config.initialBalance
+                    - ((Number) row.get("used")).longValue()
+                    + ((Number) row.get("cancelled")).longValue();
+            long clientBalance = config.initialBalance + clientLedger.get(index);
+
+            if (balance != ledgerBalance || balance != clientBalance) {
+                mismatches++;
+                System.out.printf("MISMATCH account=%s balance=%d ledger=%d client=%d%n",
+                        accountNumbers[index], balance, ledgerBalance, clientBalance);
+            }
+        }
+        System.out.printf("Ledger verification: %d accounts, %d mismatches%n",
+                rows.size(), mismatches);
+        return mismatches;
+    }
+
+    private class Worker implements Runnable {
+        private final ZipfianGenerator zipfian;
+        private final int offset;
+        private final int stride;
+        private final Map<Op, Histogram> histograms = new EnumMap<>(Op.class);
+        private final Map<Op, Long> errors = new EnumMap<>(Op.class);
+        private final Deque<String[]> pendingCancels = new ArrayDeque<>();   // {index, transactionId}
+
+        private Worker(ZipfianGenerator zipfian, int offset, int stride) {
+            this.zipfian = zipfian;
+            this.offset = offset;
+            this.stride = stride;
+            for (Op op : Op.values()) {
+                histograms.put(op, new Histogram(HIGHEST_TRACKABLE_MICROS, 3));
+                errors.put(op, 0L);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                Op op = nextOp();
+                boolean record = recording;
+                long startedAt = System.nanoTime();
+                boolean success;
+                try {
+                    success = execute(op);
+                } catch (Exception e) {
+                    success = false;
+                }
+                long micros = (System.nanoTime() - startedAt) / 1000;
+
+                if (record) {
+                    histograms.get(op).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                    if (!success) {
+                        errors.merge(op, 1L, Long::sum);
+                    }
+                }
+            }
+        }
+
+        // 취소 / 조회할 거래가 아직 없으면 사용으로 대체
+        private Op nextOp() {
+            int total = config.useWeight + config.cancelWeight + config.queryWeight;
+            int pick = ThreadLocalRandom.current().nextInt(total);
+            if (pick < config.useWeight || pendingCancels.isEmpty()) {
+                return Op.USE;
+            }
+            return pick < config.useWeight + config.cancelWeight ? Op.CANCEL : Op.QUERY;
+        }
+
+        private boolean execute(Op op) throws Exception {
+            switch (op) {
+                case USE:
+                    return useBalance();
+                case CANCEL:
+                    return cancelBalance();
+                default:
+                    return queryTransaction();
+            }
+        }
+
+        private boolean useBalance() throws Exception {
+            int index = offset + zipfian.next() * stride;
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("userId", userIds[index]);
+            body.put("accountNumber", accountNumbers[index]);
+            body.put("amount", config.amount);
+
+            JsonNode result = post("/transaction/use", body);
+            if (!isSuccess(result)) {
+                return false;
+            }
+            clientLedger.addAndGet(index, -config.amount);
+
+            if (pendingCancels.size() == MAX_PENDING_CANCEL) {
+                pendingCancels.pollFirst();
+            }
+            pendingCancels.addLast(new String[]{
+                    String.valueOf(index), result.get("transactionId").asText()});
+            return true;
+        }
+
+        private boolean cancelBalance() throws Exception {
+            String[] pending = pendingCancels.pollLast();
+            int index = Integer.parseInt(pending[0]);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("transactionId", pending[1]);
+            body.put("accountNumber", accountNumbers[index]);
+            body.put("amount", config.amount);
+
+            JsonNode result = post("/transaction/cancel", body);
+            if (!isSuccess(result)) {
+                return false;
+            }
+            clientLedger.addAndGet(index, config.amount);
+            return true;
+        }
+
+        private boolean queryTransaction() throws Exception {
+            String transactionId = pendingCancels.peekLast()[1];
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/transaction/" + transactionId))
+                            .GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200;
+        }
+
+        private JsonNode post(String path, Map<String, Object> body) throws Exception {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + path))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    objectMapper.writeValueAsString(body)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            return objectMapper.readTree(response.body());
+        }
+
+        private boolean isSuccess(JsonNode result) {
+            return result != null && "S".equals(result.path("transactionResult").asText());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.account.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ *  0 ~ n-1 사이의 인덱스를 Zipf 분포로 뽑는다. (0번이 가장 자주 선택됨)
+ *  누적분포를 미리 계산해두고 이분탐색으로 샘플링
+ */
+public class ZipfianGenerator {
+    private final double[] cdf;
+
+    public ZipfianGenerator(int n, double skew) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        cdf = new double[n];
+
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    public int next() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cdf[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.account.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *  잔액 변경(use / cancel) 동시 처리 수 제한 - 지연시간 기울기(gradient) 방식
+ *  1. 최근 지연시간(short) 과 장기 평균 지연시간(long) 을 비교
+ *  2. 최근 지연시간이 늘어나면(DB 가 밀리기 시작하면) 한도를 줄이고, 그대로면 조금씩 늘린다.
+ *  3. 처리 실패(지연이 아닌 오류) 는 한도를 바로 10% 줄인다.
+ *  한도를 넘는 요청은 대기시키지 않고 바로 거절한다.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+    private static final double SHORT_RTT_WEIGHT = 0.1;     // 최근 10건 정도
+    private static final double LONG_RTT_WEIGHT = 0.01;     // 최근 100건 정도
+    private static final double DROP_DECREASE_RATIO = 0.9;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    private Counter rejectedCounter;
+
+    public AdaptiveConcurrencyLimiter(
+            @Value("${account.limiter.enabled:true}") boolean enabled,
+            @Value("${account.limiter.initial-limit:20}") int initialLimit,
+            @Value("${account.limiter.min-limit:4}") int minLimit,
+            @Value("${account.limiter.max-limit:200}") int maxLimit,
+            @Value("${account.limiter.smoothing:0.2}") double smoothing,
+            @Value("${account.limiter.rtt-tolerance:1.5}") double rttTolerance) {
+        this.enabled = enabled;
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+    }
+
+    public boolean tryAcquire() {
+        if (!enabled) {
+            return true;
+        }
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                if (rejectedCounter != null) {
+                    rejectedCounter.increment();
+                }
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param rttNanos 요청 처리에 걸린 시간
+     * @param dropped  지연시간과 무관한 오류로 실패했는지 여부
+     */
+    public void release(long rttNanos, boolean dropped) {
+        if (!enabled) {
+            return;
+        }
+        int inflightAtRelease = inflight.getAndDecrement();
+        update(rttNanos, dropped, inflightAtRelease);
+    }
+
+    // 측정에 반영하지 않고 반납 (ex. 작업 대기열에서 거절된 경우)
+    public void ignore() {
+        if (enabled) {
+            inflight.decrementAndGet();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private synchronized void update(long rttNanos, boolean dropped, int inflightAtRelease) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * DROP_DECREASE_RATIO);
+            return;
+        }
+
+        shortRtt = shortRtt == 0 ? rttNanos
+                : shortRtt * (1 - SHORT_RTT_WEIGHT) + rttNanos * SHORT_RTT_WEIGHT;
+        longRtt = longRtt == 0 ? rttNanos
+                : longRtt * (1 - LONG_RTT_WEIGHT) + rttNanos * LONG_RTT_WEIGHT;
+
+        // 부하가 빠진 직후에는 장기 평균이 너무 높게 남아있으므로 빠르게 따라 내려간다.
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // 한도의 절반도 쓰지 않는 동안에는 한도를 늘릴 근거가 없다.
+        if (inflightAtRelease < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double queueSize = Math.sqrt(limit);
+        double newLimit = limit * gradient + queueSize;
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("transaction.write.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for balance mutations")
+                .register(registry);
+        Gauge.builder("transaction.write.concurrency.inflight", this, AdaptiveConcurrencyLimiter::getInflight)
+                .description("Balance mutations in flight")
+                .register(registry);
+        rejectedCounter = Counter.builder("transaction.write.concurrency.rejected")
+                .description("Balance mutations rejected by the concurrency limit")
+                .register(registry);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.account.config;
+
+import com.example.account.shard.ShardDataSources;
+import com.example.account.shard.ShardRouter;
+import com.example.account.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *  primary(쓰기) / replica(읽기) 커넥션 풀 구성
+ *  1. primary 는 spring.datasource.*, replica 는 account.datasource.replica.* 설정을 사용
+ *  2. 로컬에서는 replica 도 같은 H2 를 바라보는 별도 읽기 전용 풀로 동작한다.
+ *     (운영에서는 replica url 만 복제 DB 로 바꾸면 된다.)
+ *  3. primary / replica 는 0번 샤드, account.sharding.shard-urls 의 DB 가 1번 샤드부터 추가된다.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${account.datasource.replica.url}") String url,
+            @Value("${account.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${account.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${account.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ShardDataSources shardDataSources(
+            DataSourceProperties properties,
+            @Value("${account.sharding.shard-urls:}") List<String> shardUrls,
+            @Value("${account.sharding.maximum-pool-size:10}") int maximumPoolSize) {
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        for (String url : shardUrls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + (dataSources.size() + 1));
+            dataSource.setDriverClassName(properties.determineDriverClassName());
+            dataSource.setJdbcUrl(url.trim());
+            dataSource.setUsername(properties.determineUsername());
+            dataSource.setPassword(properties.determinePassword());
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+            dataSources.add(dataSource);
+        }
+        return new ShardDataSources(dataSources);
+    }
+
+    @Bean
+    public ShardRouter shardRouter(ShardDataSources shardDataSources) {
+        return new ShardRouter(shardDataSources.size() + 1);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ShardDataSources shardDataSources) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicationRoutingDataSource.PRIMARY, primaryDataSource);
+        targets.put(ReplicationRoutingDataSource.REPLICA, replicaDataSource);
+
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        Map<Object, Object> shards = new HashMap<>();
+        shards.put(0, routingDataSource);
+        for (int shard = 1; shard <= shardDataSources.size(); shard++) {
+            shards.put(shard, shardDataSources.get(shard));
+        }
+
+        ShardRoutingDataSource shardRoutingDataSource = new ShardRoutingDataSource();
+        shardRoutingDataSource.setTargetDataSources(shards);
+        shardRoutingDataSource.setDefaultTargetDataSource(routingDataSource);
+        shardRoutingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.account.config;
+
+import com.example.account.domain.Account;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  쓰기 직후의 읽기는 replica 에 아직 반영되지 않았을 수 있으므로 primary 에서 읽게 한다.
+ *  1. 쓰기가 커밋되면 사용자 / 거래 아이디별로 커밋 시각을 기록
+ *  2. 복제 지연 허용시간(max-lag) 안에 같은 키를 읽으면 primary 로 보낸다.
+ */
+@Component
+public class ReplicaStalenessGuard {
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long maxLagNanos;
+    private final Map<String, Long> lastWrittenAt = new ConcurrentHashMap<>();
+
+    public ReplicaStalenessGuard(
+            @Value("${account.datasource.replica.max-lag-ms:1000}") long maxLagMillis) {
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis);
+    }
+
+    public void markAccountWritten(Account account) {
+        if (account.getAccountUser() != null) {
+            markUserWritten(account.getAccountUser().getId());
+        }
+    }
+
+    public void markUserWritten(Long userId) {
+        markWritten(userKey(userId));
+    }
+
+    public void markTransactionWritten(String transactionId) {
+        markWritten(transactionKey(transactionId));
+    }
+
+    public void routeUserReads(Long userId) {
+        routeReads(userKey(userId));
+    }
+
+    public void routeTransactionReads(String transactionId) {
+        routeReads(transactionKey(transactionId));
+    }
+
+    boolean isRecentlyWritten(String key) {
+        Long writtenAt = lastWrittenAt.get(key);
+        return writtenAt != null && System.nanoTime() - writtenAt < maxLagNanos;
+    }
+
+    // 읽기 트랜잭션의 첫 쿼리 전에 호출해야 한다.
+    private void routeReads(String key) {
+        if (isRecentlyWritten(key)) {
+            ReplicationRoutingDataSource.usePrimaryForCurrentTransaction();
+        }
+    }
+
+    // 롤백된 쓰기는 기록할 필요가 없으므로 커밋 이후에 기록
+    private void markWritten(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(key);
+            }
+        });
+    }
+
+    private void record(String key) {
+        long now = System.nanoTime();
+        lastWrittenAt.put(key, now);
+        if (lastWrittenAt.size() > PRUNE_THRESHOLD) {
+            lastWrittenAt.values().removeIf(writtenAt -> now - writtenAt >= maxLagNanos);
+        }
+    }
+
+    private static String userKey(Long userId) {
+        return "user:" + userId;
+    }
+
+    private static String transactionKey(String transactionId) {
+        return "transaction:" + transactionId;
+    }
+}
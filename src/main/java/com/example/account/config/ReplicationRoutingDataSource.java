@@ -0,0 +1,44 @@
+package com.example.account.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ *  읽기 전용 트랜잭션(@Transactional(readOnly = true)) 은 replica, 나머지는 primary 로 보낸다.
+ *  트랜잭션 시작 후 첫 쿼리 시점에 커넥션을 가져와야 readOnly 여부를 알 수 있으므로
+ *  LazyConnectionDataSourceProxy 로 감싸서 사용한다. (DataSourceConfig)
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    /**
+     * 현재 읽기 전용 트랜잭션을 primary 에서 읽게 한다. (트랜잭션이 끝나면 해제)
+     * 커넥션을 가져오기 전, 즉 트랜잭션 안의 첫 쿼리 전에 호출해야 한다.
+     */
+    public static void usePrimaryForCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || PRIMARY_FORCED.get() != null) {
+            return;
+        }
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                PRIMARY_FORCED.remove();
+            }
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && PRIMARY_FORCED.get() == null) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.account.config;
+
+import com.example.account.exception.AccountException;
+import com.example.account.exception.ConcurrencyLimitExceededException;
+import com.example.account.metrics.PhaseTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ *  거래 API 용 작업 스레드 풀
+ *  1. 쓰기(use / cancel) 와 읽기(query) 를 분리해서 한쪽이 밀려도 다른쪽은 영향을 받지 않게 한다.
+ *  2. 대기열이 가득차면 RejectedExecutionException -> 503 + Retry-After 로 바로 실패 (GlobalExceptionHandler)
+ *  3. 쓰기 작업은 AdaptiveConcurrencyLimiter 의 한도 안에서만 받는다. (대기열에 넣기 전에 확인)
+ *  4. account.virtual-threads.enabled=true 이면 작업마다 가상 스레드에서 실행하고,
+ *     pool-size / queue-capacity 한도는 세마포어로 지킨다. (VirtualThreadExecutor)
+ */
+@Slf4j
+@Component
+public class TransactionExecutors {
+    private final Executor writeExecutor;
+    private final Executor readExecutor;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public TransactionExecutors(
+            @Value("${account.executor.write.pool-size:16}") int writePoolSize,
+            @Value("${account.executor.write.queue-capacity:100}") int writeQueueCapacity,
+            @Value("${account.executor.read.pool-size:16}") int readPoolSize,
+            @Value("${account.executor.read.queue-capacity:200}") int readQueueCapacity,
+            @Value("${account.virtual-threads.enabled:false}") boolean virtualThreads,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        writeExecutor = newExecutor("transaction-write-", writePoolSize, writeQueueCapacity, virtualThreads);
+        readExecutor = newExecutor("transaction-read-", readPoolSize, readQueueCapacity, virtualThreads);
+
+        meterRegistry.ifAvailable(registry -> {
+            bindMetrics(writeExecutor, "transaction.write", registry);
+            bindMetrics(readExecutor, "transaction.read", registry);
+        });
+    }
+
+    public <T> CompletableFuture<T> write(Supplier<T> task) {
+        if (!concurrencyLimiter.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException();
+        }
+
+        long startedAt = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = submit(writeExecutor, task);
+        } catch (RejectedExecutionException e) {
+            concurrencyLimiter.ignore();
+            throw e;
+        }
+        // 업무 오류(AccountException) 는 정상 처리로 보고 지연시간만 반영
+        return future.whenComplete((result, e) -> concurrencyLimiter.release(
+                System.nanoTime() - startedAt,
+                e != null && !(e.getCause() instanceof AccountException)));
+    }
+
+    public <T> CompletableFuture<T> read(Supplier<T> task) {
+        return submit(readExecutor, task);
+    }
+
+    // 요청 스레드의 구간 측정을 작업 스레드로 넘기고, 대기열에서 기다린 시간은 queue 로 기록
+    private <T> CompletableFuture<T> submit(Executor executor, Supplier<T> task) {
+        PhaseTimer timer = PhaseTimer.current();
+        return CompletableFuture.supplyAsync(() -> {
+            PhaseTimer.resume(timer);
+            try {
+                PhaseTimer.mark("queue");
+                return task.get();
+            } finally {
+                PhaseTimer.stop();
+            }
+        }, executor);
+    }
+
+    private static Executor newExecutor(String prefix, int poolSize, int queueCapacity,
+                                        boolean virtualThreads) {
+        if (virtualThreads) {
+            return new VirtualThreadExecutor(
+                    VirtualThreadConfig.newVirtualThreadFactory(prefix), poolSize, queueCapacity);
+        }
+        return new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory(prefix),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static void bindMetrics(Executor executor, String name, MeterRegistry registry) {
+        if (executor instanceof ExecutorService) {
+            new ExecutorServiceMetrics((ExecutorService) executor, name, Tags.empty()).bindTo(registry);
+            return;
+        }
+        VirtualThreadExecutor virtualThreadExecutor = (VirtualThreadExecutor) executor;
+        Gauge.builder("executor.active", virtualThreadExecutor, VirtualThreadExecutor::getActiveCount)
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("executor.queued", virtualThreadExecutor, VirtualThreadExecutor::getQueuedCount)
+                .tag("name", name)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writeExecutor instanceof ExecutorService) {
+            ((ExecutorService) writeExecutor).shutdown();
+        }
+        if (readExecutor instanceof ExecutorService) {
+            ((ExecutorService) readExecutor).shutdown();
+        }
+    }
+
+    /**
+     *  작업마다 가상 스레드를 만들어 실행하되 스레드 풀과 같은 한도를 지킨다.
+     *  1. 동시에 실행되는 작업은 pool-size 개 (나머지는 가상 스레드에서 세마포어를 기다림 = 대기열)
+     *  2. 실행 + 대기 작업이 pool-size + queue-capacity 개면 RejectedExecutionException (AbortPolicy 와 동일)
+     */
+    static class VirtualThreadExecutor implements Executor {
+        private final ThreadFactory threadFactory;
+        private final int poolSize;
+        private final int capacity;
+        private final Semaphore running;
+        private final Semaphore admitted;
+
+        VirtualThreadExecutor(ThreadFactory threadFactory, int poolSize, int queueCapacity) {
+            this.threadFactory = threadFactory;
+            this.poolSize = poolSize;
+            this.capacity = poolSize + queueCapacity;
+            this.running = new Semaphore(poolSize);
+            this.admitted = new Semaphore(capacity);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (!admitted.tryAcquire()) {
+                throw new RejectedExecutionException("Task rejected, " + capacity + " tasks in flight.");
+            }
+            try {
+                threadFactory.newThread(() -> run(command)).start();
+            } catch (RuntimeException e) {
+                admitted.release();
+                throw e;
+            }
+        }
+
+        private void run(Runnable command) {
+            try {
+                running.acquireUninterruptibly();
+                try {
+                    command.run();
+                } finally {
+                    running.release();
+                }
+            } finally {
+                admitted.release();
+            }
+        }
+
+        int getActiveCount() {
+            return poolSize - running.availablePermits();
+        }
+
+        int getQueuedCount() {
+            return Math.max(0, capacity - admitted.availablePermits() - getActiveCount());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.account.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ *  가상 스레드 실행 모드 (account.virtual-threads.enabled=true, JDK 21 이상)
+ *  1. Tomcat 요청 처리 -> 요청마다 가상 스레드
+ *  2. 비동기 작업(applicationTaskExecutor) -> 작업마다 가상 스레드
+ *  3. 거래 API 작업 스레드 풀(TransactionExecutors) -> 작업마다 가상 스레드 (한도는 세마포어로 유지)
+ *
+ *  JDBC / Redisson 호출에서 블로킹 되어도 플랫폼 스레드를 점유하지 않으므로
+ *  동시 처리량의 상한은 Tomcat 스레드 수가 아니라 커넥션 풀 크기가 된다.
+ *  빌드 타겟은 11 이므로 가상 스레드 API 는 리플렉션으로 호출한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "account.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Tomcat requests will run on virtual threads.");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+    }
+
+    // 이름이 prefix + 번호인 가상 스레드를 만드는 ThreadFactory (Thread.ofVirtual().name(prefix, 0).factory())
+    static ThreadFactory newVirtualThreadFactory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                    "Virtual threads require JDK 21 or later (running on "
+                            + Runtime.version() + ").", e);
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                    "Virtual threads require JDK 21 or later (running on "
+                            + Runtime.version() + ").", e);
+        }
+    }
+}
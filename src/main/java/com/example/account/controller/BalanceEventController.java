@@ -0,0 +1,26 @@
+package com.example.account.controller;
+
+import com.example.account.service.BalanceEventBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ *  계좌 잔액 변경 SSE (account.events.enabled=true 인 경우에만 등록)
+ *  잔액 사용 / 취소가 커밋될 때마다 잔액 스냅샷을 보내므로 계좌 조회 polling 대신 사용
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.events.enabled", havingValue = "true")
+public class BalanceEventController {
+    private final BalanceEventBroadcaster balanceEventBroadcaster;
+
+    @GetMapping(value = "/account/{accountNumber}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable String accountNumber) {
+        return balanceEventBroadcaster.subscribe(accountNumber);
+    }
+}
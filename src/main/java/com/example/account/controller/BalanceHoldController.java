@@ -0,0 +1,70 @@
+package com.example.account.controller;
+
+import com.example.account.config.TransactionExecutors;
+import com.example.account.dto.AvailableBalance;
+import com.example.account.dto.HoldBalance;
+import com.example.account.dto.UseBalance;
+import com.example.account.metrics.PhaseTimer;
+import com.example.account.service.TransactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ *  잔액 홀드 컨트롤러 (account.hold.enabled=true 인 경우에만 등록)
+ *  1. 홀드 - Redis 에만 기록, TTL 이 지나면 자동 해제
+ *  2. 확정 - 잔액 사용 거래로 DB 에 반영
+ *  3. 해제
+ *  4. 사용 가능 잔액 조회 (잔액 - 홀드)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/transaction/hold")
+@ConditionalOnProperty(name = "account.hold.enabled", havingValue = "true")
+public class BalanceHoldController {
+    private final TransactionService transactionService;
+    private final TransactionExecutors transactionExecutors;
+
+    @PostMapping
+    public CompletableFuture<HoldBalance.Response> holdBalance(
+            @Valid @RequestBody HoldBalance.Request request) {
+        PhaseTimer.mark("request");
+        // DB 에는 쓰지 않으므로 읽기 풀에서 처리
+        return transactionExecutors.read(() -> HoldBalance.Response.from(
+                transactionService.holdBalance(
+                        request.getUserId(),
+                        request.getAccountNumber(),
+                        request.getAmount(),
+                        request.getTtlSeconds())));
+    }
+
+    @PostMapping("/capture")
+    public CompletableFuture<UseBalance.Response> captureHold(
+            @Valid @RequestBody HoldBalance.Target request) {
+        PhaseTimer.mark("request");
+        return transactionExecutors.write(() -> UseBalance.Response.from(
+                transactionService.captureHold(
+                        request.getHoldId(),
+                        request.getAccountNumber())));
+    }
+
+    @PostMapping("/release")
+    public HoldBalance.Response releaseHold(
+            @Valid @RequestBody HoldBalance.Target request) {
+        return HoldBalance.Response.from(
+                transactionService.releaseHold(
+                        request.getHoldId(),
+                        request.getAccountNumber()));
+    }
+
+    @GetMapping("/available/{accountNumber}")
+    public CompletableFuture<AvailableBalance> getAvailableBalance(
+            @PathVariable String accountNumber) {
+        PhaseTimer.mark("request");
+        return transactionExecutors.read(() ->
+                transactionService.getAvailableBalance(accountNumber));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.account.controller;
+
+import com.example.account.dto.DailySummary;
+import com.example.account.service.DailySummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ *  계좌 일별 사용 / 취소 합계 조회 (account.daily-summary.enabled=true 인 경우에만 등록)
+ *  GET /account/{accountNumber}/daily-summary?from=2022-09-01&to=2022-09-30
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.daily-summary.enabled", havingValue = "true")
+public class DailySummaryController {
+    private final DailySummaryService dailySummaryService;
+
+    @GetMapping("/account/{accountNumber}/daily-summary")
+    public DailySummary getDailySummary(
+            @PathVariable String accountNumber,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return dailySummaryService.getDailySummary(accountNumber, from, to);
+    }
+}
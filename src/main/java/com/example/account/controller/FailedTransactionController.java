@@ -0,0 +1,32 @@
+package com.example.account.controller;
+
+import com.example.account.dto.FailedTransactionReport;
+import com.example.account.service.FailedTransactionRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ *  실패 거래 집계 조회 (account.failure-recording.enabled=true 인 경우에만 등록)
+ *  GET /admin/failed-transactions?from=2022-09-01T00:00:00&to=2022-09-02T00:00:00&account_number=1000000000
+ *  샘플링으로 저장하지 않은 실패도 포함한 에러코드별 전체 건수
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.failure-recording.enabled", havingValue = "true")
+public class FailedTransactionController {
+    private final FailedTransactionRecorder failedTransactionRecorder;
+
+    @GetMapping("/admin/failed-transactions")
+    public FailedTransactionReport getReport(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "account_number", required = false) String accountNumber) {
+        return failedTransactionRecorder.getReport(accountNumber, from, to);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.account.controller;
+
+import com.example.account.dto.ErrorResponse;
+import com.example.account.dto.FlightRecordingInfo;
+import com.example.account.exception.AccountException;
+import com.example.account.service.FlightRecorderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+
+/**
+ *  JFR 기록 관리용 컨트롤러 (account.jfr.enabled=true 인 경우에만 등록)
+ *  1. 기록 시작
+ *  2. 기록 상태 확인
+ *  3. 기록 중지 및 .jfr 파일 다운로드
+ *  기록 상태 오류는 409 (이미 진행중) / 404 (기록 없음) 로 응답한다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/jfr")
+@ConditionalOnProperty(name = "account.jfr.enabled", havingValue = "true")
+public class FlightRecorderController {
+    private final FlightRecorderService flightRecorderService;
+
+    @PostMapping("/start")
+    public FlightRecordingInfo start(
+            @RequestParam(value = "duration_seconds", defaultValue = "60") long durationSeconds,
+            @RequestParam(value = "max_size_mb", defaultValue = "50") long maxSizeMb) {
+        return flightRecorderService.start(durationSeconds, maxSizeMb);
+    }
+
+    @GetMapping
+    public FlightRecordingInfo status() {
+        return flightRecorderService.status();
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<Resource> stop() {
+        Path file = flightRecorderService.stop();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(new FileSystemResource(file));
+    }
+
+    @ExceptionHandler(AccountException.class)
+    public ResponseEntity<ErrorResponse> handleAccountException(AccountException e) {
+        HttpStatus status;
+        switch (e.getErrorCode()) {
+            case RECORDING_ALREADY_RUNNING:
+                status = HttpStatus.CONFLICT;
+                break;
+            case RECORDING_NOT_FOUND:
+                status = HttpStatus.NOT_FOUND;
+                break;
+            default:
+                status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        return ResponseEntity.status(status)
+                .body(new ErrorResponse(e.getErrorCode(), e.getErrorMessage()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.account.controller;
+
+import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountInfo;
+import com.example.account.service.HotAccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ *  거래가 몰리는 계좌의 잔액 분할 관리 (account.hot-account.enabled=true 인 경우에만 등록)
+ *  1. 잔액 분할
+ *  2. 잔액 합치기
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/hot-account")
+@ConditionalOnProperty(name = "account.hot-account.enabled", havingValue = "true")
+public class HotAccountController {
+    private final HotAccountService hotAccountService;
+
+    @PostMapping("/{accountNumber}/split")
+    public AccountInfo split(
+            @PathVariable String accountNumber,
+            @RequestParam(value = "slot_count", defaultValue = "${account.hot-account.slot-count:8}") int slotCount) {
+        return toAccountInfo(hotAccountService.splitBalance(accountNumber, slotCount));
+    }
+
+    @PostMapping("/{accountNumber}/merge")
+    public AccountInfo merge(@PathVariable String accountNumber) {
+        return toAccountInfo(hotAccountService.mergeBalance(accountNumber));
+    }
+
+    private static AccountInfo toAccountInfo(AccountDto accountDto) {
+        return AccountInfo.builder()
+                .accountNumber(accountDto.getAccountNumber())
+                .balance(accountDto.getBalance())
+                .build();
+    }
+}
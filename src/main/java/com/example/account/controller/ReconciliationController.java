@@ -0,0 +1,33 @@
+package com.example.account.controller;
+
+import com.example.account.dto.ReconciliationReport;
+import com.example.account.service.LedgerReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ *  잔액 대사 관리용 컨트롤러 (account.reconciliation.enabled=true 인 경우에만 등록)
+ *  1. 대사 시작 (백그라운드에서 실행)
+ *  2. 진행 상태 / 마지막 결과 확인
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/reconciliation")
+@ConditionalOnProperty(name = "account.reconciliation.enabled", havingValue = "true")
+public class ReconciliationController {
+    private final LedgerReconciliationService ledgerReconciliationService;
+
+    @PostMapping("/start")
+    public ReconciliationReport start() {
+        return ledgerReconciliationService.start();
+    }
+
+    @GetMapping
+    public ReconciliationReport status() {
+        return ledgerReconciliationService.status();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.account.controller;
+
+import com.example.account.dto.StatementReport;
+import com.example.account.service.StatementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+/**
+ *  월별 명세서 작성 관리용 컨트롤러 (account.statement.enabled=true 인 경우에만 등록)
+ *  1. 작성 시작 - 같은 달을 다시 시작하면 이미 작성된 계좌는 건너뛰고 이어서 작성
+ *  2. 진행 상태 확인
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/statement")
+@ConditionalOnProperty(name = "account.statement.enabled", havingValue = "true")
+public class StatementController {
+    private final StatementService statementService;
+
+    @PostMapping("/start")
+    public StatementReport start(
+            @RequestParam("month") @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return statementService.start(month);
+    }
+
+    @GetMapping
+    public StatementReport status() {
+        return statementService.status();
+    }
+}
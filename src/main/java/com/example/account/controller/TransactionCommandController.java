@@ -0,0 +1,41 @@
+package com.example.account.controller;
+
+import com.example.account.dto.TransactionCommand;
+import com.example.account.dto.UseBalance;
+import com.example.account.service.TransactionCommandService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ *  비동기 잔액 사용 (account.command-queue.enabled=true 인 경우에만 등록)
+ *  1. 잔액 사용 요청 접수 - 접수 번호(ticket) 를 바로 돌려준다. (202)
+ *  2. 처리 결과 조회 - wait_ms 를 주면 처리가 끝날 때까지 최대 그만큼 기다린다. (long polling)
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.command-queue.enabled", havingValue = "true")
+public class TransactionCommandController {
+    private final TransactionCommandService transactionCommandService;
+
+    @PostMapping("/transaction/use/async")
+    public ResponseEntity<TransactionCommand.Result> useBalanceAsync(
+            @Valid @RequestBody UseBalance.Request request) {
+        return ResponseEntity.accepted().body(
+                transactionCommandService.enqueue(
+                        request.getUserId(),
+                        request.getAccountNumber(),
+                        request.getAmount()));
+    }
+
+    @GetMapping("/transaction/command/{ticket}")
+    public CompletableFuture<TransactionCommand.Result> getCommandResult(
+            @PathVariable String ticket,
+            @RequestParam(value = "wait_ms", defaultValue = "0") long waitMillis) {
+        return transactionCommandService.awaitResult(ticket, waitMillis);
+    }
+}
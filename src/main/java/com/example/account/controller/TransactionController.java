@@ -1,74 +1,95 @@
 package com.example.account.controller;
 
+import com.example.account.config.TransactionExecutors;
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.QueryTransactionResponse;
 import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
+import com.example.account.metrics.PhaseTimer;
+import com.example.account.service.FailedTransactionRecorder;
 import com.example.account.service.TransactionService;
+import com.example.account.service.UseBalanceGroupCommitter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 /**
  *  잔액 관련 컨트롤러
  *  1. 잔액 사용
  *  2. 잔액 사용 취소
  *  3. 거래 확인
+ *  요청 처리는 쓰기 / 읽기 작업 스레드 풀에서 비동기로 수행 (TransactionExecutors)
+ *  잔액 사용은 같은 계좌 요청끼리 묶어서 커밋할 수 있다. (UseBalanceGroupCommitter)
  */
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class TransactionController {
     private final TransactionService transactionService;
+    private final TransactionExecutors transactionExecutors;
+    private final UseBalanceGroupCommitter useBalanceGroupCommitter;
+    private final FailedTransactionRecorder failedTransactionRecorder;
 
     @PostMapping("/transaction/use")
-    public UseBalance.Response useBalance(
+    public CompletableFuture<UseBalance.Response> useBalance(
             @Valid @RequestBody UseBalance.Request request) {
-        try {
-            return UseBalance.Response.from(
-                    transactionService.useBalance(
-                            request.getUserId(),
-                            request.getAccountNumber(),
-                            request.getAmount()));
-        } catch (AccountException e) {
-            log.error("Failed to use balance.");
+        PhaseTimer.mark("request");
+        return transactionExecutors.write(() -> {
+            try {
+                return UseBalance.Response.from(
+                        useBalanceGroupCommitter.useBalance(
+                                request.getUserId(),
+                                request.getAccountNumber(),
+                                request.getAmount()));
+            } catch (AccountException e) {
+                log.error("Failed to use balance.");
+                PhaseTimer.mark("failed");
 
-            transactionService.saveFailedUseBalance(
-                    request.getAccountNumber(),
-                    request.getAmount()
-            );
+                failedTransactionRecorder.recordFailedUse(
+                        request.getAccountNumber(),
+                        request.getAmount(),
+                        e.getErrorCode()
+                );
 
-            throw e;
-        }
+                throw e;
+            }
+        });
     }
 
     @PostMapping("/transaction/cancel")
-    public CancelBalance.Response cancelBalance(
+    public CompletableFuture<CancelBalance.Response> cancelBalance(
             @Valid @RequestBody CancelBalance.Request request) {
-        try {
-            return CancelBalance.Response.from(
-                    transactionService.cancelBalance(
-                            request.getTransactionId(),
-                            request.getAccountNumber(),
-                            request.getAmount()));
-        } catch (AccountException e) {
-            log.error("Failed to cancel balance.");
+        PhaseTimer.mark("request");
+        return transactionExecutors.write(() -> {
+            try {
+                return CancelBalance.Response.from(
+                        transactionService.cancelBalance(
+                                request.getTransactionId(),
+                                request.getAccountNumber(),
+                                request.getAmount()));
+            } catch (AccountException e) {
+                log.error("Failed to cancel balance.");
+                PhaseTimer.mark("failed");
 
-            transactionService.saveFailedCancelBalance(
-                    request.getAccountNumber(),
-                    request.getAmount()
-            );
+                failedTransactionRecorder.recordFailedCancel(
+                        request.getAccountNumber(),
+                        request.getAmount(),
+                        e.getErrorCode()
+                );
 
-            throw e;
-        }
+                throw e;
+            }
+        });
     }
 
     @GetMapping("/transaction/{transactionId}")
-    public QueryTransactionResponse queryTransaction(
+    public CompletableFuture<QueryTransactionResponse> queryTransaction(
             @PathVariable String transactionId) {
-        return QueryTransactionResponse
-                .from(transactionService.queryTransaction(transactionId));
+        PhaseTimer.mark("request");
+        return transactionExecutors.read(() -> QueryTransactionResponse
+                .from(transactionService.queryTransaction(transactionId)));
     }
 }
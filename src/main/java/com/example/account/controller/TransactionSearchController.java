@@ -0,0 +1,44 @@
+package com.example.account.controller;
+
+import com.example.account.config.TransactionExecutors;
+import com.example.account.dto.TransactionSearch;
+import com.example.account.dto.TransactionType;
+import com.example.account.service.TransactionSearchService;
+import com.example.account.type.TransactionResultType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ *  상담용 거래 검색 (account.search.enabled=true 인 경우에만 등록)
+ *  GET /transaction/search?account_number=1000000000&from=2022-09-01T00:00:00&to=2022-10-01T00:00:00
+ *      &type=USE&result=S&size=50&cursor=...
+ *  읽기 작업 스레드 풀에서 실행 (TransactionExecutors)
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.search.enabled", havingValue = "true")
+public class TransactionSearchController {
+    private final TransactionSearchService transactionSearchService;
+    private final TransactionExecutors transactionExecutors;
+
+    @GetMapping("/transaction/search")
+    public CompletableFuture<TransactionSearch> search(
+            @RequestParam("account_number") String accountNumber,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "type", required = false) List<TransactionType> types,
+            @RequestParam(value = "result", required = false) List<TransactionResultType> resultTypes,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        return transactionExecutors.read(() -> transactionSearchService.search(
+                accountNumber, from, to, types, resultTypes, size, cursor));
+    }
+}
@@ -35,6 +35,13 @@ public class Account {
 
     private Long balance;
 
+    // 잔액 분할 슬롯 수 (없으면 일반 계좌) - HotAccountService
+    private Integer balanceSlotCount;
+
+    // 잔액 분할 / 합치기와 겹친 잔액 변경은 커밋하지 않는다. (낡은 balance 로 슬롯과 어긋난 잔액을 덮어쓰지 않게)
+    @Version
+    private Long version;
+
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
 
@@ -43,6 +50,10 @@ public class Account {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    public boolean isBalanceSplit() {
+        return balanceSlotCount != null && balanceSlotCount > 0;
+    }
+
     public void useBalance(Long amount) {
         if (amount > balance) {
             throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
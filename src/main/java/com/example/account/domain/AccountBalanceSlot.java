@@ -0,0 +1,29 @@
+package com.example.account.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/**
+ *  잔액 분할 계좌의 잔액 조각
+ *  계좌 잔액 = account.balance + 모든 슬롯 잔액의 합
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "slot_index"}))
+public class AccountBalanceSlot {
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @ManyToOne
+    private Account account;
+
+    private Integer slotIndex;
+
+    private Long balance;
+}
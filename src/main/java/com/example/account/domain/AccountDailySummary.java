@@ -0,0 +1,38 @@
+package com.example.account.domain;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ *  계좌별 일별 사용 / 취소 합계 (DailySummaryService 가 outbox relay 에서 누적)
+ *  기간 조회는 거래 건수가 아닌 일수만큼만 읽는다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "summary_date"}))
+public class AccountDailySummary {
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @ManyToOne
+    private Account account;
+
+    private LocalDate summaryDate;
+
+    // 사용 (출금)
+    private Long debitAmount;
+    private Long debitCount;
+    // 사용 취소 (입금)
+    private Long creditAmount;
+    private Long creditCount;
+
+    // 그날 마지막으로 반영된 거래의 잔액 스냅샷
+    private Long closingBalance;
+}
@@ -0,0 +1,25 @@
+package com.example.account.domain;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ *  잔액 홀드 (DB 가 아닌 Redis 에 TTL 과 함께 저장 - BalanceHoldService)
+ *  만료되면 Redis 에서 사라지므로 별도의 해제 처리가 필요 없다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceHold implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String holdId;
+    private Long userId;
+    private String accountNumber;
+    private Long amount;
+    private LocalDateTime heldAt;
+    private LocalDateTime expiresAt;
+}
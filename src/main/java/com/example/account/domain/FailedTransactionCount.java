@@ -0,0 +1,40 @@
+package com.example.account.domain;
+
+import com.example.account.dto.TransactionType;
+import com.example.account.type.ErrorCode;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ *  실패 거래 분당 집계 (FailedTransactionRecorder)
+ *  실패 거래 행은 sampledCount 건만 남고, 전체 실패 건수는 failureCount 로 집계한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+        columnNames = {"account_number", "error_code", "transaction_type", "window_start"}))
+public class FailedTransactionCount {
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    private String accountNumber;
+
+    @Enumerated(EnumType.STRING)
+    private ErrorCode errorCode;
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+
+    // 분 단위로 자른 시각
+    private LocalDateTime windowStart;
+
+    private Long failureCount;
+    // 실패 거래 행으로 기록된 건수
+    private Long sampledCount;
+}
@@ -17,6 +17,16 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = {
+        // 한 거래는 한번만 취소 가능
+        @UniqueConstraint(name = "uk_transaction_original_transaction_id", columnNames = "original_transaction_id")
+}, indexes = {
+        // 계좌별 거래를 순서대로 읽는 대사 쿼리용
+        @Index(name = "idx_transaction_account_id", columnList = "account_id, id"),
+        // 거래 검색 / 명세서용 covering index - 결과 컬럼까지 포함해서 테이블 행을 읽지 않는다.
+        @Index(name = "idx_transaction_search", columnList = "account_id, transacted_at, transaction_type, " +
+                "transaction_result_type, id, amount, balance_snap_shot, transaction_id")
+})
 public class Transaction {
     @Id
     @GeneratedValue
@@ -33,6 +43,7 @@ public class Transaction {
     private Long amount;
     private Long balanceSnapShot;
     private String transactionId;   // pk 를 이용할 경우 보안상 위험
+    private String originalTransactionId;   // 취소 거래인 경우 취소된 원거래 아이디
     private LocalDateTime transactedAt;
 
     @CreatedDate
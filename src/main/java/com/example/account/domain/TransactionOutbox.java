@@ -0,0 +1,52 @@
+package com.example.account.domain;
+
+import com.example.account.dto.TransactionType;
+import com.example.account.type.TransactionResultType;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ *  거래 이벤트 outbox - 거래와 같은 트랜잭션에서 저장하고,
+ *  TransactionOutboxService 가 Redis Stream 으로 발행한 뒤 삭제한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class TransactionOutbox {
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    private String transactionId;
+    private String accountNumber;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+    @Enumerated(EnumType.STRING)
+    private TransactionResultType transactionResultType;
+
+    private Long amount;
+    private Long balanceSnapShot;
+    private LocalDateTime transactedAt;
+
+    // 발행 지연시간 측정용
+    private LocalDateTime createdAt;
+
+    public static TransactionOutbox from(Transaction transaction) {
+        return TransactionOutbox.builder()
+                .transactionId(transaction.getTransactionId())
+                .accountNumber(transaction.getAccount().getAccountNumber())
+                .transactionType(transaction.getTransactionType())
+                .transactionResultType(transaction.getTransactionResultType())
+                .amount(transaction.getAmount())
+                .balanceSnapShot(transaction.getBalanceSnapShot())
+                .transactedAt(transaction.getTransactedAt())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.account.dto;
+
+import lombok.*;
+
+/**
+ * {
+ *     "accountNumber" : "1000000000",
+ *     "balance" : 10000,
+ *     "heldAmount" : 3000,
+ *     "availableBalance" : 7000
+ * }
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailableBalance {
+    private String accountNumber;
+    private Long balance;
+    private Long heldAmount;
+    private Long availableBalance;
+}
@@ -0,0 +1,45 @@
+package com.example.account.dto;
+
+import com.example.account.domain.Transaction;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ *  계좌 잔액 변경 이벤트 (GET /account/{accountNumber}/events)
+ * {
+ *     "accountNumber" : "1000000000",
+ *     "transactionId" : "c____",
+ *     "transactionType" : "USE",
+ *     "amount" : 1000,
+ *     "balanceSnapShot" : 9000,
+ *     "transactedAt" : date
+ * }
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String accountNumber;
+    private String transactionId;
+    private TransactionType transactionType;
+    private Long amount;
+    private Long balanceSnapShot;
+    private LocalDateTime transactedAt;
+
+    public static BalanceEvent from(Transaction transaction) {
+        return BalanceEvent.builder()
+                .accountNumber(transaction.getAccount().getAccountNumber())
+                .transactionId(transaction.getTransactionId())
+                .transactionType(transaction.getTransactionType())
+                .amount(transaction.getAmount())
+                .balanceSnapShot(transaction.getBalanceSnapShot())
+                .transactedAt(transaction.getTransactedAt())
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.account.dto;
+
+import com.example.account.domain.AccountDailySummary;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * {
+ *     "accountNumber" : "1000000000",
+ *     "from" : "2022-09-01",
+ *     "to" : "2022-09-30",
+ *     "debitAmount" : 30000,
+ *     "debitCount" : 12,
+ *     "creditAmount" : 1000,
+ *     "creditCount" : 1,
+ *     "days" : [ { "date" : "2022-09-01", "debitAmount" : 3000, ..., "closingBalance" : 7000 } ]
+ * }
+ * 거래가 없는 날은 days 에 포함되지 않는다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailySummary {
+    private String accountNumber;
+    private LocalDate from;
+    private LocalDate to;
+    private long debitAmount;
+    private long debitCount;
+    private long creditAmount;
+    private long creditCount;
+    private List<Day> days;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Day {
+        private LocalDate date;
+        private Long debitAmount;
+        private Long debitCount;
+        private Long creditAmount;
+        private Long creditCount;
+        private Long closingBalance;
+
+        public static Day from(AccountDailySummary summary) {
+            return Day.builder()
+                    .date(summary.getSummaryDate())
+                    .debitAmount(summary.getDebitAmount())
+                    .debitCount(summary.getDebitCount())
+                    .creditAmount(summary.getCreditAmount())
+                    .creditCount(summary.getCreditCount())
+                    .closingBalance(summary.getClosingBalance())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ErrorResponse {
+    private ErrorCode errorCode;
+    private String errorMessage;
+}
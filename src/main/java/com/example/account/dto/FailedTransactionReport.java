@@ -0,0 +1,41 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ *  실패 거래 집계 조회 결과
+ * {
+ *     "from" : "2022-09-01T00:00:00",
+ *     "to" : "2022-09-02T00:00:00",
+ *     "totals" : [ { "errorCode" : "USER_ACCOUNT_UN_MATCH", "transactionType" : "USE",
+ *                    "failureCount" : 120000, "sampledCount" : 300 } ]
+ * }
+ * failureCount 는 샘플링과 관계없이 전체 실패 건수 (마지막 flush 까지)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FailedTransactionReport {
+    private String accountNumber;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<Total> totals;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Total {
+        private ErrorCode errorCode;
+        private TransactionType transactionType;
+        private long failureCount;
+        private long sampledCount;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.account.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightRecordingInfo {
+    private long id;
+    private String state;
+    private Instant startTime;
+    private long maxSizeBytes;
+    private long durationSeconds;
+}
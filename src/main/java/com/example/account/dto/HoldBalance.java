@@ -0,0 +1,88 @@
+package com.example.account.dto;
+
+import com.example.account.domain.BalanceHold;
+import lombok.*;
+
+import javax.validation.constraints.*;
+import java.time.LocalDateTime;
+
+public class HoldBalance {
+    /**
+     * {
+     *     "userId" : 1,
+     *     "accountNumber" : "1000000000",
+     *     "amount" : 1000,
+     *     "ttlSeconds" : 600
+     * }
+     */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Request {
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String accountNumber;
+
+        @NotNull
+        @Min(10)
+        @Max(1000_000_000)
+        private Long amount;
+
+        // 없으면 account.hold.ttl-seconds
+        @Min(1)
+        private Long ttlSeconds;
+    }
+
+    /**
+     * 홀드 확정 / 해제
+     * {
+     *     "holdId" : "c____",
+     *     "accountNumber" : "1000000000"
+     * }
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Target {
+        @NotBlank
+        private String holdId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String accountNumber;
+    }
+
+    /**
+     * {
+     *     "accountNumber" : "1000000000",
+     *     "holdId" : "c____",
+     *     "amount" : 1000,
+     *     "expiresAt" : date
+     * }
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private String accountNumber;
+        private String holdId;
+        private Long amount;
+        private LocalDateTime expiresAt;
+
+        public static Response from(BalanceHold hold) {
+            return Response.builder()
+                    .accountNumber(hold.getAccountNumber())
+                    .holdId(hold.getHoldId())
+                    .amount(hold.getAmount())
+                    .expiresAt(hold.getExpiresAt())
+                    .build();
+        }
+    }
+}
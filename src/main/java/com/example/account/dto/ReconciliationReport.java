@@ -0,0 +1,62 @@
+package com.example.account.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ *  잔액 대사 결과 (LedgerReconciliationService)
+ * {
+ *     "status" : "COMPLETED",
+ *     "startedAt" : date,
+ *     "finishedAt" : date,
+ *     "accountsChecked" : 1000000,
+ *     "transactionsChecked" : 30000000,
+ *     "skippedSplitAccounts" : 2,
+ *     "discrepancyCount" : 1,
+ *     "discrepancies" : [ { "type" : "BALANCE_MISMATCH", "accountId" : 1, ... } ]
+ * }
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationReport {
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    public enum DiscrepancyType {
+        BALANCE_MISMATCH,   // 계좌 잔액 != 마지막 성공 거래의 잔액 스냅샷
+        SNAPSHOT_MISMATCH   // 거래 스냅샷 != 직전 스냅샷 -/+ 거래 금액
+    }
+
+    private Status status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long accountsChecked;
+    private long transactionsChecked;
+    // 잔액 분할 계좌는 슬롯별로 동시에 변경되어 스냅샷 순서가 보장되지 않으므로 제외
+    private long skippedSplitAccounts;
+    private long discrepancyCount;
+    // 최대 max-reported 건까지만
+    private List<Discrepancy> discrepancies;
+    private String error;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Discrepancy {
+        private DiscrepancyType type;
+        private int shard;
+        private Long accountId;
+        private String accountNumber;
+        private String transactionId;
+        private Long expected;
+        private Long actual;
+    }
+}
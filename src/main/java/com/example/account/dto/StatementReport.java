@@ -0,0 +1,44 @@
+package com.example.account.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ *  월별 명세서 작성 진행 상태 (StatementService)
+ * {
+ *     "month" : "2022-09",
+ *     "directory" : "/data/statements/2022-09",
+ *     "status" : "RUNNING",
+ *     "accountsWritten" : 12000,
+ *     "accountsSkipped" : 50000,
+ *     "accountsFailed" : 0,
+ *     "transactionsWritten" : 340000,
+ *     "bytesWritten" : 5242880
+ * }
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatementReport {
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private String month;
+    private String directory;
+    private Status status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long accountsWritten;
+    // 이전 실행에서 이미 작성된 계좌 (재시작시 건너뜀)
+    private long accountsSkipped;
+    // 실패한 계좌는 다시 실행하면 이어서 작성된다.
+    private long accountsFailed;
+    private long transactionsWritten;
+    // 압축된 파일 크기
+    private long bytesWritten;
+    private String error;
+}
@@ -0,0 +1,88 @@
+package com.example.account.dto;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ *  비동기 거래 요청 (POST /transaction/use/async) 의 접수 번호(ticket) 별 처리 결과
+ *  접수 번호는 처리 후 거래 아이디로 그대로 사용된다.
+ */
+public class TransactionCommand {
+    public enum Status {
+        PENDING, SUCCEEDED, FAILED
+    }
+
+    /**
+     * {
+     *     "ticket" : "c____",
+     *     "status" : "SUCCEEDED",
+     *     "accountNumber" : "1000000000",
+     *     "transactionResult" : "S",
+     *     "transactionId" : "c____",
+     *     "amount" : 1000,
+     *     "transactedAt" : date,
+     *     "errorCode" : null,
+     *     "errorMessage" : null
+     * }
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Result implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String ticket;
+        private Status status;
+        private String accountNumber;
+        private TransactionResultType transactionResult;
+        private String transactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+        private ErrorCode errorCode;
+        private String errorMessage;
+
+        public boolean isDone() {
+            return status != Status.PENDING;
+        }
+
+        public static Result pending(String ticket, String accountNumber, Long amount) {
+            return Result.builder()
+                    .ticket(ticket)
+                    .status(Status.PENDING)
+                    .accountNumber(accountNumber)
+                    .amount(amount)
+                    .build();
+        }
+
+        public static Result succeeded(String ticket, TransactionDto transactionDto) {
+            return Result.builder()
+                    .ticket(ticket)
+                    .status(Status.SUCCEEDED)
+                    .accountNumber(transactionDto.getAccountNumber())
+                    .transactionResult(transactionDto.getTransactionResultType())
+                    .transactionId(transactionDto.getTransactionId())
+                    .amount(transactionDto.getAmount())
+                    .transactedAt(transactionDto.getTransactedAt())
+                    .build();
+        }
+
+        public static Result failed(String ticket, String accountNumber, Long amount, AccountException e) {
+            return Result.builder()
+                    .ticket(ticket)
+                    .status(Status.FAILED)
+                    .accountNumber(accountNumber)
+                    .transactionResult(TransactionResultType.F)
+                    .amount(amount)
+                    .errorCode(e.getErrorCode())
+                    .errorMessage(e.getErrorMessage())
+                    .build();
+        }
+    }
+}
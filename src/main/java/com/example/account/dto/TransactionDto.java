@@ -19,6 +19,7 @@ public class TransactionDto {
     private Long amount;
     private Long balanceSnapShot;
     private String transactionId;
+    private String originalTransactionId;
     private LocalDateTime transactedAt;
 
     public static TransactionDto  fromEntity(Transaction transaction) {
@@ -29,6 +30,7 @@ public class TransactionDto {
                 .amount(transaction.getAmount())
                 .balanceSnapShot(transaction.getBalanceSnapShot())
                 .transactionId(transaction.getTransactionId())
+                .originalTransactionId(transaction.getOriginalTransactionId())
                 .transactedAt(transaction.getTransactedAt())
                 .build();
     }
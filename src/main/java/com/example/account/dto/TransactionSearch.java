@@ -0,0 +1,56 @@
+package com.example.account.dto;
+
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.TransactionResultType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ *  거래 검색 결과
+ * {
+ *     "transactions" : [ { "transactionId" : "...", "transactionType" : "USE", ... } ],
+ *     "estimatedCount" : 1000,
+ *     "countCapped" : true,
+ *     "nextCursor" : "2022-09-01T12:00:00_123"
+ * }
+ * estimatedCount 는 첫 페이지에서만, 최대 건수까지만 센다. (countCapped = true 면 그 이상)
+ * nextCursor 가 없으면 마지막 페이지
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionSearch {
+    private List<Item> transactions;
+    private Long estimatedCount;
+    private boolean countCapped;
+    private String nextCursor;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private String transactionId;
+        private TransactionType transactionType;
+        private TransactionResultType transactionResult;
+        private Long amount;
+        private Long balanceSnapShot;
+        private LocalDateTime transactedAt;
+
+        public static Item from(TransactionRepository.SearchRow row) {
+            return Item.builder()
+                    .transactionId(row.getTransactionId())
+                    .transactionType(row.getTransactionType())
+                    .transactionResult(row.getTransactionResultType())
+                    .amount(row.getAmount())
+                    .balanceSnapShot(row.getBalanceSnapShot())
+                    .transactedAt(row.getTransactedAt())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.account.dto;
+
+import com.example.account.type.ErrorCode;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ *  같은 계좌에 대한 잔액 사용 요청 묶음 (TransactionService.useBalanceBatch)
+ */
+public class UseBalanceBatch {
+
+    @Getter
+    @AllArgsConstructor
+    public static class Command {
+        private final Long userId;
+        private final Long amount;
+    }
+
+    // 요청별 결과 - 성공시 transactionDto, 실패시 errorCode
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Result {
+        private final TransactionDto transactionDto;
+        private final ErrorCode errorCode;
+
+        public static Result success(TransactionDto transactionDto) {
+            return new Result(transactionDto, null);
+        }
+
+        public static Result fail(ErrorCode errorCode) {
+            return new Result(null, errorCode);
+        }
+    }
+}
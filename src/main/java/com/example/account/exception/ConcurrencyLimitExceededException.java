@@ -0,0 +1,4 @@
+package com.example.account.exception;
+
+public class ConcurrencyLimitExceededException extends RuntimeException {
+}
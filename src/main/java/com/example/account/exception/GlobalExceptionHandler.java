@@ -0,0 +1,44 @@
+package com.example.account.exception;
+
+import com.example.account.dto.ErrorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.example.account.type.ErrorCode.SERVICE_OVERLOADED;
+
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+    @Value("${account.executor.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    // 작업 대기열이 가득 찬 경우 - 기다리지 않고 바로 실패시켜 나머지 요청의 지연을 지킨다.
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(RejectedExecutionException e) {
+        log.warn("Request rejected by overloaded executor.");
+
+        return serviceOverloaded();
+    }
+
+    // 동시 처리 한도를 넘은 경우
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyLimitExceeded(
+            ConcurrencyLimitExceededException e) {
+        log.warn("Request rejected by concurrency limit.");
+
+        return serviceOverloaded();
+    }
+
+    private ResponseEntity<ErrorResponse> serviceOverloaded() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponse(SERVICE_OVERLOADED, SERVICE_OVERLOADED.getDescription()));
+    }
+}
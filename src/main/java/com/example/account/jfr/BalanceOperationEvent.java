@@ -0,0 +1,83 @@
+package com.example.account.jfr;
+
+import com.example.account.dto.TransactionType;
+import com.example.account.type.ErrorCode;
+import jdk.jfr.*;
+
+/**
+ *  잔액 사용 / 취소 한 건의 JFR 이벤트
+ *  진행중인 이벤트는 스레드에 보관해서 구간별 BalancePhaseEvent 를 남길 수 있게 한다.
+ */
+@Name("com.example.account.BalanceOperation")
+@Label("Balance Operation")
+@Category({"Account", "Balance"})
+@StackTrace(false)
+public class BalanceOperationEvent extends Event {
+    private static final ThreadLocal<BalanceOperationEvent> CURRENT = new ThreadLocal<>();
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Account Number")
+    String accountNumber;
+
+    @Label("Amount")
+    long amount;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Error Code")
+    String errorCode;
+
+    private transient long lastPhaseAt;
+
+    public static BalanceOperationEvent start(TransactionType transactionType,
+                                              String accountNumber, Long amount) {
+        BalanceOperationEvent event = new BalanceOperationEvent();
+        if (event.isEnabled()) {
+            event.operation = transactionType.name();
+            event.accountNumber = accountNumber;
+            event.amount = amount == null ? 0 : amount;
+            event.begin();
+            event.lastPhaseAt = System.nanoTime();
+            CURRENT.set(event);
+        }
+        return event;
+    }
+
+    /**
+     * 진행중인 잔액 이벤트가 있으면 직전 구간 이후의 시간을 phase 로 남긴다.
+     */
+    public static void phase(String phase) {
+        BalanceOperationEvent current = CURRENT.get();
+        if (current == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        BalancePhaseEvent phaseEvent = new BalancePhaseEvent();
+        phaseEvent.operation = current.operation;
+        phaseEvent.accountNumber = current.accountNumber;
+        phaseEvent.phase = phase;
+        phaseEvent.phaseDuration = now - current.lastPhaseAt;
+        phaseEvent.commit();
+        current.lastPhaseAt = now;
+    }
+
+    public void success() {
+        outcome = "S";
+    }
+
+    public void fail(ErrorCode errorCode) {
+        outcome = "F";
+        this.errorCode = errorCode == null ? null : errorCode.name();
+    }
+
+    public void finish() {
+        CURRENT.remove();
+        if (isEnabled()) {
+            end();
+            commit();
+        }
+    }
+}
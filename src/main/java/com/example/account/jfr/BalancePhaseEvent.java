@@ -0,0 +1,22 @@
+package com.example.account.jfr;
+
+import jdk.jfr.*;
+
+@Name("com.example.account.BalancePhase")
+@Label("Balance Phase")
+@Category({"Account", "Balance"})
+@StackTrace(false)
+public class BalancePhaseEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Account Number")
+    String accountNumber;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Phase Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long phaseDuration;
+}
@@ -0,0 +1,15 @@
+package com.example.account.jfr;
+
+import jdk.jfr.*;
+
+@Name("com.example.account.LockAcquisition")
+@Label("Lock Acquisition")
+@Category({"Account", "Lock"})
+@StackTrace(false)
+public class LockAcquisitionEvent extends Event {
+    @Label("Lock Name")
+    public String lockName;
+
+    @Label("Acquired")
+    public boolean acquired;
+}
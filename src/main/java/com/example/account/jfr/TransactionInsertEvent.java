@@ -0,0 +1,21 @@
+package com.example.account.jfr;
+
+import jdk.jfr.*;
+
+@Name("com.example.account.TransactionInsert")
+@Label("Transaction Insert")
+@Category({"Account", "Repository"})
+@StackTrace(false)
+public class TransactionInsertEvent extends Event {
+    @Label("Account Number")
+    public String accountNumber;
+
+    @Label("Transaction Type")
+    public String transactionType;
+
+    @Label("Result Type")
+    public String resultType;
+
+    @Label("Transaction Id")
+    public String transactionId;
+}
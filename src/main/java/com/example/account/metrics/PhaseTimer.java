@@ -0,0 +1,105 @@
+package com.example.account.metrics;
+
+import com.example.account.jfr.BalanceOperationEvent;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ *  요청 단위 구간별 수행시간 측정 (Server-Timing 헤더용)
+ *  ServerTimingFilter 가 시작한 요청에서만 동작하고, 그 외에는 아무것도 하지 않는다.
+ *
+ *  mark(phase) : 이전 mark 이후 경과시간을 phase 로 기록
+ *  record(phase, nanos) : 별도로 측정한 시간을 phase 에 더함 (ex. 락 대기)
+ *  mark 는 JFR 잔액 이벤트가 진행중이면 BalancePhaseEvent 도 남긴다.
+ */
+public final class PhaseTimer {
+    private static final ThreadLocal<PhaseTimer> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private long lastMarkAt = startedAt;
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    private PhaseTimer() {
+    }
+
+    static PhaseTimer start() {
+        PhaseTimer timer = new PhaseTimer();
+        CURRENT.set(timer);
+        return timer;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 비동기 처리시 다른 스레드로 측정을 넘기기 위해 사용 (current -> resume)
+     */
+    public static PhaseTimer current() {
+        return CURRENT.get();
+    }
+
+    public static void resume(PhaseTimer timer) {
+        if (timer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timer);
+        }
+    }
+
+    public static void mark(String phase) {
+        BalanceOperationEvent.phase(phase);
+
+        PhaseTimer timer = CURRENT.get();
+        if (timer != null) {
+            long now = System.nanoTime();
+            timer.phases.merge(phase, now - timer.lastMarkAt, Long::sum);
+            timer.lastMarkAt = now;
+        }
+    }
+
+    public static void record(String phase, long nanos) {
+        PhaseTimer timer = CURRENT.get();
+        if (timer != null) {
+            timer.phases.merge(phase, nanos, Long::sum);
+        }
+    }
+
+    /**
+     * 마지막 mark 부터 트랜잭션 커밋(flush 포함) 완료까지를 phase 로 기록
+     */
+    public static void markOnCompletion(String phase) {
+        if (CURRENT.get() != null
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            mark(phase);
+                        }
+                    });
+        }
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * ex) user;dur=0.41, account;dur=0.38, total;dur=3.12
+     */
+    String toHeaderValue() {
+        StringJoiner joiner = new StringJoiner(", ");
+        phases.forEach((phase, nanos) -> joiner.add(entry(phase, nanos)));
+        joiner.add(entry("total", elapsedNanos()));
+        return joiner.toString();
+    }
+
+    private static String entry(String phase, long nanos) {
+        return String.format("%s;dur=%.2f", phase, nanos / 1_000_000.0);
+    }
+}
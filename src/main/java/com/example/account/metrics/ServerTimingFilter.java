@@ -0,0 +1,85 @@
+package com.example.account.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  거래 API 의 구간별 수행시간을 Server-Timing 응답 헤더로 내려주고,
+ *  기준시간을 넘긴 요청은 구간별 시간과 함께 로그로 남긴다.
+ *  account.server-timing.enabled 설정시에만 동작
+ */
+@Slf4j
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+    static final String HEADER = "Server-Timing";
+    private static final String TIMER_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timer";
+
+    @Value("${account.server-timing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${account.server-timing.slow-threshold-ms:500}")
+    private long slowThresholdMs;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/transaction");
+    }
+
+    // 비동기 요청은 결과를 쓰는 async dispatch 에서 헤더를 붙인다.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        PhaseTimer timer = (PhaseTimer) request.getAttribute(TIMER_ATTRIBUTE);
+        if (timer == null) {
+            timer = PhaseTimer.start();
+            request.setAttribute(TIMER_ATTRIBUTE, timer);
+        } else {
+            PhaseTimer.resume(timer);
+        }
+
+        // 응답 본문을 붙잡아 두어야 본문이 나간 뒤에도 헤더를 추가할 수 있다.
+        ContentCachingResponseWrapper responseWrapper =
+                new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            if (request.isAsyncStarted()) {
+                PhaseTimer.stop();
+            } else {
+                PhaseTimer.mark("response");
+                PhaseTimer.stop();
+                finish(request, responseWrapper, timer);
+            }
+        }
+    }
+
+    private void finish(HttpServletRequest request,
+                        ContentCachingResponseWrapper responseWrapper,
+                        PhaseTimer timer) throws IOException {
+        String timing = timer.toHeaderValue();
+        responseWrapper.setHeader(HEADER, timing);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(timer.elapsedNanos());
+        if (elapsedMs >= slowThresholdMs) {
+            log.warn("Slow request {} {} ({} ms): {}",
+                    request.getMethod(), request.getRequestURI(), elapsedMs, timing);
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+}
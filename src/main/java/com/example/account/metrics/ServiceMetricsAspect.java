@@ -0,0 +1,72 @@
+package com.example.account.metrics;
+
+import com.example.account.exception.AccountException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  서비스 메소드 수행시간 / 실패 횟수 측정
+ *  outcome : success(정상), failure(AccountException), error(그 외 예외)
+ *  error_code : AccountException 의 ErrorCode
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    static final String TIMER_NAME = "account.service";
+    static final String FAILURE_COUNTER_NAME = "account.service.failures";
+
+    private static final String NO_ERROR = "NONE";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.example.account.service.TransactionService.*(..))"
+            + " || execution(public * com.example.account.service.AccountService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startedAt = System.nanoTime();
+        String outcome = "success";
+        String errorCode = NO_ERROR;
+        try {
+            return joinPoint.proceed();
+        } catch (AccountException e) {
+            outcome = "failure";
+            errorCode = e.getErrorCode() == null ? NO_ERROR : e.getErrorCode().name();
+            throw e;
+        } catch (Throwable t) {
+            outcome = "error";
+            throw t;
+        } finally {
+            String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+            String method = joinPoint.getSignature().getName();
+
+            Timer.builder(TIMER_NAME)
+                    .description("Account service method latency")
+                    .tag("class", className)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .tag("error_code", errorCode)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+            if (!"success".equals(outcome)) {
+                Counter.builder(FAILURE_COUNTER_NAME)
+                        .description("Account service method failures")
+                        .tag("class", className)
+                        .tag("method", method)
+                        .tag("outcome", outcome)
+                        .tag("error_code", errorCode)
+                        .register(meterRegistry)
+                        .increment();
+            }
+        }
+    }
+}
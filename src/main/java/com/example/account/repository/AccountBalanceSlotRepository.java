@@ -0,0 +1,41 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountBalanceSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+
+@Repository
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, Long> {
+
+    // 잔액이 충분한 경우에만 차감 (1 : 성공, 0 : 잔액 부족)
+    // 벌크 update 는 영속성 컨텍스트를 거치지 않으므로, 앞서 빌려오기(borrow) 로 읽어둔 슬롯이 낡은 값으로
+    // 남지 않게 실행 전에 flush, 실행 후에 clear 한다. (다음 borrow 는 슬롯을 DB 에서 다시 읽는다)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update AccountBalanceSlot s set s.balance = s.balance - :amount " +
+            "where s.account = :account and s.slotIndex = :slotIndex and s.balance >= :amount")
+    int withdraw(@Param("account") Account account,
+                 @Param("slotIndex") int slotIndex,
+                 @Param("amount") long amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update AccountBalanceSlot s set s.balance = s.balance + :amount " +
+            "where s.account = :account and s.slotIndex = :slotIndex")
+    int deposit(@Param("account") Account account,
+                @Param("slotIndex") int slotIndex,
+                @Param("amount") long amount);
+
+    // 슬롯 번호 순서로 잠가서 여러 슬롯을 잠그는 요청끼리 교착되지 않게 한다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<AccountBalanceSlot> findByAccountOrderBySlotIndex(Account account);
+
+    @Query("select coalesce(sum(s.balance), 0) from AccountBalanceSlot s where s.account = :account")
+    long sumBalance(@Param("account") Account account);
+}
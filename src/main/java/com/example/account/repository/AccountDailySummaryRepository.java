@@ -0,0 +1,36 @@
+package com.example.account.repository;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountDailySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AccountDailySummaryRepository extends JpaRepository<AccountDailySummary, Long> {
+
+    // 그날의 행이 있는 경우에만 누적 (1 : 성공, 0 : 행 없음)
+    @Modifying
+    @Query("update AccountDailySummary s set " +
+            "s.debitAmount = s.debitAmount + :debitAmount, " +
+            "s.debitCount = s.debitCount + :debitCount, " +
+            "s.creditAmount = s.creditAmount + :creditAmount, " +
+            "s.creditCount = s.creditCount + :creditCount, " +
+            "s.closingBalance = :closingBalance " +
+            "where s.account = :account and s.summaryDate = :summaryDate")
+    int accumulate(@Param("account") Account account,
+                   @Param("summaryDate") LocalDate summaryDate,
+                   @Param("debitAmount") long debitAmount,
+                   @Param("debitCount") long debitCount,
+                   @Param("creditAmount") long creditAmount,
+                   @Param("creditCount") long creditCount,
+                   @Param("closingBalance") long closingBalance);
+
+    List<AccountDailySummary> findByAccountAndSummaryDateBetweenOrderBySummaryDate(
+            Account account, LocalDate from, LocalDate to);
+}
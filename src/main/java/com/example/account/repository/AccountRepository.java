@@ -2,9 +2,15 @@ package com.example.account.repository;
 
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,5 +23,24 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.accountNumber = :accountNumber")
+    Optional<Account> findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
+
     List<Account> findByAccountUser(AccountUser accountUser);
+
+    // 블룸필터 재구성용 - 엔티티 전체가 아닌 계좌번호만 조회
+    @Query("select a.accountNumber from Account a order by a.id")
+    Slice<String> findAccountNumbers(Pageable pageable);
+
+    // 월별 명세서 작성용 - 아이디 기준 keyset 페이지
+    @Query("select a.id as id, a.accountNumber as accountNumber from Account a " +
+            "where a.id > :lastId order by a.id")
+    List<AccountKey> findAccountKeysAfter(@Param("lastId") long lastId, Pageable pageable);
+
+    interface AccountKey {
+        Long getId();
+
+        String getAccountNumber();
+    }
 }
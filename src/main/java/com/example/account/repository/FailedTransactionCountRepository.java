@@ -0,0 +1,60 @@
+package com.example.account.repository;
+
+import com.example.account.domain.FailedTransactionCount;
+import com.example.account.dto.TransactionType;
+import com.example.account.type.ErrorCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FailedTransactionCountRepository extends JpaRepository<FailedTransactionCount, Long> {
+
+    // 집계 행이 있는 경우에만 누적 (1 : 성공, 0 : 행 없음) - 쓰기이므로 primary
+    @Transactional
+    @Modifying
+    @Query("update FailedTransactionCount f set " +
+            "f.failureCount = f.failureCount + :failureCount, " +
+            "f.sampledCount = f.sampledCount + :sampledCount " +
+            "where f.accountNumber = :accountNumber and f.errorCode = :errorCode " +
+            "and f.transactionType = :transactionType and f.windowStart = :windowStart")
+    int accumulate(@Param("accountNumber") String accountNumber,
+                   @Param("errorCode") ErrorCode errorCode,
+                   @Param("transactionType") TransactionType transactionType,
+                   @Param("windowStart") LocalDateTime windowStart,
+                   @Param("failureCount") long failureCount,
+                   @Param("sampledCount") long sampledCount);
+
+    // 기간 내 에러코드 / 거래 종류별 합계
+    @Query("select f.errorCode as errorCode, f.transactionType as transactionType, " +
+            "sum(f.failureCount) as failureCount, sum(f.sampledCount) as sampledCount " +
+            "from FailedTransactionCount f " +
+            "where f.windowStart >= :from and f.windowStart < :to " +
+            "group by f.errorCode, f.transactionType")
+    List<Total> sumByErrorCode(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select f.errorCode as errorCode, f.transactionType as transactionType, " +
+            "sum(f.failureCount) as failureCount, sum(f.sampledCount) as sampledCount " +
+            "from FailedTransactionCount f " +
+            "where f.accountNumber = :accountNumber and f.windowStart >= :from and f.windowStart < :to " +
+            "group by f.errorCode, f.transactionType")
+    List<Total> sumByErrorCode(@Param("accountNumber") String accountNumber,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
+
+    interface Total {
+        ErrorCode getErrorCode();
+
+        TransactionType getTransactionType();
+
+        Long getFailureCount();
+
+        Long getSampledCount();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.account.repository;
+
+import com.example.account.domain.TransactionOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TransactionOutboxRepository extends JpaRepository<TransactionOutbox, Long> {
+    // 저장된 순서대로 발행 - 삭제 직후 다시 읽으므로 replica 가 아닌 primary 에서 조회
+    @Transactional
+    List<TransactionOutbox> findByOrderByIdAsc(Pageable pageable);
+
+    // 발행한 묶음 삭제 - 실제로 지운 행 수를 돌려준다. (다른 노드가 먼저 지웠으면 0)
+    @Modifying
+    @Query("delete from TransactionOutbox o where o.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
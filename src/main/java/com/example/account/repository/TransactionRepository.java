@@ -1,12 +1,110 @@
 package com.example.account.repository;
 
 import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionType;
+import com.example.account.type.TransactionResultType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+    // 검색 쿼리가 커넥션을 오래 잡지 않도록
+    String SEARCH_TIMEOUT_MS = "3000";
+
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    // 취소 여부 확인 - 원거래 아이디 unique 인덱스 조회
+    boolean existsByOriginalTransactionId(String originalTransactionId);
+
+    // 블룸필터 재구성용 - 엔티티 전체가 아닌 거래 아이디만 조회
+    @Query("select t.transactionId from Transaction t order by t.id")
+    Slice<String> findTransactionIds(Pageable pageable);
+
+    // 월별 명세서 작성용 - idx_transaction_search 만 읽는 projection, (거래일시, 아이디) 순서 keyset 페이지
+    // (계좌의 해당 월 범위만 읽는다.)
+    @Query("select t.id as id, t.transactionId as transactionId, t.transactionType as transactionType, " +
+            "t.amount as amount, t.balanceSnapShot as balanceSnapShot, t.transactedAt as transactedAt " +
+            "from Transaction t " +
+            "where t.account.id = :accountId and t.transactionResultType = :resultType " +
+            "and t.transactedAt >= :from and t.transactedAt < :to " +
+            "and (t.transactedAt > :cursorAt or (t.transactedAt = :cursorAt and t.id > :cursorId)) " +
+            "order by t.transactedAt, t.id")
+    List<StatementLine> findStatementLines(@Param("accountId") Long accountId,
+                                           @Param("resultType") TransactionResultType resultType,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("cursorAt") LocalDateTime cursorAt,
+                                           @Param("cursorId") long cursorId,
+                                           Pageable pageable);
+
+    // 거래 검색 - idx_transaction_search 만 읽는 projection, (거래일시, 아이디) 역순 keyset 페이지
+    @QueryHints(@QueryHint(name = "javax.persistence.query.timeout", value = SEARCH_TIMEOUT_MS))
+    @Query("select t.id as id, t.transactionId as transactionId, t.transactionType as transactionType, " +
+            "t.transactionResultType as transactionResultType, t.amount as amount, " +
+            "t.balanceSnapShot as balanceSnapShot, t.transactedAt as transactedAt " +
+            "from Transaction t " +
+            "where t.account.id = :accountId and t.transactedAt >= :from " +
+            "and (t.transactedAt < :cursorAt or (t.transactedAt = :cursorAt and t.id < :cursorId)) " +
+            "and t.transactionType in :types and t.transactionResultType in :resultTypes " +
+            "order by t.transactedAt desc, t.id desc")
+    List<SearchRow> search(@Param("accountId") Long accountId,
+                           @Param("from") LocalDateTime from,
+                           @Param("cursorAt") LocalDateTime cursorAt,
+                           @Param("cursorId") long cursorId,
+                           @Param("types") Collection<TransactionType> types,
+                           @Param("resultTypes") Collection<TransactionResultType> resultTypes,
+                           Pageable pageable);
+
+    // 검색 건수 추정 - 최대 건수 + 1 개까지만 인덱스에서 아이디를 읽는다.
+    @QueryHints(@QueryHint(name = "javax.persistence.query.timeout", value = SEARCH_TIMEOUT_MS))
+    @Query("select t.id from Transaction t " +
+            "where t.account.id = :accountId and t.transactedAt >= :from and t.transactedAt < :to " +
+            "and t.transactionType in :types and t.transactionResultType in :resultTypes")
+    List<Long> findSearchIds(@Param("accountId") Long accountId,
+                             @Param("from") LocalDateTime from,
+                             @Param("to") LocalDateTime to,
+                             @Param("types") Collection<TransactionType> types,
+                             @Param("resultTypes") Collection<TransactionResultType> resultTypes,
+                             Pageable pageable);
+
+    interface SearchRow {
+        Long getId();
+
+        String getTransactionId();
+
+        TransactionType getTransactionType();
+
+        TransactionResultType getTransactionResultType();
+
+        Long getAmount();
+
+        Long getBalanceSnapShot();
+
+        LocalDateTime getTransactedAt();
+    }
+
+    interface StatementLine {
+        Long getId();
+
+        String getTransactionId();
+
+        TransactionType getTransactionType();
+
+        Long getAmount();
+
+        Long getBalanceSnapShot();
+
+        LocalDateTime getTransactedAt();
+    }
 }
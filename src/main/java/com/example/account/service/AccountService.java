@@ -1,19 +1,24 @@
 package com.example.account.service;
 
+import com.example.account.config.ReplicaStalenessGuard;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
+import com.example.account.shard.ShardContext;
+import com.example.account.shard.ShardRouter;
+import com.example.account.shard.ShardTemplate;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 import static com.example.account.type.AccountStatus.IN_USE;
@@ -25,6 +30,11 @@ import static com.example.account.type.ErrorCode.*;
 public class AccountService {
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
+    private final BloomFilterService bloomFilterService;
+    private final ReplicaStalenessGuard replicaStalenessGuard;
+    private final ShardRouter shardRouter;
+    private final ShardTemplate shardTemplate;
+    private final HotAccountService hotAccountService;
     // @RequiredArgsConstructor 를 사용한 경우 -->
     // public AccountService(AccountRepository accountRepository) {
     //      this.accountRepository = accountRepository;
@@ -37,21 +47,27 @@ public class AccountService {
      */
     @Transactional
     public AccountDto createAccount(Long userId, Long initialBalance) {
+        // 첫 번호로 샤드를 정하고, 중복시에는 같은 샤드로 가는 번호만 다시 뽑는다.
+        String accountNumber = createRandomAccountNumber();
+        int shard = shardRouter.shardOf(accountNumber);
+        ShardContext.bind(shard);
+
         AccountUser accountUser = accountUserRepository.findById(userId)
                 .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
 
         validateCreateAccount(accountUser);
 
-        String accountNumber = createRandomAccountNumber();
-
-        while (!isExistAccountNumber(accountNumber)) {
-            accountNumber = createRandomAccountNumber();
+        while (isExistAccountNumber(accountNumber)) {
+            accountNumber = createRandomAccountNumber(shard);
         }
 
         String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()
                 .map(account -> (Integer.parseInt(account.getAccountNumber())) + 1 + "")
                 .orElse("1000000000");
 
+        bloomFilterService.addAccountNumber(accountNumber);
+        replicaStalenessGuard.markUserWritten(userId);
+
         return AccountDto.fromEntity(
                 accountRepository.save(
                         Account.builder()
@@ -64,18 +80,25 @@ public class AccountService {
                                 .build()));
     }
 
+    // 블룸필터에 없는 번호는 확실히 미사용이므로 DB 조회 생략
     private boolean isExistAccountNumber(String accountNumber) {
-        Optional<Account> result = accountRepository.findByAccountNumber(accountNumber);
-        if (result != null) {
-            return true;
+        if (bloomFilterService.isUnknownAccountNumber(accountNumber)) {
+            return false;
         }
-        return false;
+        return accountRepository.findByAccountNumber(accountNumber).isPresent();
+    }
+
+    private String createRandomAccountNumber(int shard) {
+        String accountNumber = createRandomAccountNumber();
+        while (shardRouter.shardOf(accountNumber) != shard) {
+            accountNumber = createRandomAccountNumber();
+        }
+        return accountNumber;
     }
 
     private String createRandomAccountNumber() {
-        Random random = new Random();
-        random.setSeed(System.currentTimeMillis());
-        int randomInt = random.nextInt(1000000000);
+        // 시각으로 매번 seed 를 주면 같은 ms 안에서는 같은 번호만 나오므로 재시도가 무의미
+        int randomInt = ThreadLocalRandom.current().nextInt(1000000000);
         long randomInt2 = randomInt + 1000000000L;
         String accountNumber = String.valueOf(randomInt2);
 //        System.out.println(accountNumber);
@@ -83,17 +106,24 @@ public class AccountService {
         return accountNumber;
     }
 
+    // 사용자의 계좌는 여러 샤드에 나뉘어 있으므로 모든 샤드의 계좌 수를 합산
     private void validateCreateAccount(AccountUser accountUser) {
-        if (accountRepository.countByAccountUser(accountUser) == 10) {
+        int accountCount = shardTemplate.readAllShards(shard ->
+                        Collections.singletonList(accountRepository.countByAccountUser(accountUser)))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        if (accountCount == 10) {
             throw new AccountException(MAX_ACCOUNT_PER_USER_10);
         }
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Account getAccount(Long id) {
         if (id < 0) {
             throw new RuntimeException("Minus");
         }
+        ShardContext.bind(shardRouter.shardOfId(id));
         return accountRepository.findById(id).get();    // findById는 Optional로 가져오게됨.
     }
 
@@ -105,9 +135,14 @@ public class AccountService {
      */
     @Transactional
     public AccountDto deleteAccount(Long userId, String accountNumber) {
+        ShardContext.bind(shardRouter.shardOf(accountNumber));
+
         AccountUser accountUser = accountUserRepository.findById(userId)
                 .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
 
+        if (bloomFilterService.isUnknownAccountNumber(accountNumber)) {
+            throw new AccountException(ACCOUNT_NOT_FOUND);
+        }
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
 
@@ -115,6 +150,7 @@ public class AccountService {
 
         account.setAccountStatus(UNREGISTERED);
         account.setUnRegisteredAt(LocalDateTime.now());
+        replicaStalenessGuard.markUserWritten(userId);
 
         return AccountDto.fromEntity(account);
     }
@@ -129,21 +165,38 @@ public class AccountService {
             throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
         }
         // 잔액이 있는경우
-        if (account.getBalance() > 0) {
+        if (balanceOf(account) > 0) {
             throw new AccountException(BALANCE_NOT_EMPTY);
         }
     }
 
-    @Transactional
+    // 읽기 전용 - replica 에서 조회, flush 생략 (방금 변경된 사용자는 primary 에서 조회)
+    @Transactional(readOnly = true)
     public List<AccountDto> getAccountsByUserId(Long userId) {
+        replicaStalenessGuard.routeUserReads(userId);
+
         AccountUser accountUser = accountUserRepository.findById(userId)
                 .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
 
-        List<Account> accounts =
-                accountRepository.findByAccountUser(accountUser);
+        // 계좌는 계좌번호 기준으로 샤드에 나뉘어 있으므로 모든 샤드를 동시에 조회
+        return shardTemplate.readAllShards(shard -> {
+            replicaStalenessGuard.routeUserReads(userId);
+            return accountRepository.findByAccountUser(accountUser).stream()
+                    .map(this::toAccountDto)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    // 잔액 분할 계좌는 슬롯 잔액까지 합산
+    private AccountDto toAccountDto(Account account) {
+        AccountDto accountDto = AccountDto.fromEntity(account);
+        if (account.isBalanceSplit()) {
+            accountDto.setBalance(hotAccountService.getBalance(account));
+        }
+        return accountDto;
+    }
 
-        return accounts.stream()
-                .map(AccountDto::fromEntity)
-                .collect(Collectors.toList());
+    private long balanceOf(Account account) {
+        return account.isBalanceSplit() ? hotAccountService.getBalance(account) : account.getBalance();
     }
 }
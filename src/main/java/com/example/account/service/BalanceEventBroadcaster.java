@@ -0,0 +1,290 @@
+package com.example.account.service;
+
+import com.example.account.domain.Transaction;
+import com.example.account.dto.BalanceEvent;
+import com.example.account.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *  계좌 잔액 변경 SSE 브로드캐스터
+ *  1. 커밋된 잔액 사용 / 취소 거래를 Redis pub/sub 토픽 하나로 발행 (노드간 전달)
+ *  2. 노드마다 토픽을 한번만 구독하고, 받은 이벤트를 그 계좌의 로컬 구독자에게 나눠준다.
+ *  3. 구독자별 버퍼는 buffer-size 로 제한 - 느린 구독자는 오래된 이벤트부터 버린다.
+ *     (이벤트마다 잔액 스냅샷이 있으므로 마지막 이벤트만 받아도 최신 잔액은 맞다)
+ *  4. 전송 한번이 send-timeout 을 넘기면 그 구독자를 에러로 끊고 전송 스레드를 돌려받는다.
+ *     (받지 않는 클라이언트 하나가 공용 전송 스레드를 계속 잡고 있지 않도록)
+ */
+@Slf4j
+@Service
+public class BalanceEventBroadcaster {
+    private static final String TOPIC = "balance-events";
+
+    private final RedissonClient redissonClient;
+    private final boolean enabled;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int senderPoolSize;
+    private final long sendTimeoutNanos;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter dropped;
+    private final Counter stalled;
+
+    private ExecutorService sender;
+    private ScheduledExecutorService watchdog;
+    private Integer listenerId;
+
+    public BalanceEventBroadcaster(
+            RedissonClient redissonClient,
+            MeterRegistry meterRegistry,
+            @Value("${account.events.enabled:false}") boolean enabled,
+            @Value("${account.events.timeout-ms:600000}") long timeoutMillis,
+            @Value("${account.events.buffer-size:16}") int bufferSize,
+            @Value("${account.events.max-subscribers:10000}") int maxSubscribers,
+            @Value("${account.events.sender-pool-size:4}") int senderPoolSize,
+            @Value("${account.events.send-timeout-ms:5000}") long sendTimeoutMillis) {
+        this.redissonClient = redissonClient;
+        this.enabled = enabled;
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.senderPoolSize = senderPoolSize;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+
+        Gauge.builder("account.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Balance event SSE subscribers on this node")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("account.events.dropped")
+                .description("Balance events dropped for slow subscribers")
+                .register(meterRegistry);
+        this.stalled = Counter.builder("account.events.stalled")
+                .description("Balance event subscribers closed because a send exceeded the send timeout")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        sender = Executors.newFixedThreadPool(
+                senderPoolSize, new CustomizableThreadFactory("balance-event-sender-"));
+        long checkIntervalNanos = Math.max(sendTimeoutNanos / 2, TimeUnit.MILLISECONDS.toNanos(10));
+        watchdog = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("balance-event-watchdog-"));
+        watchdog.scheduleWithFixedDelay(this::closeStalledSubscribers,
+                checkIntervalNanos, checkIntervalNanos, TimeUnit.NANOSECONDS);
+        listenerId = topic().addListener(BalanceEvent.class, (channel, event) -> dispatch(event));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (listenerId != null) {
+            topic().removeListener(listenerId);
+        }
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+        if (sender != null) {
+            sender.shutdown();
+        }
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    public SseEmitter subscribe(String accountNumber) {
+        // 노드별 최대 구독자 수 초과 - 503 + Retry-After (GlobalExceptionHandler)
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ConcurrencyLimitExceededException();
+        }
+
+        SseEmitter emitter = newEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(accountNumber, emitter);
+        subscribers.computeIfAbsent(accountNumber, key -> ConcurrentHashMap.newKeySet())
+                .add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    // 성공한 거래만 커밋 이후에 발행 (롤백된 잔액 변경은 알리지 않는다)
+    public void publishAfterCommit(Transaction transaction) {
+        if (!enabled) {
+            return;
+        }
+        BalanceEvent event = BalanceEvent.from(transaction);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(event);
+            }
+        });
+    }
+
+    private void publish(BalanceEvent event) {
+        try {
+            topic().publishAsync(event);
+        } catch (RuntimeException e) {
+            // 알림 실패로 거래 응답을 실패시키지 않는다.
+            log.warn("Failed to publish balance event {}.", event.getTransactionId(), e);
+        }
+    }
+
+    void dispatch(BalanceEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.getAccountNumber());
+        if (targets == null) {
+            return;
+        }
+        targets.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void closeStalledSubscribers() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(set -> set.stream()
+                .filter(subscriber -> subscriber.isStalled(now))
+                .forEach(Subscriber::abort));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.accountNumber, (key, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private RTopic topic() {
+        return redissonClient.getTopic(TOPIC);
+    }
+
+    private class Subscriber {
+        private final String accountNumber;
+        private final SseEmitter emitter;
+        private final ArrayDeque<BalanceEvent> buffer = new ArrayDeque<>();
+        // 구독자별로 한 스레드만 전송하도록
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // 전송중인 스레드와 시작 시각 (this 로 동기화)
+        private Thread sendingThread;
+        private long sendStartedAt;
+        private boolean aborted;
+
+        private Subscriber(String accountNumber, SseEmitter emitter) {
+            this.accountNumber = accountNumber;
+            this.emitter = emitter;
+        }
+
+        private void offer(BalanceEvent event) {
+            synchronized (buffer) {
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    dropped.increment();
+                }
+                buffer.addLast(event);
+            }
+            if (sending.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                BalanceEvent event;
+                synchronized (buffer) {
+                    event = buffer.pollFirst();
+                    if (event == null || closed.get()) {
+                        sending.set(false);
+                        return;
+                    }
+                }
+                try {
+                    send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // 연결이 끊긴 구독자
+                    unsubscribe(this);
+                    return;
+                }
+            }
+        }
+
+        private void send(BalanceEvent event) throws IOException {
+            synchronized (this) {
+                sendingThread = Thread.currentThread();
+                sendStartedAt = System.nanoTime();
+            }
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(event.getTransactionId())
+                        .name("balance")
+                        .data(event));
+            } finally {
+                synchronized (this) {
+                    sendingThread = null;
+                }
+                // abort() 의 인터럽트가 다음 구독자의 전송에 남지 않도록
+                Thread.interrupted();
+            }
+        }
+
+        private synchronized boolean isStalled(long now) {
+            return sendingThread != null && !aborted && now - sendStartedAt > sendTimeoutNanos;
+        }
+
+        // 구독을 에러로 끝내고 멈춘 전송을 인터럽트로 깨운다.
+        private void abort() {
+            synchronized (this) {
+                if (sendingThread == null || aborted) {
+                    return;
+                }
+                aborted = true;
+                log.warn("Closing balance event subscriber of {}, a send exceeded {} ms.",
+                        accountNumber, TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                stalled.increment();
+                unsubscribe(this);
+                // 전송이 끝나서 다른 구독자로 넘어간 스레드를 깨우지 않도록 락 안에서
+                sendingThread.interrupt();
+            }
+            emitter.completeWithError(new TimeoutException("Balance event send timed out"));
+        }
+    }
+}
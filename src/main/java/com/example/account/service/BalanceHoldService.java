@@ -0,0 +1,173 @@
+package com.example.account.service;
+
+import com.example.account.domain.BalanceHold;
+import com.example.account.exception.AccountException;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.ErrorCode.*;
+
+/**
+ *  잔액 홀드 저장소 (Redisson RMapCache, 계좌별 map 에 홀드 아이디 -> 홀드)
+ *  1. 홀드 / 해제 / 만료는 Redis 만 변경하고 DB 에는 쓰지 않는다.
+ *  2. 사용 가능 잔액 = 잔액 - 만료되지 않은 홀드 합계
+ *  3. 확정(capture) 할 때만 잔액 사용 거래로 DB 에 반영 (TransactionService.captureHold)
+ *  4. 홀드 기능을 쓰면 같은 계좌의 홀드 / 잔액 사용은 계좌별 락으로 줄을 세운다. (lockUntilCompletion)
+ */
+@Slf4j
+@Service
+public class BalanceHoldService {
+    private static final String HOLD_MAP_PREFIX = "balance-hold:";
+    private static final String HOLD_LOCK_PREFIX = "balance-hold-lock:";
+
+    private final RedissonClient redissonClient;
+    private final LockService lockService;
+    private final boolean enabled;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+
+    public BalanceHoldService(
+            RedissonClient redissonClient,
+            LockService lockService,
+            @Value("${account.hold.enabled:false}") boolean enabled,
+            @Value("${account.hold.ttl-seconds:600}") long ttlSeconds,
+            @Value("${account.hold.max-ttl-seconds:3600}") long maxTtlSeconds) {
+        this.redissonClient = redissonClient;
+        this.lockService = lockService;
+        this.enabled = enabled;
+        this.defaultTtl = Duration.ofSeconds(ttlSeconds);
+        this.maxTtl = Duration.ofSeconds(maxTtlSeconds);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 홀드 기능을 쓰지 않으면 Redis 조회 없이 0
+    public long heldAmount(String accountNumber) {
+        if (!enabled) {
+            return 0L;
+        }
+        return holds(accountNumber).readAllValues().stream()
+                .mapToLong(BalanceHold::getAmount)
+                .sum();
+    }
+
+    /**
+     * 트랜잭션이 끝날 때까지 계좌별 락을 잡는다. (홀드 기능을 쓰지 않으면 잠그지 않음)
+     * 홀드 / 잔액 사용이 같은 락 안에서 잔액을 읽고 반영하므로
+     * 동시에 들어온 홀드와 사용이 같은 잔액을 중복으로 잡지 않는다.
+     * 락은 커밋(또는 롤백) 후에 풀리므로 다음 요청은 반영된 잔액을 읽는다.
+     */
+    public void lockUntilCompletion(String accountNumber) {
+        if (!enabled) {
+            return;
+        }
+        String lockName = HOLD_LOCK_PREFIX + accountNumber;
+        lock(lockName);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lockService.unlock(lockName);
+            }
+        });
+    }
+
+    /**
+     * 사용 가능 잔액을 확인하고 홀드 추가
+     * 호출하는 트랜잭션이 lockUntilCompletion 으로 계좌를 잠그고, 잠근 뒤에 읽은 잔액을 넘겨야 한다.
+     */
+    public BalanceHold hold(Long userId, String accountNumber, Long amount,
+                            Long ttlSeconds, long balance) {
+        Duration ttl = ttlSeconds == null ? defaultTtl : Duration.ofSeconds(ttlSeconds);
+        if (ttl.compareTo(maxTtl) > 0) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+        if (balance - heldAmount(accountNumber) < amount) {
+            throw new AccountException(AMOUNT_EXCEED_BALANCE);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BalanceHold hold = BalanceHold.builder()
+                .holdId(UUID.randomUUID().toString().replace("-", ""))
+                .userId(userId)
+                .accountNumber(accountNumber)
+                .amount(amount)
+                .heldAt(now)
+                .expiresAt(now.plus(ttl))
+                .build();
+        holds(accountNumber).put(hold.getHoldId(), hold, ttl.toMillis(), TimeUnit.MILLISECONDS);
+        return hold;
+    }
+
+    /**
+     * 확정할 홀드를 꺼낸다. 트랜잭션이 롤백되면 남은 TTL 로 되돌려 놓는다.
+     * 이미 확정 / 해제 / 만료된 홀드는 HOLD_NOT_FOUND
+     */
+    public BalanceHold take(String holdId, String accountNumber) {
+        BalanceHold hold = remove(holdId, accountNumber);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(hold);
+                    }
+                }
+            });
+        }
+        return hold;
+    }
+
+    public BalanceHold release(String holdId, String accountNumber) {
+        return remove(holdId, accountNumber);
+    }
+
+    private BalanceHold remove(String holdId, String accountNumber) {
+        if (!enabled) {
+            throw new AccountException(HOLD_NOT_FOUND);
+        }
+        BalanceHold hold = holds(accountNumber).remove(holdId);
+        if (hold == null) {
+            throw new AccountException(HOLD_NOT_FOUND);
+        }
+        return hold;
+    }
+
+    private void restore(BalanceHold hold) {
+        long remainingMillis = Duration.between(LocalDateTime.now(), hold.getExpiresAt()).toMillis();
+        if (remainingMillis <= 0) {
+            return;
+        }
+        holds(hold.getAccountNumber())
+                .put(hold.getHoldId(), hold, remainingMillis, TimeUnit.MILLISECONDS);
+        log.info("Balance hold {} restored after failed capture.", hold.getHoldId());
+    }
+
+    private void lock(String lockName) {
+        boolean locked;
+        try {
+            locked = lockService.tryLock(lockName, 1, 5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            locked = false;
+        }
+        if (!locked) {
+            throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    private RMapCache<String, BalanceHold> holds(String accountNumber) {
+        return redissonClient.getMapCache(HOLD_MAP_PREFIX + accountNumber);
+    }
+}
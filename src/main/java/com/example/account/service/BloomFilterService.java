@@ -0,0 +1,163 @@
+package com.example.account.service;
+
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.shard.ShardTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ *  계좌번호 / 거래 아이디 존재 여부 사전 확인용 블룸필터
+ *  1. 필터에 없는 값은 "확실히 없음" -> DB 조회 없이 NOT_FOUND 처리
+ *  2. 필터에 있는 값은 "있을 수도 있음" -> 기존처럼 DB 조회
+ *  3. 저장시점에 필터에 추가, 다 채운 필터에는 완료 표시 키를 남긴다.
+ *  4. 완료 표시가 없으면 락을 잡은 노드 하나가 DB 에서 다시 채우고, 나머지 노드는 완료 표시를 기다린다.
+ *     (채우던 노드가 죽으면 락이 풀리므로 다른 노드가 이어서 채운다.)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BloomFilterService {
+    private static final String ACCOUNT_NUMBER_FILTER = "bloom:accountNumber";
+    private static final String TRANSACTION_ID_FILTER = "bloom:transactionId";
+    private static final String COMPLETE_SUFFIX = ":complete";
+    private static final String REBUILD_LOCK_SUFFIX = ":rebuild-lock";
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+    private static final long POLL_INTERVAL_MS = 1000;
+
+    private final RedissonClient redissonClient;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ShardTemplate shardTemplate;
+
+    @Value("${account.bloom-filter.expected-insertions:10000000}")
+    private long expectedInsertions;
+
+    @Value("${account.bloom-filter.false-probability:0.001}")
+    private double falseProbability;
+
+    // 필터가 다 채워지기 전에는 "없음" 판정을 내리지 않는다.
+    private volatile boolean accountNumberReady = false;
+    private volatile boolean transactionIdReady = false;
+
+    /**
+     * 필터는 요청을 받기 전에 만들어 두어야 재구성 중에 저장되는 값도 누락되지 않는다.
+     * 새로 만든 필터는 비어 있으므로 남아 있던 완료 표시를 지운다.
+     */
+    @PostConstruct
+    public void createFilters() {
+        if (accountNumberFilter().tryInit(expectedInsertions, falseProbability)) {
+            completeMarker(ACCOUNT_NUMBER_FILTER).delete();
+        }
+        if (transactionIdFilter().tryInit(expectedInsertions, falseProbability)) {
+            completeMarker(TRANSACTION_ID_FILTER).delete();
+        }
+    }
+
+    // 다른 노드가 채우는 중이면 기다려야 하므로 기동을 막지 않도록 별도 스레드에서 확인
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildFilters() {
+        Thread thread = new Thread(() -> {
+            try {
+                ensureComplete(ACCOUNT_NUMBER_FILTER, accountRepository::findAccountNumbers);
+                accountNumberReady = true;
+                ensureComplete(TRANSACTION_ID_FILTER, transactionRepository::findTransactionIds);
+                transactionIdReady = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // 준비되지 않은 필터는 "없음" 판정을 하지 않으므로 DB 조회로 동작한다.
+                log.error("Failed to rebuild bloom filters.", e);
+            }
+        }, "bloom-filter-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 완료 표시가 생길 때까지 - 락을 잡으면 직접 채우고, 못 잡으면 다른 노드가 채우는 중이므로 기다린다.
+     */
+    void ensureComplete(String filterName, Function<Pageable, Slice<String>> loader)
+            throws InterruptedException {
+        RBucket<String> marker = completeMarker(filterName);
+        RLock lock = redissonClient.getLock(filterName + REBUILD_LOCK_SUFFIX);
+        while (!marker.isExists()) {
+            if (lock.tryLock()) {
+                try {
+                    if (!marker.isExists()) {
+                        rebuild(redissonClient.getBloomFilter(filterName), loader);
+                        marker.set(LocalDateTime.now().toString());
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            } else {
+                TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MS);
+            }
+        }
+    }
+
+    // 샤드마다 차례로 읽어서 채운다.
+    private void rebuild(RBloomFilter<String> filter,
+                         Function<Pageable, Slice<String>> loader) {
+        AtomicLong count = new AtomicLong();
+        shardTemplate.forEachShard(shard -> {
+            Slice<String> slice = loader.apply(PageRequest.of(0, REBUILD_PAGE_SIZE));
+            while (true) {
+                slice.forEach(filter::add);
+                count.addAndGet(slice.getNumberOfElements());
+                if (!slice.hasNext()) {
+                    break;
+                }
+                slice = loader.apply(slice.nextPageable());
+            }
+        });
+        log.info("Bloom filter {} rebuilt with {} entries.", filter.getName(), count.get());
+    }
+
+    public boolean isUnknownAccountNumber(String accountNumber) {
+        return accountNumberReady && !accountNumberFilter().contains(accountNumber);
+    }
+
+    public boolean isUnknownTransactionId(String transactionId) {
+        return transactionIdReady && !transactionIdFilter().contains(transactionId);
+    }
+
+    public void addAccountNumber(String accountNumber) {
+        accountNumberFilter().add(accountNumber);
+    }
+
+    public void addTransactionId(String transactionId) {
+        transactionIdFilter().add(transactionId);
+    }
+
+    private RBloomFilter<String> accountNumberFilter() {
+        return redissonClient.getBloomFilter(ACCOUNT_NUMBER_FILTER);
+    }
+
+    private RBloomFilter<String> transactionIdFilter() {
+        return redissonClient.getBloomFilter(TRANSACTION_ID_FILTER);
+    }
+
+    private RBucket<String> completeMarker(String filterName) {
+        return redissonClient.getBucket(filterName + COMPLETE_SUFFIX, StringCodec.INSTANCE);
+    }
+}
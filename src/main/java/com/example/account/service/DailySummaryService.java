@@ -0,0 +1,157 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountDailySummary;
+import com.example.account.domain.TransactionOutbox;
+import com.example.account.dto.DailySummary;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountDailySummaryRepository;
+import com.example.account.repository.AccountRepository;
+import com.example.account.shard.ShardContext;
+import com.example.account.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.example.account.dto.TransactionType.USE;
+import static com.example.account.type.ErrorCode.ACCOUNT_NOT_FOUND;
+import static com.example.account.type.ErrorCode.INVALID_REQUEST;
+import static com.example.account.type.TransactionResultType.S;
+
+/**
+ *  계좌별 일별 사용 / 취소 합계
+ *  1. 거래 트랜잭션에서는 쓰지 않고, outbox relay 가 발행한 거래 묶음을 outbox 삭제와 같은 트랜잭션에서 누적 (apply)
+ *     - 샤드마다 relay 하나만 쓰므로 (계좌, 날짜) 행이 다시 몰리는 행(hot row) 이 되지 않고 행 생성도 경합하지 않는다.
+ *     - 거래 트랜잭션이 커넥션을 하나 더 빌리지 않는다. (행 생성용 별도 트랜잭션 없음)
+ *     - 누적과 outbox 삭제가 한번에 커밋되므로 다시 발행되더라도 두번 누적되지 않는다.
+ *  2. 대신 합계는 relay 지연(보통 수 ms, Redis 장애 중에는 복구될 때까지) 만큼 늦게 반영된다. (account.outbox.enabled 필요)
+ *  3. 기간 조회는 일별 행만 읽어서 합산
+ */
+@Slf4j
+@Service
+public class DailySummaryService {
+    private final AccountDailySummaryRepository accountDailySummaryRepository;
+    private final AccountRepository accountRepository;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final long maxDays;
+
+    public DailySummaryService(
+            AccountDailySummaryRepository accountDailySummaryRepository,
+            AccountRepository accountRepository,
+            ShardRouter shardRouter,
+            @Value("${account.daily-summary.enabled:false}") boolean enabled,
+            @Value("${account.outbox.enabled:false}") boolean outboxEnabled,
+            @Value("${account.daily-summary.max-days:366}") long maxDays) {
+        if (enabled && !outboxEnabled) {
+            throw new IllegalStateException("account.daily-summary.enabled requires account.outbox.enabled");
+        }
+        this.accountDailySummaryRepository = accountDailySummaryRepository;
+        this.accountRepository = accountRepository;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.maxDays = maxDays;
+    }
+
+    /**
+     * outbox relay 의 샤드 트랜잭션 안에서 호출 (발행 순서 = outbox 아이디 순서)
+     * 성공한 거래만 계좌 / 날짜별로 묶어서 한번씩 누적하고, 그날 행이 없으면 누적값으로 만든다.
+     */
+    public void apply(List<TransactionOutbox> events) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Map<LocalDate, Delta>> deltas = new LinkedHashMap<>();
+        for (TransactionOutbox event : events) {
+            if (event.getTransactionResultType() != S) {
+                continue;
+            }
+            deltas.computeIfAbsent(event.getAccountNumber(), accountNumber -> new LinkedHashMap<>())
+                    .computeIfAbsent(event.getTransactedAt().toLocalDate(), day -> new Delta())
+                    .add(event);
+        }
+        deltas.forEach((accountNumber, days) -> {
+            Optional<Account> account = accountRepository.findByAccountNumber(accountNumber);
+            if (account.isEmpty()) {
+                log.warn("Daily summary skipped for unknown account {}.", accountNumber);
+                return;
+            }
+            days.forEach((day, delta) -> accumulate(account.get(), day, delta));
+        });
+    }
+
+    // relay 하나만 쓰므로 update 후 없으면 insert 해도 경합하지 않는다.
+    private void accumulate(Account account, LocalDate day, Delta delta) {
+        int updated = accountDailySummaryRepository.accumulate(account, day,
+                delta.debitAmount, delta.debitCount,
+                delta.creditAmount, delta.creditCount,
+                delta.closingBalance);
+        if (updated > 0) {
+            return;
+        }
+        accountDailySummaryRepository.save(AccountDailySummary.builder()
+                .account(account)
+                .summaryDate(day)
+                .debitAmount(delta.debitAmount)
+                .debitCount(delta.debitCount)
+                .creditAmount(delta.creditAmount)
+                .creditCount(delta.creditCount)
+                .closingBalance(delta.closingBalance)
+                .build());
+    }
+
+    @Transactional(readOnly = true)
+    public DailySummary getDailySummary(String accountNumber, LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+        ShardContext.bind(shardRouter.shardOf(accountNumber));
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+
+        List<DailySummary.Day> days = accountDailySummaryRepository
+                .findByAccountAndSummaryDateBetweenOrderBySummaryDate(account, from, to)
+                .stream()
+                .map(DailySummary.Day::from)
+                .collect(Collectors.toList());
+
+        return DailySummary.builder()
+                .accountNumber(accountNumber)
+                .from(from)
+                .to(to)
+                .debitAmount(days.stream().mapToLong(DailySummary.Day::getDebitAmount).sum())
+                .debitCount(days.stream().mapToLong(DailySummary.Day::getDebitCount).sum())
+                .creditAmount(days.stream().mapToLong(DailySummary.Day::getCreditAmount).sum())
+                .creditCount(days.stream().mapToLong(DailySummary.Day::getCreditCount).sum())
+                .days(days)
+                .build();
+    }
+
+    private static class Delta {
+        private long debitAmount;
+        private long debitCount;
+        private long creditAmount;
+        private long creditCount;
+        private long closingBalance;
+
+        private void add(TransactionOutbox event) {
+            if (event.getTransactionType() == USE) {
+                debitAmount += event.getAmount();
+                debitCount++;
+            } else {
+                creditAmount += event.getAmount();
+                creditCount++;
+            }
+            closingBalance = event.getBalanceSnapShot();
+        }
+    }
+}
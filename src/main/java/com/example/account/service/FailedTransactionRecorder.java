@@ -0,0 +1,346 @@
+package com.example.account.service;
+
+import com.example.account.domain.FailedTransactionCount;
+import com.example.account.dto.FailedTransactionReport;
+import com.example.account.dto.TransactionType;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.FailedTransactionCountRepository;
+import com.example.account.shard.ShardContext;
+import com.example.account.shard.ShardRouter;
+import com.example.account.shard.ShardTemplate;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import static com.example.account.dto.TransactionType.CANCEL;
+import static com.example.account.dto.TransactionType.USE;
+import static com.example.account.type.ErrorCode.ACCOUNT_NOT_FOUND;
+import static com.example.account.type.ErrorCode.INVALID_REQUEST;
+
+/**
+ *  실패 거래 기록 정책
+ *  1. (계좌번호, 에러코드, 거래 종류, 분) 마다 sample-per-minute 건까지만 실패 거래 행을 저장
+ *  2. 나머지는 메모리에서 건수만 세고, flush 스레드가 분당 집계 행에 update 한번으로 누적
+ *  3. 집계 조회는 샘플링과 관계없이 전체 실패 건수를 돌려준다.
+ *  비활성화된 경우 기존처럼 실패할 때마다 실패 거래 행을 저장한다.
+ *  샘플 예산은 서버별로 적용되므로 서버 수만큼 곱해진다.
+ *  없는 계좌(ACCOUNT_NOT_FOUND / 블룸필터에 없는 계좌번호) 는 계좌번호 대신 UNKNOWN 하나로 묶어서 세고,
+ *  분당 집계 키 수가 max-keys-per-minute 를 넘으면 나머지는 OTHER 로 묶는다. (둘 다 행은 저장하지 않음)
+ */
+@Slf4j
+@Service
+public class FailedTransactionRecorder {
+    // 종료 시 마지막 flush 를 기다리는 최대 시간
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+    // 계좌번호 대신 쓰는 집계 키 (계좌번호는 숫자뿐이므로 겹치지 않는다.)
+    static final String UNKNOWN_ACCOUNT = "UNKNOWN";
+    static final String OTHER_ACCOUNTS = "OTHER";
+
+    private final TransactionService transactionService;
+    private final BloomFilterService bloomFilterService;
+    private final FailedTransactionCountRepository failedTransactionCountRepository;
+    private final ShardRouter shardRouter;
+    private final ShardTemplate shardTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final boolean enabled;
+    private final long samplePerMinute;
+    private final int maxKeysPerMinute;
+    private final long flushIntervalNanos;
+
+    // flush 전까지 쌓인 건수 (compute / merge 안에서만 변경하므로 remove 한 뒤에는 더 바뀌지 않는다.)
+    private final ConcurrentHashMap<Key, Delta> pending = new ConcurrentHashMap<>();
+    // 분마다 저장한 실패 거래 행 수 (지난 분은 flush 때 정리)
+    private final ConcurrentHashMap<Key, AtomicLong> sampled = new ConcurrentHashMap<>();
+
+    private final Counter sampledOut;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Thread flushThread;
+
+    public FailedTransactionRecorder(
+            TransactionService transactionService,
+            BloomFilterService bloomFilterService,
+            FailedTransactionCountRepository failedTransactionCountRepository,
+            ShardRouter shardRouter,
+            ShardTemplate shardTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${account.failure-recording.enabled:false}") boolean enabled,
+            @Value("${account.failure-recording.sample-per-minute:10}") long samplePerMinute,
+            @Value("${account.failure-recording.max-keys-per-minute:10000}") int maxKeysPerMinute,
+            @Value("${account.failure-recording.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.transactionService = transactionService;
+        this.bloomFilterService = bloomFilterService;
+        this.failedTransactionCountRepository = failedTransactionCountRepository;
+        this.shardRouter = shardRouter;
+        this.shardTemplate = shardTemplate;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.samplePerMinute = samplePerMinute;
+        this.maxKeysPerMinute = maxKeysPerMinute;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+
+        this.sampledOut = Counter.builder("transaction.failure.sampled_out")
+                .description("Failed transactions counted without a detailed row")
+                .register(meterRegistry);
+    }
+
+    public void recordFailedUse(String accountNumber, Long amount, ErrorCode errorCode) {
+        if (shouldSaveRow(USE, accountNumber, errorCode)) {
+            transactionService.saveFailedUseBalance(accountNumber, amount);
+        }
+    }
+
+    public void recordFailedCancel(String accountNumber, Long amount, ErrorCode errorCode) {
+        if (shouldSaveRow(CANCEL, accountNumber, errorCode)) {
+            transactionService.saveFailedCancelBalance(accountNumber, amount);
+        }
+    }
+
+    // 건수는 항상 세고, 이번 분의 샘플 예산이 남아 있을 때만 행을 저장
+    private boolean shouldSaveRow(TransactionType transactionType, String accountNumber, ErrorCode errorCode) {
+        if (!enabled) {
+            return true;
+        }
+        LocalDateTime windowStart = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        Key key = new Key(aggregateAccountNumber(accountNumber, errorCode), errorCode, transactionType, windowStart);
+        // 지어낸 계좌번호가 많아도 집계 키(= 집계 행) 수는 제한
+        if (!sampled.containsKey(key) && sampled.size() >= maxKeysPerMinute) {
+            key = new Key(OTHER_ACCOUNTS, errorCode, transactionType, windowStart);
+        }
+        AtomicLong sampledRows = sampled.computeIfAbsent(key, k -> new AtomicLong());
+        boolean save = isAccountKey(key) && sampledRows.incrementAndGet() <= samplePerMinute;
+        pending.compute(key, (k, delta) -> {
+            if (delta == null) {
+                delta = new Delta();
+            }
+            delta.failureCount++;
+            if (save) {
+                delta.sampledCount++;
+            }
+            return delta;
+        });
+        if (!save) {
+            sampledOut.increment();
+        }
+        return save;
+    }
+
+    // 없는 계좌는 계좌번호별로 나누지 않는다. (실패 거래 행도 저장할 수 없다.)
+    private String aggregateAccountNumber(String accountNumber, ErrorCode errorCode) {
+        if (accountNumber == null || errorCode == ACCOUNT_NOT_FOUND
+                || bloomFilterService.isUnknownAccountNumber(accountNumber)) {
+            return UNKNOWN_ACCOUNT;
+        }
+        return accountNumber;
+    }
+
+    private static boolean isAccountKey(Key key) {
+        return !UNKNOWN_ACCOUNT.equals(key.accountNumber) && !OTHER_ACCOUNTS.equals(key.accountNumber);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startFlush() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(this::flushLoop, "failed-transaction-flush");
+        thread.setDaemon(true);
+        flushThread = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stopFlush() {
+        running.set(false);
+        Thread thread = flushThread;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        // 마지막 flush 가 끝나기 전에 DB 커넥션 풀이 닫히지 않도록 기다린다.
+        try {
+            thread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Failed transaction counts were not flushed within {}ms.", SHUTDOWN_TIMEOUT_MS);
+        }
+    }
+
+    // 종료 요청 후에도 한번 더 돌아서 남은 건수를 저장
+    private void flushLoop() {
+        boolean last;
+        do {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            last = !running.get();
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Failed to flush failed transaction counts.", e);
+            }
+        } while (!last);
+    }
+
+    /**
+     * 쌓인 건수를 샤드별로 한 트랜잭션에서 누적하고, 처음 보는 분은 행을 만든다.
+     * 저장에 실패한 건수는 pending 에 다시 합쳐서 다음 flush 때 재시도한다.
+     */
+    void flush() {
+        LocalDateTime currentMinute = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        sampled.keySet().removeIf(key -> key.windowStart.isBefore(currentMinute));
+
+        Map<Integer, Map<Key, Delta>> byShard = new LinkedHashMap<>();
+        for (Key key : new ArrayList<>(pending.keySet())) {
+            Delta delta = pending.remove(key);
+            if (delta != null) {
+                byShard.computeIfAbsent(shardRouter.shardOf(key.accountNumber), shard -> new LinkedHashMap<>())
+                        .put(key, delta);
+            }
+        }
+        byShard.forEach(this::flushShard);
+    }
+
+    private void flushShard(int shard, Map<Key, Delta> deltas) {
+        List<Key> missing;
+        try {
+            missing = writeTemplate.execute(status -> {
+                ShardContext.bind(shard);
+                List<Key> keys = new ArrayList<>();
+                deltas.forEach((key, delta) -> {
+                    if (accumulate(key, delta) == 0) {
+                        keys.add(key);
+                    }
+                });
+                return keys;
+            });
+        } catch (RuntimeException e) {
+            // 전체가 롤백되었으므로 모두 되돌린다.
+            log.error("Failed to flush failed transaction counts. shard: {}", shard, e);
+            deltas.forEach(this::requeue);
+            return;
+        }
+        for (Key key : missing) {
+            Delta delta = deltas.get(key);
+            try {
+                insert(shard, key, delta);
+            } catch (RuntimeException e) {
+                log.error("Failed to flush failed transaction counts. shard: {}", shard, e);
+                requeue(key, delta);
+            }
+        }
+    }
+
+    private void insert(int shard, Key key, Delta delta) {
+        try {
+            writeTemplate.executeWithoutResult(status -> {
+                ShardContext.bind(shard);
+                failedTransactionCountRepository.saveAndFlush(FailedTransactionCount.builder()
+                        .accountNumber(key.accountNumber)
+                        .errorCode(key.errorCode)
+                        .transactionType(key.transactionType)
+                        .windowStart(key.windowStart)
+                        .failureCount(delta.failureCount)
+                        .sampledCount(delta.sampledCount)
+                        .build());
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버가 먼저 만든 경우
+            writeTemplate.executeWithoutResult(status -> {
+                ShardContext.bind(shard);
+                accumulate(key, delta);
+            });
+        }
+    }
+
+    // 그 사이 새로 쌓인 건수가 있으면 합친다.
+    private void requeue(Key key, Delta delta) {
+        pending.merge(key, delta, (current, failed) -> {
+            current.failureCount += failed.failureCount;
+            current.sampledCount += failed.sampledCount;
+            return current;
+        });
+    }
+
+    private int accumulate(Key key, Delta delta) {
+        return failedTransactionCountRepository.accumulate(
+                key.accountNumber, key.errorCode, key.transactionType, key.windowStart,
+                delta.failureCount, delta.sampledCount);
+    }
+
+    public FailedTransactionReport getReport(String accountNumber, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+        List<FailedTransactionCountRepository.Total> rows;
+        if (accountNumber == null) {
+            rows = shardTemplate.readAllShards(shard ->
+                    failedTransactionCountRepository.sumByErrorCode(from, to));
+        } else {
+            // 계좌번호가 있으면 해당 샤드만
+            rows = shardTemplate.readAllShards(shard ->
+                    shard == shardRouter.shardOf(accountNumber)
+                            ? failedTransactionCountRepository.sumByErrorCode(accountNumber, from, to)
+                            : List.of());
+        }
+
+        // 샤드별 합계를 다시 합친다.
+        Map<String, FailedTransactionReport.Total> totals = new LinkedHashMap<>();
+        for (FailedTransactionCountRepository.Total row : rows) {
+            FailedTransactionReport.Total total = totals.computeIfAbsent(
+                    row.getErrorCode() + ":" + row.getTransactionType(),
+                    k -> FailedTransactionReport.Total.builder()
+                            .errorCode(row.getErrorCode())
+                            .transactionType(row.getTransactionType())
+                            .build());
+            total.setFailureCount(total.getFailureCount() + row.getFailureCount());
+            total.setSampledCount(total.getSampledCount() + row.getSampledCount());
+        }
+        return FailedTransactionReport.builder()
+                .accountNumber(accountNumber)
+                .from(from)
+                .to(to)
+                .totals(totals.values().stream()
+                        .sorted((a, b) -> Long.compare(b.getFailureCount(), a.getFailureCount()))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final String accountNumber;
+        private final ErrorCode errorCode;
+        private final TransactionType transactionType;
+        private final LocalDateTime windowStart;
+    }
+
+    private static class Delta {
+        private long failureCount;
+        private long sampledCount;
+    }
+}
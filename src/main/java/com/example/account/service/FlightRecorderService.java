@@ -0,0 +1,140 @@
+package com.example.account.service;
+
+import com.example.account.dto.FlightRecordingInfo;
+import com.example.account.exception.AccountException;
+import com.example.account.jfr.BalanceOperationEvent;
+import com.example.account.jfr.BalancePhaseEvent;
+import com.example.account.jfr.LockAcquisitionEvent;
+import com.example.account.jfr.TransactionInsertEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+import static com.example.account.type.ErrorCode.RECORDING_ALREADY_RUNNING;
+import static com.example.account.type.ErrorCode.RECORDING_NOT_FOUND;
+
+/**
+ *  JFR 기록 시작 / 중지
+ *  한번에 하나의 기록만 허용하고, 크기 / 보관시간 / 기록시간은 설정된 상한을 넘을 수 없다.
+ */
+@Slf4j
+@Service
+public class FlightRecorderService {
+    @Value("${account.jfr.settings:profile}")
+    private String settings;
+
+    @Value("${account.jfr.max-size-mb:100}")
+    private long maxSizeMbLimit;
+
+    @Value("${account.jfr.max-duration-seconds:600}")
+    private long maxDurationSecondsLimit;
+
+    private Recording recording;
+    private Path lastDump;
+
+    public synchronized FlightRecordingInfo start(long durationSeconds, long maxSizeMb) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new AccountException(RECORDING_ALREADY_RUNNING);
+        }
+        closeRecording();
+
+        Recording newRecording;
+        try {
+            newRecording = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Failed to load JFR settings: " + settings, e);
+        }
+        newRecording.setName("account");
+        newRecording.enable(BalanceOperationEvent.class);
+        newRecording.enable(BalancePhaseEvent.class);
+        newRecording.enable(TransactionInsertEvent.class);
+        newRecording.enable(LockAcquisitionEvent.class);
+        newRecording.setToDisk(true);
+        newRecording.setMaxSize(Math.min(maxSizeMb, maxSizeMbLimit) * 1024 * 1024);
+        newRecording.setDuration(Duration.ofSeconds(
+                Math.min(durationSeconds, maxDurationSecondsLimit)));
+        newRecording.start();
+
+        recording = newRecording;
+        log.info("JFR recording {} started.", recording.getId());
+        return toInfo(recording);
+    }
+
+    public synchronized FlightRecordingInfo status() {
+        if (recording == null) {
+            throw new AccountException(RECORDING_NOT_FOUND);
+        }
+        return toInfo(recording);
+    }
+
+    /**
+     * 기록을 중지하고 .jfr 파일로 내려받을 경로를 돌려준다.
+     * 기록시간이 지나 이미 중지된 기록도 내려받을 수 있다.
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            throw new AccountException(RECORDING_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+
+        try {
+            deleteLastDump();
+            lastDump = Files.createTempFile("account-", ".jfr");
+            recording.dump(lastDump);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeRecording();
+        }
+        log.info("JFR recording dumped to {}.", lastDump);
+        return lastDump;
+    }
+
+    @PreDestroy
+    public synchronized void destroy() {
+        closeRecording();
+        deleteLastDump();
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private void deleteLastDump() {
+        if (lastDump != null) {
+            try {
+                Files.deleteIfExists(lastDump);
+            } catch (IOException e) {
+                log.warn("Failed to delete {}.", lastDump);
+            }
+            lastDump = null;
+        }
+    }
+
+    private FlightRecordingInfo toInfo(Recording recording) {
+        return FlightRecordingInfo.builder()
+                .id(recording.getId())
+                .state(recording.getState().name())
+                .startTime(recording.getStartTime())
+                .maxSizeBytes(recording.getMaxSize())
+                .durationSeconds(recording.getDuration() == null
+                        ? 0 : recording.getDuration().getSeconds())
+                .build();
+    }
+}
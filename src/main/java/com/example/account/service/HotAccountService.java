@@ -0,0 +1,172 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountBalanceSlot;
+import com.example.account.dto.AccountDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountBalanceSlotRepository;
+import com.example.account.repository.AccountRepository;
+import com.example.account.shard.ShardContext;
+import com.example.account.shard.ShardRouter;
+import com.example.account.type.AccountStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.example.account.type.ErrorCode.*;
+
+/**
+ *  거래가 몰리는 계좌의 잔액 분할
+ *  1. 계좌 잔액을 K 개의 슬롯에 나눠 담고, 사용 / 취소는 임의의 슬롯 하나만 갱신한다.
+ *     -> 같은 계좌에 대한 동시 요청이 한 행(row) 에서 줄서지 않는다.
+ *  2. 고른 슬롯의 잔액이 부족하면 모든 슬롯을 잠그고 다른 슬롯에서 빌려온다.
+ *  3. 계좌 잔액 = account.balance + 슬롯 잔액의 합 (조회 / 거래 후 잔액은 항상 합계)
+ *  4. 홀드가 있는 계좌는 모든 슬롯을 잠그고 합계 - 홀드 합계로 사용 가능 여부를 확인한다.
+ *  사용 / 취소는 TransactionService 의 트랜잭션 안에서 호출된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotAccountService {
+    public static final int MIN_SLOT_COUNT = 2;
+    public static final int MAX_SLOT_COUNT = 64;
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSlotRepository accountBalanceSlotRepository;
+    private final ShardRouter shardRouter;
+
+    /**
+     * 잔액 분할 - 계좌를 잠그고 현재 잔액을 슬롯에 고르게 나눈다.
+     */
+    @Transactional
+    public AccountDto splitBalance(String accountNumber, int slotCount) {
+        if (slotCount < MIN_SLOT_COUNT || slotCount > MAX_SLOT_COUNT) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+        ShardContext.bind(shardRouter.shardOf(accountNumber));
+
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+        if (account.getAccountStatus() != AccountStatus.IN_USE) {
+            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if (account.isBalanceSplit()) {
+            throw new AccountException(ACCOUNT_BALANCE_ALREADY_SPLIT);
+        }
+
+        long balance = account.getBalance();
+        for (int slotIndex = 0; slotIndex < slotCount; slotIndex++) {
+            // 나머지는 앞쪽 슬롯부터 1씩 더 담는다.
+            long slotBalance = balance / slotCount + (slotIndex < balance % slotCount ? 1 : 0);
+            accountBalanceSlotRepository.save(AccountBalanceSlot.builder()
+                    .account(account)
+                    .slotIndex(slotIndex)
+                    .balance(slotBalance)
+                    .build());
+        }
+        account.setBalance(0L);
+        account.setBalanceSlotCount(slotCount);
+        log.info("Account {} balance split into {} slots.", accountNumber, slotCount);
+
+        return toDto(account, balance);
+    }
+
+    /**
+     * 잔액 합치기 - 모든 슬롯을 잠그고 합계를 계좌 잔액으로 되돌린다.
+     */
+    @Transactional
+    public AccountDto mergeBalance(String accountNumber) {
+        ShardContext.bind(shardRouter.shardOf(accountNumber));
+
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+        if (!account.isBalanceSplit()) {
+            throw new AccountException(ACCOUNT_BALANCE_NOT_SPLIT);
+        }
+
+        List<AccountBalanceSlot> slots =
+                accountBalanceSlotRepository.findByAccountOrderBySlotIndex(account);
+        long balance = account.getBalance()
+                + slots.stream().mapToLong(AccountBalanceSlot::getBalance).sum();
+        accountBalanceSlotRepository.deleteAll(slots);
+
+        account.setBalance(balance);
+        account.setBalanceSlotCount(null);
+        log.info("Account {} balance merged from {} slots.", accountNumber, slots.size());
+
+        return toDto(account, balance);
+    }
+
+    public long getBalance(Account account) {
+        if (!account.isBalanceSplit()) {
+            return account.getBalance();
+        }
+        return account.getBalance() + accountBalanceSlotRepository.sumBalance(account);
+    }
+
+    /**
+     * 홀드가 있으면 슬롯 하나만 보고는 사용 가능 잔액(합계 - 홀드)을 알 수 없으므로
+     * 모든 슬롯을 잠그고 합계로 확인한다.
+     * @return 사용 후 계좌 잔액
+     */
+    public long useBalance(Account account, long amount, long heldAmount) {
+        if (heldAmount > 0) {
+            borrow(account, amount, heldAmount);
+            return getBalance(account);
+        }
+        int slotIndex = ThreadLocalRandom.current().nextInt(account.getBalanceSlotCount());
+
+        if (accountBalanceSlotRepository.withdraw(account, slotIndex, amount) == 0) {
+            borrow(account, amount, 0L);
+        }
+        return getBalance(account);
+    }
+
+    /**
+     * @return 취소 후 계좌 잔액
+     */
+    public long cancelBalance(Account account, long amount) {
+        if (amount < 0) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+        int slotIndex = ThreadLocalRandom.current().nextInt(account.getBalanceSlotCount());
+
+        if (accountBalanceSlotRepository.deposit(account, slotIndex, amount) == 0) {
+            // 슬롯이 없어진 경우 (동시에 잔액 합치기가 진행된 경우)
+            throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+        }
+        return getBalance(account);
+    }
+
+    // 한 슬롯으로 부족하거나 홀드가 있는 경우 - 모든 슬롯을 잠그고 앞 슬롯부터 차감
+    private void borrow(Account account, long amount, long heldAmount) {
+        List<AccountBalanceSlot> slots =
+                accountBalanceSlotRepository.findByAccountOrderBySlotIndex(account);
+        if (slots.isEmpty()) {
+            throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+        }
+        if (slots.stream().mapToLong(AccountBalanceSlot::getBalance).sum() - heldAmount < amount) {
+            throw new AccountException(AMOUNT_EXCEED_BALANCE);
+        }
+
+        long remaining = amount;
+        for (AccountBalanceSlot slot : slots) {
+            long taken = Math.min(slot.getBalance(), remaining);
+            slot.setBalance(slot.getBalance() - taken);
+            remaining -= taken;
+            if (remaining == 0) {
+                break;
+            }
+        }
+    }
+
+    private static AccountDto toDto(Account account, long balance) {
+        AccountDto accountDto = AccountDto.fromEntity(account);
+        accountDto.setBalance(balance);
+        return accountDto;
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.account.service;
+
+import com.example.account.dto.ReconciliationReport;
+import com.example.account.dto.TransactionType;
+import com.example.account.exception.AccountException;
+import com.example.account.shard.ShardContext;
+import com.example.account.shard.ShardRouter;
+import com.example.account.type.TransactionResultType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.account.type.ErrorCode.RECONCILIATION_ALREADY_RUNNING;
+import static com.example.account.type.ErrorCode.RECONCILIATION_NOT_FOUND;
+
+/**
+ *  잔액 대사 (계좌 잔액과 거래 내역 비교)
+ *  1. 샤드마다 계좌 아이디 범위를 range-size 단위로 나눠 ForkJoinPool 에서 병렬로 처리
+ *     (작업마다 replica 커넥션을 하나씩 잡으므로 병렬도는 replica 풀의 max-pool-share 이하로 제한)
+ *  2. 범위마다 읽기 전용 트랜잭션 + StatelessSession 커서(forward only) 로 계좌 / 성공 거래를
+ *     계좌 아이디, 거래 아이디 순서로 한번만 읽는다. (영속성 컨텍스트에 쌓이지 않음)
+ *  3. 거래 스냅샷은 직전 스냅샷 -/+ 거래 금액이어야 하고, 마지막 스냅샷은 현재 잔액과 같아야 한다.
+ *  대사 중에 변경된 계좌는 불일치로 보일 수 있으므로, 불일치 계좌는 끝나고 한번 더 확인해서 남은 것만 보고한다.
+ */
+@Slf4j
+@Service
+public class LedgerReconciliationService {
+    // 계좌별로 성공한 거래를 순서대로 (거래가 없는 계좌도 잔액 확인 대상에 포함)
+    private static final String LEDGER_QUERY =
+            "select a.id, a.accountNumber, a.balance, a.balanceSlotCount, " +
+            "t.transactionId, t.transactionType, t.amount, t.balanceSnapShot " +
+            "from Account a left join Transaction t " +
+            "on t.account = a and t.transactionResultType = :success " +
+            "where a.id between :fromId and :toId " +
+            "order by a.id, t.id";
+    private static final String ID_RANGE_QUERY = "select min(a.id), max(a.id) from Account a";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate readTemplate;
+    private final int parallelism;
+    private final long rangeSize;
+    private final int fetchSize;
+    private final int maxReported;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("ledger-reconciliation-"));
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong lastDiscrepancyCount = new AtomicLong();
+    private final AtomicLong progress = new AtomicLong();
+    private volatile ReconciliationReport lastReport;
+
+    public LedgerReconciliationService(
+            EntityManagerFactory entityManagerFactory,
+            ShardRouter shardRouter,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${account.reconciliation.parallelism:0}") int parallelism,
+            @Value("${account.reconciliation.max-pool-share:0.5}") double maxPoolShare,
+            @Value("${account.datasource.replica.maximum-pool-size:10}") int replicaPoolSize,
+            @Value("${account.reconciliation.range-size:10000}") long rangeSize,
+            @Value("${account.reconciliation.fetch-size:1000}") int fetchSize,
+            @Value("${account.reconciliation.max-reported:1000}") int maxReported) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.shardRouter = shardRouter;
+        // 샤드별 커넥션을 쓰도록 항상 새 트랜잭션 (읽기 전용 - replica 에서 읽는다)
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate.setReadOnly(true);
+        // 0 이면 코어 수, 대사가 API 의 읽기 커넥션을 다 가져가지 않도록 replica 풀의 일부까지만
+        int maxParallelism = Math.max(1, (int) (replicaPoolSize * maxPoolShare));
+        this.parallelism = Math.min(maxParallelism,
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.rangeSize = rangeSize;
+        this.fetchSize = fetchSize;
+        this.maxReported = maxReported;
+
+        Gauge.builder("ledger.reconciliation.discrepancies", lastDiscrepancyCount, AtomicLong::get)
+                .description("Discrepancies found by the last ledger reconciliation")
+                .register(meterRegistry);
+    }
+
+    public synchronized ReconciliationReport start() {
+        if (!running.compareAndSet(false, true)) {
+            throw new AccountException(RECONCILIATION_ALREADY_RUNNING);
+        }
+        progress.set(0);
+        LocalDateTime startedAt = LocalDateTime.now();
+        lastReport = ReconciliationReport.builder()
+                .status(ReconciliationReport.Status.RUNNING)
+                .startedAt(startedAt)
+                .discrepancies(List.of())
+                .build();
+        runner.execute(() -> {
+            try {
+                lastReport = reconcile(startedAt);
+                lastDiscrepancyCount.set(lastReport.getDiscrepancyCount());
+                log.info("Ledger reconciliation finished: {} accounts, {} transactions, {} discrepancies.",
+                        lastReport.getAccountsChecked(), lastReport.getTransactionsChecked(),
+                        lastReport.getDiscrepancyCount());
+            } catch (RuntimeException e) {
+                log.error("Ledger reconciliation failed.", e);
+                lastReport = ReconciliationReport.builder()
+                        .status(ReconciliationReport.Status.FAILED)
+                        .startedAt(startedAt)
+                        .finishedAt(LocalDateTime.now())
+                        .discrepancies(List.of())
+                        .error(e.toString())
+                        .build();
+            } finally {
+                running.set(false);
+            }
+        });
+        return lastReport;
+    }
+
+    public ReconciliationReport status() {
+        ReconciliationReport report = lastReport;
+        if (report == null) {
+            throw new AccountException(RECONCILIATION_NOT_FOUND);
+        }
+        if (report.getStatus() == ReconciliationReport.Status.RUNNING) {
+            report.setAccountsChecked(progress.get());
+        }
+        return report;
+    }
+
+    ReconciliationReport reconcile(LocalDateTime startedAt) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<RangeTask> tasks = new ArrayList<>();
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                Long[] idRange = idRange(shard);
+                if (idRange[0] != null) {
+                    tasks.add(new RangeTask(shard, idRange[0], idRange[1]));
+                }
+            }
+            Tally total = new Tally(maxReported);
+            for (RangeTask task : tasks) {
+                pool.execute(task);
+            }
+            for (RangeTask task : tasks) {
+                total.merge(task.join());
+            }
+
+            Tally confirmed = recheck(total);
+            return ReconciliationReport.builder()
+                    .status(ReconciliationReport.Status.COMPLETED)
+                    .startedAt(startedAt)
+                    .finishedAt(LocalDateTime.now())
+                    .accountsChecked(total.accounts)
+                    .transactionsChecked(total.transactions)
+                    .skippedSplitAccounts(total.skippedSplitAccounts)
+                    .discrepancyCount(confirmed.discrepancyCount)
+                    .discrepancies(confirmed.discrepancies)
+                    .build();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // 불일치 계좌만 다시 읽어서, 대사 도중의 거래 때문에 생긴 불일치는 빼고 보고
+    private Tally recheck(Tally total) {
+        Tally confirmed = new Tally(maxReported);
+        if (total.discrepancyCount > total.discrepancies.size()) {
+            // 보고 건수를 넘어선 경우는 모두 다시 확인할 수 없으므로 그대로 보고
+            confirmed.discrepancyCount = total.discrepancyCount;
+            confirmed.discrepancies.addAll(total.discrepancies);
+            return confirmed;
+        }
+        Set<String> rechecked = new HashSet<>();
+        for (ReconciliationReport.Discrepancy discrepancy : total.discrepancies) {
+            String key = discrepancy.getShard() + ":" + discrepancy.getAccountId();
+            if (!rechecked.add(key)) {
+                continue;
+            }
+            confirmed.merge(reconcileRange(
+                    discrepancy.getShard(), discrepancy.getAccountId(), discrepancy.getAccountId()));
+        }
+        return confirmed;
+    }
+
+    private Long[] idRange(int shard) {
+        return readTemplate.execute(status -> {
+            ShardContext.bind(shard);
+            Object[] row = (Object[]) EntityManagerFactoryUtils
+                    .getTransactionalEntityManager(entityManagerFactory)
+                    .createQuery(ID_RANGE_QUERY)
+                    .getSingleResult();
+            return new Long[]{(Long) row[0], (Long) row[1]};
+        });
+    }
+
+    // 한 범위를 하나의 커서로 처리
+    Tally reconcileRange(int shard, long fromId, long toId) {
+        Tally tally = readTemplate.execute(status -> {
+            ShardContext.bind(shard);
+            Session session = EntityManagerFactoryUtils
+                    .getTransactionalEntityManager(entityManagerFactory)
+                    .unwrap(Session.class);
+            SessionFactory sessionFactory = session.getSessionFactory();
+            // 트랜잭션의 커넥션(샤드 / replica 선택 완료) 을 그대로 사용
+            return session.doReturningWork(connection -> {
+                StatelessSession stateless = sessionFactory.openStatelessSession(connection);
+                ScrollableResults rows = null;
+                try {
+                    rows = stateless.createQuery(LEDGER_QUERY)
+                            .setParameter("success", TransactionResultType.S)
+                            .setParameter("fromId", fromId)
+                            .setParameter("toId", toId)
+                            .setFetchSize(fetchSize)
+                            .setReadOnly(true)
+                            .scroll(ScrollMode.FORWARD_ONLY);
+                    LedgerChecker checker = new LedgerChecker(shard, maxReported);
+                    while (rows.next()) {
+                        checker.accept(rows.get());
+                    }
+                    return checker.finish();
+                } finally {
+                    if (rows != null) {
+                        rows.close();
+                    }
+                    stateless.close();
+                }
+            });
+        });
+        progress.addAndGet(tally.accounts);
+        return tally;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    private class RangeTask extends RecursiveTask<Tally> {
+        private final int shard;
+        private final long fromId;
+        private final long toId;
+
+        private RangeTask(int shard, long fromId, long toId) {
+            this.shard = shard;
+            this.fromId = fromId;
+            this.toId = toId;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (toId - fromId < rangeSize) {
+                return reconcileRange(shard, fromId, toId);
+            }
+            long middle = fromId + (toId - fromId) / 2;
+            RangeTask left = new RangeTask(shard, fromId, middle);
+            RangeTask right = new RangeTask(shard, middle + 1, toId);
+            left.fork();
+            Tally tally = right.compute();
+            tally.merge(left.join());
+            return tally;
+        }
+    }
+
+    /**
+     * 계좌 아이디 순서로 들어오는 행을 계좌 단위로 확인
+     * 행 : 계좌 아이디, 계좌번호, 잔액, 분할 슬롯 수, 거래 아이디, 거래 종류, 금액, 잔액 스냅샷
+     */
+    static class LedgerChecker {
+        private final int shard;
+        private final Tally tally;
+
+        private Long accountId;
+        private String accountNumber;
+        private long balance;
+        private boolean split;
+        private Long lastSnapShot;
+
+        LedgerChecker(int shard, int maxReported) {
+            this.shard = shard;
+            this.tally = new Tally(maxReported);
+        }
+
+        void accept(Object[] row) {
+            Long rowAccountId = (Long) row[0];
+            if (!Objects.equals(rowAccountId, accountId)) {
+                closeAccount();
+                accountId = rowAccountId;
+                accountNumber = (String) row[1];
+                balance = (Long) row[2];
+                Integer slotCount = (Integer) row[3];
+                split = slotCount != null && slotCount > 0;
+                lastSnapShot = null;
+                tally.accounts++;
+                if (split) {
+                    tally.skippedSplitAccounts++;
+                }
+            }
+            // 거래가 없는 계좌 / 분할 계좌
+            if (row[4] == null || split) {
+                return;
+            }
+
+            tally.transactions++;
+            TransactionType type = (TransactionType) row[5];
+            long amount = (Long) row[6];
+            long snapShot = (Long) row[7];
+            if (lastSnapShot != null) {
+                long expected = type == TransactionType.USE ? lastSnapShot - amount : lastSnapShot + amount;
+                if (expected != snapShot) {
+                    tally.add(discrepancy(ReconciliationReport.DiscrepancyType.SNAPSHOT_MISMATCH,
+                            (String) row[4], expected, snapShot));
+                }
+            }
+            lastSnapShot = snapShot;
+        }
+
+        Tally finish() {
+            closeAccount();
+            return tally;
+        }
+
+        // 마지막 스냅샷과 현재 잔액 비교
+        private void closeAccount() {
+            if (accountId == null || split || lastSnapShot == null) {
+                return;
+            }
+            if (lastSnapShot != balance) {
+                tally.add(discrepancy(ReconciliationReport.DiscrepancyType.BALANCE_MISMATCH,
+                        null, lastSnapShot, balance));
+            }
+            lastSnapShot = null;
+        }
+
+        private ReconciliationReport.Discrepancy discrepancy(
+                ReconciliationReport.DiscrepancyType type, String transactionId, long expected, long actual) {
+            return ReconciliationReport.Discrepancy.builder()
+                    .type(type)
+                    .shard(shard)
+                    .accountId(accountId)
+                    .accountNumber(accountNumber)
+                    .transactionId(transactionId)
+                    .expected(expected)
+                    .actual(actual)
+                    .build();
+        }
+    }
+
+    // 범위별 집계 (ForkJoin 결과 합치기)
+    @Getter
+    static class Tally {
+        private final int maxReported;
+        private long accounts;
+        private long transactions;
+        private long skippedSplitAccounts;
+        private long discrepancyCount;
+        private final List<ReconciliationReport.Discrepancy> discrepancies = new ArrayList<>();
+
+        Tally(int maxReported) {
+            this.maxReported = maxReported;
+        }
+
+        private void add(ReconciliationReport.Discrepancy discrepancy) {
+            discrepancyCount++;
+            if (discrepancies.size() < maxReported) {
+                discrepancies.add(discrepancy);
+            }
+        }
+
+        private void merge(Tally other) {
+            accounts += other.accounts;
+            transactions += other.transactions;
+            skippedSplitAccounts += other.skippedSplitAccounts;
+            discrepancyCount += other.discrepancyCount;
+            for (ReconciliationReport.Discrepancy discrepancy : other.discrepancies) {
+                if (discrepancies.size() >= maxReported) {
+                    break;
+                }
+                discrepancies.add(discrepancy);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.account.service;
+
+import com.example.account.jfr.LockAcquisitionEvent;
+import com.example.account.metrics.PhaseTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  Redisson 락 획득 / 해제
+ *  락 대기시간(account.lock.wait) 과 점유시간(account.lock.hold) 을 기록한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LockService {
+    private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
+
+    // 락 이름 -> 획득 시각 (락은 배타적이므로 이름당 하나)
+    private final Map<String, Long> acquiredAt = new ConcurrentHashMap<>();
+
+    public boolean tryLock(String lockName, long waitTime, long leaseTime, TimeUnit unit)
+            throws InterruptedException {
+        RLock lock = redissonClient.getLock(lockName);
+
+        LockAcquisitionEvent event = new LockAcquisitionEvent();
+        event.begin();
+        long startedAt = System.nanoTime();
+        boolean acquired = false;
+        try {
+            acquired = lock.tryLock(waitTime, leaseTime, unit);
+        } finally {
+            long now = System.nanoTime();
+            if (event.shouldCommit()) {
+                event.lockName = lockName;
+                event.acquired = acquired;
+                event.commit();
+            }
+            PhaseTimer.record("lock_wait", now - startedAt);
+            Timer.builder("account.lock.wait")
+                    .description("Time spent waiting for a Redisson lock")
+                    .tag("acquired", String.valueOf(acquired))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(now - startedAt, TimeUnit.NANOSECONDS);
+            if (acquired) {
+                acquiredAt.put(lockName, now);
+            }
+        }
+        return acquired;
+    }
+
+    public void unlock(String lockName) {
+        RLock lock = redissonClient.getLock(lockName);
+        if (!lock.isHeldByCurrentThread()) {
+            log.warn("Lock {} is not held by current thread.", lockName);
+            return;
+        }
+        lock.unlock();
+
+        Long startedAt = acquiredAt.remove(lockName);
+        if (startedAt != null) {
+            Timer.builder("account.lock.hold")
+                    .description("Time a Redisson lock was held")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -2,8 +2,6 @@ package com.example.account.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.TimeUnit;
@@ -13,13 +11,11 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class RedisTestService {
 
-    private final RedissonClient redissonClient;
+    private final LockService lockService;
 
     public String getLock() {
-        RLock lock = redissonClient.getLock("sampleLock");
-
         try {
-            boolean isLock = lock.tryLock(1, 5, TimeUnit.SECONDS);
+            boolean isLock = lockService.tryLock("sampleLock", 1, 5, TimeUnit.SECONDS);
             if (!isLock) {
                 log.error("========Lock acquisition failed=========");
                 return "Lock failed";
@@ -0,0 +1,279 @@
+package com.example.account.service;
+
+import com.example.account.dto.StatementReport;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.shard.ShardContext;
+import com.example.account.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import static com.example.account.type.ErrorCode.STATEMENT_ALREADY_RUNNING;
+import static com.example.account.type.ErrorCode.STATEMENT_NOT_FOUND;
+import static com.example.account.type.TransactionResultType.S;
+
+/**
+ *  월별 명세서 파일 작성
+ *  1. 샤드마다 계좌를 아이디 순서로 keyset 페이지로 읽어 작업 스레드에 나눠준다. (대기 작업 수 제한)
+ *  2. 계좌의 한달 거래를 (거래일시, 아이디) keyset 페이지로 읽으며 gzip 파일에 바로 쓴다. (메모리는 페이지 크기만큼만 사용)
+ *  3. 임시 파일에 다 쓴 뒤 이름을 바꾸므로, 최종 파일이 있는 계좌는 완료된 것 -> 다시 실행하면 남은 계좌만 작성
+ *  읽기는 페이지마다 짧은 읽기 전용 트랜잭션(replica) 이고, 작업 스레드 수가 제한되어 있어 온라인 거래에 주는 영향이 작다.
+ */
+@Slf4j
+@Service
+public class StatementService {
+    private static final String FILE_SUFFIX = ".csv.gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String HEADER = "transactedAt,transactionId,transactionType,amount,balanceSnapShot";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate readTemplate;
+    private final Path baseDirectory;
+    private final int parallelism;
+    private final int accountPageSize;
+    private final int transactionPageSize;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("statement-coordinator-"));
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Progress progress;
+
+    public StatementService(
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            ShardRouter shardRouter,
+            PlatformTransactionManager transactionManager,
+            @Value("${account.statement.directory:statements}") String baseDirectory,
+            @Value("${account.statement.parallelism:2}") int parallelism,
+            @Value("${account.statement.account-page-size:500}") int accountPageSize,
+            @Value("${account.statement.transaction-page-size:1000}") int transactionPageSize) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.shardRouter = shardRouter;
+        // 샤드별 커넥션을 쓰도록 항상 새 트랜잭션 (읽기 전용 - replica 에서 읽는다)
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate.setReadOnly(true);
+        this.baseDirectory = Paths.get(baseDirectory);
+        this.parallelism = parallelism;
+        this.accountPageSize = accountPageSize;
+        this.transactionPageSize = transactionPageSize;
+    }
+
+    public synchronized StatementReport start(YearMonth month) {
+        if (!running.compareAndSet(false, true)) {
+            throw new AccountException(STATEMENT_ALREADY_RUNNING);
+        }
+        Progress started = new Progress(month, baseDirectory.resolve(month.toString()));
+        progress = started;
+        coordinator.execute(() -> {
+            try {
+                generate(started);
+            } finally {
+                running.set(false);
+            }
+        });
+        return started.report();
+    }
+
+    public StatementReport status() {
+        Progress current = progress;
+        if (current == null) {
+            throw new AccountException(STATEMENT_NOT_FOUND);
+        }
+        return current.report();
+    }
+
+    void generate(Progress progress) {
+        ExecutorService workers = Executors.newFixedThreadPool(
+                parallelism, new CustomizableThreadFactory("statement-worker-"));
+        // 작업 스레드가 밀리면 계좌 목록도 그만 읽는다.
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        try {
+            Files.createDirectories(progress.directory);
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                dispatchShard(shard, progress, workers, inFlight);
+            }
+            // 남은 작업이 모두 끝날 때까지 대기
+            inFlight.acquire(parallelism * 2);
+            progress.finish(StatementReport.Status.COMPLETED, null);
+            log.info("Statements for {} written: {} accounts, {} skipped, {} failed.",
+                    progress.month, progress.accountsWritten, progress.accountsSkipped,
+                    progress.accountsFailed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.finish(StatementReport.Status.FAILED, "interrupted");
+        } catch (IOException | RuntimeException e) {
+            log.error("Statement generation for {} failed.", progress.month, e);
+            progress.finish(StatementReport.Status.FAILED, e.toString());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void dispatchShard(int shard, Progress progress, ExecutorService workers, Semaphore inFlight)
+            throws InterruptedException {
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            List<AccountRepository.AccountKey> accounts = read(shard, () ->
+                    accountRepository.findAccountKeysAfter(afterId, PageRequest.of(0, accountPageSize)));
+            for (AccountRepository.AccountKey account : accounts) {
+                Path file = progress.directory.resolve(account.getAccountNumber() + FILE_SUFFIX);
+                if (Files.exists(file)) {
+                    progress.accountsSkipped.incrementAndGet();
+                    continue;
+                }
+                inFlight.acquire();
+                workers.execute(() -> {
+                    try {
+                        writeStatement(shard, account, file, progress);
+                        progress.accountsWritten.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        log.warn("Statement for account {} failed.", account.getAccountNumber(), e);
+                        progress.accountsFailed.incrementAndGet();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            if (accounts.size() < accountPageSize) {
+                return;
+            }
+            lastId = accounts.get(accounts.size() - 1).getId();
+        }
+    }
+
+    // 한 계좌의 한달치 거래를 임시 파일에 쓰고 완료되면 최종 파일로 이름 변경
+    void writeStatement(int shard, AccountRepository.AccountKey account, Path file, Progress progress) {
+        LocalDateTime from = progress.month.atDay(1).atStartOfDay();
+        LocalDateTime to = progress.month.plusMonths(1).atDay(1).atStartOfDay();
+        Path temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        long lines = 0;
+        try {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE),
+                    StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                writer.write("# " + account.getAccountNumber() + " " + progress.month + "\n");
+                writer.write(HEADER + "\n");
+                // 월초부터 (거래일시, 아이디) 순서로 읽는다.
+                LocalDateTime lastAt = from;
+                long lastId = 0;
+                while (true) {
+                    LocalDateTime cursorAt = lastAt;
+                    long cursorId = lastId;
+                    List<TransactionRepository.StatementLine> page = read(shard, () ->
+                            transactionRepository.findStatementLines(account.getId(), S, from, to,
+                                    cursorAt, cursorId, PageRequest.of(0, transactionPageSize)));
+                    for (TransactionRepository.StatementLine line : page) {
+                        writer.write(line.getTransactedAt() + "," + line.getTransactionId() + ","
+                                + line.getTransactionType() + "," + line.getAmount() + ","
+                                + line.getBalanceSnapShot() + "\n");
+                    }
+                    lines += page.size();
+                    if (page.size() < transactionPageSize) {
+                        break;
+                    }
+                    TransactionRepository.StatementLine last = page.get(page.size() - 1);
+                    lastAt = last.getTransactedAt();
+                    lastId = last.getId();
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            progress.transactionsWritten.addAndGet(lines);
+            progress.bytesWritten.addAndGet(Files.size(file));
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // 다음 실행에서 덮어쓴다.
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T read(int shard, Supplier<T> query) {
+        return readTemplate.execute(status -> {
+            ShardContext.bind(shard);
+            return query.get();
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+    }
+
+    static class Progress {
+        private final YearMonth month;
+        private final Path directory;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong accountsWritten = new AtomicLong();
+        private final AtomicLong accountsSkipped = new AtomicLong();
+        private final AtomicLong accountsFailed = new AtomicLong();
+        private final AtomicLong transactionsWritten = new AtomicLong();
+        private final AtomicLong bytesWritten = new AtomicLong();
+        private volatile StatementReport.Status status = StatementReport.Status.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        Progress(YearMonth month, Path directory) {
+            this.month = month;
+            this.directory = directory;
+        }
+
+        private void finish(StatementReport.Status status, String error) {
+            this.finishedAt = LocalDateTime.now();
+            this.error = error;
+            this.status = status;
+        }
+
+        StatementReport report() {
+            return StatementReport.builder()
+                    .month(month.toString())
+                    .directory(directory.toAbsolutePath().toString())
+                    .status(status)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .accountsWritten(accountsWritten.get())
+                    .accountsSkipped(accountsSkipped.get())
+                    .accountsFailed(accountsFailed.get())
+                    .transactionsWritten(transactionsWritten.get())
+                    .bytesWritten(bytesWritten.get())
+                    .error(error)
+                    .build();
+        }
+    }
+}
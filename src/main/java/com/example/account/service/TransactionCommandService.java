@@ -0,0 +1,397 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionCommand;
+import com.example.account.exception.AccountException;
+import com.example.account.exception.ConcurrencyLimitExceededException;
+import com.example.account.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.*;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.api.stream.StreamReadGroupArgs;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_NOT_FOUND;
+import static com.example.account.type.ErrorCode.COMMAND_FAILED;
+import static com.example.account.type.ErrorCode.COMMAND_NOT_FOUND;
+
+/**
+ *  비동기 잔액 사용 요청 큐 (Redis Streams consumer group)
+ *  1. 접수 - 계좌번호로 파티션(stream) 을 정해 XADD 하고 접수 번호(ticket) 를 바로 돌려준다.
+ *  2. 처리 - 파티션마다 소유권 락을 잡은 노드의 작업 스레드 하나가 순서대로 처리
+ *     (같은 계좌의 요청은 항상 같은 파티션이므로 접수 순서대로 반영된다)
+ *  3. 결과 - ticket 별로 Redis 에 result-ttl 동안 보관, 완료되면 pub/sub 으로 대기중인 long polling 을 깨운다.
+ *  접수 번호를 거래 아이디로 사용하므로, 처리 중에 죽어서 다시 전달된 요청은 이미 반영된 거래가 있는지 먼저 확인한다.
+ *  일시적인 장애가 아닌 이유로 max-deliveries 번 전달되어도 처리하지 못한 요청은 실패 결과를 남기고
+ *  dead letter stream 으로 옮긴다. (한 요청 때문에 파티션 전체가 멈추지 않도록)
+ */
+@Slf4j
+@Service
+public class TransactionCommandService {
+    private static final String STREAM_PREFIX = "transaction-commands:";
+    private static final String DEAD_LETTER_PREFIX = "transaction-commands-dead:";
+    private static final String OWNER_LOCK_PREFIX = "transaction-commands-owner:";
+    private static final String RESULT_PREFIX = "transaction-command-result:";
+    private static final String RESULT_TOPIC = "transaction-command-results";
+    private static final String GROUP = "transaction-workers";
+    private static final long ERROR_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RedissonClient redissonClient;
+    private final TransactionService transactionService;
+    private final FailedTransactionRecorder failedTransactionRecorder;
+    private final BloomFilterService bloomFilterService;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final int partitions;
+    private final int batchSize;
+    private final int streamMaxLength;
+    private final int maxDeliveries;
+    private final Duration resultTtl;
+    private final long maxWaitMillis;
+
+    private final Counter enqueued;
+    private final Timer queueWait;
+    private final MeterRegistry meterRegistry;
+
+    // 이 노드에서 long polling 중인 요청
+    private final Map<String, Set<CompletableFuture<TransactionCommand.Result>>> waiters =
+            new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private Integer listenerId;
+
+    public TransactionCommandService(
+            RedissonClient redissonClient,
+            TransactionService transactionService,
+            FailedTransactionRecorder failedTransactionRecorder,
+            BloomFilterService bloomFilterService,
+            ShardRouter shardRouter,
+            MeterRegistry meterRegistry,
+            @Value("${account.command-queue.enabled:false}") boolean enabled,
+            @Value("${account.command-queue.partitions:8}") int partitions,
+            @Value("${account.command-queue.batch-size:32}") int batchSize,
+            @Value("${account.command-queue.stream-max-length:1000000}") int streamMaxLength,
+            @Value("${account.command-queue.max-deliveries:5}") int maxDeliveries,
+            @Value("${account.command-queue.result-ttl-seconds:600}") long resultTtlSeconds,
+            @Value("${account.command-queue.max-wait-ms:25000}") long maxWaitMillis) {
+        this.redissonClient = redissonClient;
+        this.transactionService = transactionService;
+        this.failedTransactionRecorder = failedTransactionRecorder;
+        this.bloomFilterService = bloomFilterService;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.partitions = partitions;
+        this.batchSize = batchSize;
+        this.streamMaxLength = streamMaxLength;
+        this.maxDeliveries = maxDeliveries;
+        this.resultTtl = Duration.ofSeconds(resultTtlSeconds);
+        this.maxWaitMillis = maxWaitMillis;
+        this.meterRegistry = meterRegistry;
+
+        this.enqueued = Counter.builder("transaction.command.enqueued")
+                .description("Balance commands accepted onto the command stream")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("transaction.command.queue.wait")
+                .description("Time a balance command waited in the stream before processing")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public TransactionCommand.Result enqueue(Long userId, String accountNumber, Long amount) {
+        if (bloomFilterService.isUnknownAccountNumber(accountNumber)) {
+            throw new AccountException(ACCOUNT_NOT_FOUND);
+        }
+        String ticket = ShardRouter.newTransactionId(shardRouter.shardOf(accountNumber));
+        TransactionCommand.Result pending = TransactionCommand.Result.pending(ticket, accountNumber, amount);
+
+        Map<String, String> fields = new HashMap<>();
+        fields.put("ticket", ticket);
+        fields.put("userId", String.valueOf(userId));
+        fields.put("accountNumber", accountNumber);
+        fields.put("amount", String.valueOf(amount));
+        fields.put("enqueuedAt", String.valueOf(System.currentTimeMillis()));
+
+        // 처리된 요청은 ack 후 바로 지우므로 stream 길이 = 밀린 요청 수.
+        // 길이로 잘라내면 접수한 요청이 처리 전에 사라지므로, 가득 차면 접수하지 않는다. (503)
+        String streamName = streamName(partitionOf(accountNumber));
+        if (redissonClient.getStream(streamName, StringCodec.INSTANCE).size() >= streamMaxLength) {
+            meterRegistry.counter("transaction.command.rejected").increment();
+            throw new ConcurrencyLimitExceededException();
+        }
+
+        // 결과 자리를 먼저 만들고 XADD - 한번의 파이프라인
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        batch.<TransactionCommand.Result>getBucket(RESULT_PREFIX + ticket)
+                .setAsync(pending, resultTtl.toMillis(), TimeUnit.MILLISECONDS);
+        batch.<String, String>getStream(streamName, StringCodec.INSTANCE)
+                .addAsync(StreamAddArgs.entries(fields));
+        batch.execute();
+        enqueued.increment();
+        return pending;
+    }
+
+    public TransactionCommand.Result getResult(String ticket) {
+        TransactionCommand.Result result = resultBucket(ticket).get();
+        if (result == null) {
+            throw new AccountException(COMMAND_NOT_FOUND);
+        }
+        return result;
+    }
+
+    /**
+     * long polling - 처리가 끝나거나 waitMillis(최대 max-wait-ms) 가 지나면 그때의 결과를 돌려준다.
+     * 대기하는 동안 요청 스레드 / DB 커넥션을 잡지 않는다.
+     */
+    public CompletableFuture<TransactionCommand.Result> awaitResult(String ticket, long waitMillis) {
+        long wait = Math.min(waitMillis, maxWaitMillis);
+        CompletableFuture<TransactionCommand.Result> future = new CompletableFuture<>();
+        // 결과를 조회하기 전에 등록해야 그 사이에 끝난 결과를 놓치지 않는다.
+        waiters.computeIfAbsent(ticket, key -> ConcurrentHashMap.newKeySet()).add(future);
+        try {
+            TransactionCommand.Result current = getResult(ticket);
+            if (current.isDone() || wait <= 0) {
+                future.complete(current);
+            }
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future
+                .completeOnTimeout(null, wait, TimeUnit.MILLISECONDS)
+                .thenApply(result -> result != null ? result : getResult(ticket))
+                .whenComplete((result, e) -> removeWaiter(ticket, future));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWorkers() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        listenerId = resultTopic().addListener(TransactionCommand.Result.class,
+                (channel, result) -> notifyWaiters(result));
+        for (int partition = 0; partition < partitions; partition++) {
+            int target = partition;
+            Thread worker = new Thread(() -> work(target), "transaction-command-worker-" + partition);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    @PreDestroy
+    public void stopWorkers() {
+        running.set(false);
+        if (listenerId != null) {
+            resultTopic().removeListener(listenerId);
+        }
+    }
+
+    // 파티션 소유권 락을 잡은 동안만 처리 (락은 watchdog 으로 연장되고, 노드가 죽으면 다른 노드가 이어받는다)
+    private void work(int partition) {
+        RStream<String, String> stream = redissonClient.getStream(streamName(partition), StringCodec.INSTANCE);
+        RLock owner = redissonClient.getLock(OWNER_LOCK_PREFIX + partition);
+        String consumer = "partition-" + partition;
+        boolean recovering = true;
+        try {
+            while (running.get()) {
+                try {
+                    if (!owner.isHeldByCurrentThread()) {
+                        if (!owner.tryLock(1, TimeUnit.SECONDS)) {
+                            continue;
+                        }
+                        createGroup(stream);
+                        recovering = true;
+                    }
+                    // 이어받은 직후에는 처리 중이던(ack 되지 않은) 요청부터 다시 처리
+                    Map<StreamMessageId, Map<String, String>> messages = stream.readGroup(GROUP, consumer,
+                            recovering
+                                    ? StreamReadGroupArgs.greaterThan(new StreamMessageId(0, 0)).count(batchSize)
+                                    : StreamReadGroupArgs.neverDelivered().count(batchSize)
+                                    .timeout(Duration.ofSeconds(1)));
+                    if (messages.isEmpty()) {
+                        recovering = false;
+                        continue;
+                    }
+                    for (Map.Entry<StreamMessageId, Map<String, String>> message : messages.entrySet()) {
+                        handle(stream, partition, message.getKey(), message.getValue(), recovering);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    // DB / Redis 장애 - ack 하지 않은 요청은 잠시 후 순서대로 다시 처리
+                    log.error("Failed to process balance commands on partition {}.", partition, e);
+                    recovering = true;
+                    LockSupport.parkNanos(ERROR_BACKOFF_NANOS);
+                }
+            }
+        } finally {
+            if (owner.isHeldByCurrentThread()) {
+                owner.unlock();
+            }
+        }
+    }
+
+    /**
+     * 요청 하나를 처리하고 ack 한 뒤 stream 에서 지운다.
+     * 처리하지 못하면 예외를 그대로 던져서 다시 전달받고, 일시적인 장애가 아닌데 max-deliveries 번 전달된 요청은
+     * 실패 결과를 남기고 dead letter stream 으로 옮긴 뒤 ack 한다.
+     */
+    void handle(RStream<String, String> stream, int partition, StreamMessageId id,
+                Map<String, String> fields, boolean redelivered) {
+        try {
+            process(fields, redelivered);
+        } catch (RuntimeException e) {
+            if (isTransient(e) || deliveryCount(stream, id) < maxDeliveries) {
+                throw e;
+            }
+            deadLetter(partition, id, fields, e);
+        }
+        stream.ack(GROUP, id);
+        stream.remove(id);
+    }
+
+    // DB / Redis 장애는 요청 자체의 문제가 아니므로 횟수와 관계없이 다시 처리
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException
+                || e instanceof RedisException;
+    }
+
+    // XPENDING 의 전달 횟수
+    private long deliveryCount(RStream<String, String> stream, StreamMessageId id) {
+        List<PendingEntry> entries = stream.listPending(GROUP, id, id, 1);
+        return entries.isEmpty() ? 0 : entries.get(0).getLastTimeDelivered();
+    }
+
+    private void deadLetter(int partition, StreamMessageId id, Map<String, String> fields, RuntimeException e) {
+        log.error("Balance command {} on partition {} failed {} times, moving it to the dead letter stream.",
+                id, partition, maxDeliveries, e);
+        Map<String, String> entries = fields == null ? new HashMap<>() : new HashMap<>(fields);
+        entries.put("messageId", id.toString());
+        entries.put("error", String.valueOf(e));
+        redissonClient.<String, String>getStream(DEAD_LETTER_PREFIX + partition, StringCodec.INSTANCE)
+                .add(StreamAddArgs.entries(entries));
+        meterRegistry.counter("transaction.command.dead_lettered").increment();
+
+        String ticket = entries.get("ticket");
+        if (ticket == null) {
+            return;
+        }
+        TransactionCommand.Result result = TransactionCommand.Result.failed(ticket,
+                entries.get("accountNumber"), parseAmount(entries.get("amount")),
+                new AccountException(COMMAND_FAILED));
+        resultBucket(ticket).set(result, resultTtl.toMillis(), TimeUnit.MILLISECONDS);
+        resultTopic().publish(result);
+    }
+
+    private static Long parseAmount(String amount) {
+        try {
+            return Long.valueOf(amount);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void process(Map<String, String> fields, boolean redelivered) {
+        // 내용이 지워진 요청
+        if (fields == null || fields.isEmpty()) {
+            return;
+        }
+        String ticket = fields.get("ticket");
+        Long userId = Long.valueOf(fields.get("userId"));
+        String accountNumber = fields.get("accountNumber");
+        Long amount = Long.valueOf(fields.get("amount"));
+        queueWait.record(Duration.ofMillis(
+                System.currentTimeMillis() - Long.parseLong(fields.get("enqueuedAt"))));
+
+        TransactionCommand.Result result = null;
+        if (redelivered) {
+            result = transactionService.findAppliedTransaction(ticket)
+                    .map(transactionDto -> TransactionCommand.Result.succeeded(ticket, transactionDto))
+                    .orElse(null);
+        }
+        if (result == null) {
+            try {
+                result = TransactionCommand.Result.succeeded(ticket,
+                        transactionService.useBalance(userId, accountNumber, amount, ticket));
+            } catch (AccountException e) {
+                result = TransactionCommand.Result.failed(ticket, accountNumber, amount, e);
+                saveFailedUseBalance(accountNumber, amount, e);
+            }
+        }
+
+        resultBucket(ticket).set(result, resultTtl.toMillis(), TimeUnit.MILLISECONDS);
+        resultTopic().publish(result);
+        meterRegistry.counter("transaction.command.processed",
+                "status", result.getStatus().name()).increment();
+    }
+
+    // 동기 API 처럼 실패 거래도 기록 (계좌가 없으면 기록할 곳이 없으므로 무시)
+    private void saveFailedUseBalance(String accountNumber, Long amount, AccountException e) {
+        try {
+            failedTransactionRecorder.recordFailedUse(accountNumber, amount, e.getErrorCode());
+        } catch (AccountException ignored) {
+        }
+    }
+
+    private void createGroup(RStream<String, String> stream) {
+        try {
+            stream.createGroup(GROUP, StreamMessageId.ALL);
+        } catch (RuntimeException e) {
+            // BUSYGROUP - 이미 있는 그룹
+            log.debug("Consumer group {} already exists on {}.", GROUP, stream.getName());
+        }
+    }
+
+    private void notifyWaiters(TransactionCommand.Result result) {
+        Set<CompletableFuture<TransactionCommand.Result>> futures = waiters.remove(result.getTicket());
+        if (futures != null) {
+            futures.forEach(future -> future.complete(result));
+        }
+    }
+
+    private void removeWaiter(String ticket, CompletableFuture<TransactionCommand.Result> future) {
+        waiters.computeIfPresent(ticket, (key, futures) -> {
+            futures.remove(future);
+            return futures.isEmpty() ? null : futures;
+        });
+    }
+
+    private int partitionOf(String accountNumber) {
+        return Math.floorMod(accountNumber.hashCode(), partitions);
+    }
+
+    private static String streamName(int partition) {
+        return STREAM_PREFIX + partition;
+    }
+
+    private RBucket<TransactionCommand.Result> resultBucket(String ticket) {
+        return redissonClient.getBucket(RESULT_PREFIX + ticket);
+    }
+
+    private RTopic resultTopic() {
+        return redissonClient.getTopic(RESULT_TOPIC);
+    }
+}
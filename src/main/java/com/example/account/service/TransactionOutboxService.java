@@ -0,0 +1,281 @@
+package com.example.account.service;
+
+import com.example.account.domain.Transaction;
+import com.example.account.domain.TransactionOutbox;
+import com.example.account.repository.TransactionOutboxRepository;
+import com.example.account.shard.ShardTemplate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RLock;
+import org.redisson.api.RStreamAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ *  거래 이벤트 outbox
+ *  1. 거래를 저장하는 트랜잭션 안에서 outbox 행을 같이 저장 (record)
+ *  2. relay 스레드가 샤드별로 outbox 를 읽어 Redis Stream 에 파이프라인으로 발행하고 삭제
+ *     샤드마다 소유권 락을 잡은 노드 하나만 발행한다. (노드가 죽으면 락이 풀려 다른 노드가 이어받는다)
+ *  3. 발행 후 삭제 전에 죽으면 다시 발행되므로 최소 한번 전달 (소비자는 transactionId 로 중복 제거)
+ *  4. 일별 합계(DailySummaryService) 는 발행한 묶음을 outbox 삭제와 같은 트랜잭션에서 누적한다.
+ *  커밋 직후 relay 를 깨우므로 보통 수 ms 안에 발행되고, poll-interval 은 놓친 신호에 대한 안전장치
+ */
+@Slf4j
+@Service
+public class TransactionOutboxService {
+    private static final String OWNER_LOCK_PREFIX = "transaction-outbox-owner:";
+
+    private final TransactionOutboxRepository transactionOutboxRepository;
+    private final DailySummaryService dailySummaryService;
+    private final ShardTemplate shardTemplate;
+    private final TransactionTemplate deleteTemplate;
+    private final RedissonClient redissonClient;
+    private final boolean enabled;
+    private final String streamName;
+    private final int batchSize;
+    private final int streamMaxLength;
+    private final long pollIntervalNanos;
+
+    private final Counter published;
+    private final Timer publishLag;
+    // 마지막 relay 에서 본 가장 오래된 미발행 이벤트의 나이
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Thread relayThread;
+    // relay 스레드가 잡고 있는 샤드 소유권 락
+    private final List<RLock> ownedShards = new ArrayList<>();
+
+    public TransactionOutboxService(
+            TransactionOutboxRepository transactionOutboxRepository,
+            DailySummaryService dailySummaryService,
+            ShardTemplate shardTemplate,
+            PlatformTransactionManager transactionManager,
+            RedissonClient redissonClient,
+            MeterRegistry meterRegistry,
+            @Value("${account.outbox.enabled:false}") boolean enabled,
+            @Value("${account.outbox.stream:transaction-events}") String streamName,
+            @Value("${account.outbox.batch-size:500}") int batchSize,
+            @Value("${account.outbox.stream-max-length:1000000}") int streamMaxLength,
+            @Value("${account.outbox.poll-interval-ms:100}") long pollIntervalMs) {
+        this.transactionOutboxRepository = transactionOutboxRepository;
+        this.dailySummaryService = dailySummaryService;
+        this.shardTemplate = shardTemplate;
+        // 샤드가 여럿이면 forEachShard 의 샤드 트랜잭션에 참여, 하나면 새 트랜잭션
+        this.deleteTemplate = new TransactionTemplate(transactionManager);
+        this.redissonClient = redissonClient;
+        this.enabled = enabled;
+        this.streamName = streamName;
+        this.batchSize = batchSize;
+        this.streamMaxLength = streamMaxLength;
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMs);
+
+        this.published = Counter.builder("transaction.outbox.published")
+                .description("Transaction events published to the Redis stream")
+                .register(meterRegistry);
+        this.publishLag = Timer.builder("transaction.outbox.lag")
+                .description("Time from outbox insert to stream publication")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("transaction.outbox.oldest.age", oldestAgeMillis, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    // 거래 저장과 같은 트랜잭션에서 호출
+    public void record(Transaction transaction) {
+        if (!enabled) {
+            return;
+        }
+        transactionOutboxRepository.save(TransactionOutbox.from(transaction));
+        wakeUpAfterCommit();
+    }
+
+    public void recordAll(List<Transaction> transactions) {
+        if (!enabled) {
+            return;
+        }
+        transactionOutboxRepository.saveAll(transactions.stream()
+                .map(TransactionOutbox::from)
+                .collect(Collectors.toList()));
+        wakeUpAfterCommit();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRelay() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(this::relayLoop, "transaction-outbox-relay");
+        thread.setDaemon(true);
+        relayThread = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stopRelay() {
+        running.set(false);
+        Thread thread = relayThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void relayLoop() {
+        try {
+            while (running.get()) {
+                boolean backlog = false;
+                try {
+                    backlog = relay();
+                } catch (RuntimeException e) {
+                    log.error("Failed to relay transaction outbox.", e);
+                }
+                // 한번에 다 못 보냈으면 바로 다음 묶음, 아니면 깨울 때까지 대기
+                if (!backlog) {
+                    LockSupport.parkNanos(this, pollIntervalNanos);
+                }
+            }
+        } finally {
+            ownedShards.stream()
+                    .filter(RLock::isHeldByCurrentThread)
+                    .forEach(RLock::unlock);
+            ownedShards.clear();
+        }
+    }
+
+    /**
+     * 소유한 샤드마다 가장 오래된 batch-size 개를 발행하고 삭제
+     * @return 아직 남은 outbox 가 있을 수 있으면 true
+     */
+    boolean relay() {
+        AtomicBoolean backlog = new AtomicBoolean();
+        AtomicLong oldestAge = new AtomicLong();
+        shardTemplate.forEachShard(shard -> {
+            // 다른 노드가 발행중인 샤드 - 같은 행을 중복 발행하지 않도록 건너뛴다.
+            if (!ownShard(shard)) {
+                return;
+            }
+            List<TransactionOutbox> events =
+                    transactionOutboxRepository.findByOrderByIdAsc(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return;
+            }
+            oldestAge.accumulateAndGet(
+                    Duration.between(events.get(0).getCreatedAt(), LocalDateTime.now()).toMillis(),
+                    Math::max);
+
+            publish(events);
+            // 일별 합계 누적과 삭제를 한번에 커밋 (삭제 전에 죽어서 다시 발행되어도 두번 누적되지 않게)
+            // 소유권 락이 잠깐 겹쳐 다른 노드가 같은 묶음을 먼저 지웠으면 누적하지 않고 롤백
+            deleteTemplate.executeWithoutResult(status -> {
+                int deleted = transactionOutboxRepository.deleteByIds(events.stream()
+                        .map(TransactionOutbox::getId)
+                        .collect(Collectors.toList()));
+                if (deleted != events.size()) {
+                    log.warn("Transaction outbox batch on shard {} was already relayed ({} of {} rows left).",
+                            shard, deleted, events.size());
+                    status.setRollbackOnly();
+                    return;
+                }
+                dailySummaryService.apply(events);
+            });
+            if (events.size() == batchSize) {
+                backlog.set(true);
+            }
+        });
+        oldestAgeMillis.set(oldestAge.get());
+        return backlog.get();
+    }
+
+    // 락은 기다리지 않고 시도만 하며, 잡은 락은 watchdog 으로 연장되어 relay 가 멈출 때까지 유지된다.
+    private boolean ownShard(int shard) {
+        RLock owner = redissonClient.getLock(OWNER_LOCK_PREFIX + shard);
+        if (owner.isHeldByCurrentThread()) {
+            return true;
+        }
+        if (!owner.tryLock()) {
+            return false;
+        }
+        ownedShards.add(owner);
+        log.info("Took over transaction outbox relay for shard {}.", shard);
+        return true;
+    }
+
+    // 한 묶음을 파이프라인 한번으로 XADD
+    private void publish(List<TransactionOutbox> events) {
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        RStreamAsync<String, String> stream = batch.getStream(streamName, StringCodec.INSTANCE);
+        for (TransactionOutbox event : events) {
+            stream.addAsync(StreamAddArgs.entries(toEntries(event))
+                    .trimNonStrict().maxLen(streamMaxLength).noLimit());
+        }
+        batch.execute();
+
+        LocalDateTime now = LocalDateTime.now();
+        for (TransactionOutbox event : events) {
+            publishLag.record(Duration.between(event.getCreatedAt(), now));
+        }
+        published.increment(events.size());
+    }
+
+    private static Map<String, String> toEntries(TransactionOutbox event) {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("transactionId", event.getTransactionId());
+        entries.put("accountNumber", event.getAccountNumber());
+        entries.put("transactionType", event.getTransactionType().name());
+        entries.put("transactionResultType", event.getTransactionResultType().name());
+        entries.put("amount", String.valueOf(event.getAmount()));
+        entries.put("balanceSnapShot", String.valueOf(event.getBalanceSnapShot()));
+        entries.put("transactedAt", String.valueOf(event.getTransactedAt()));
+        return entries;
+    }
+
+    private void wakeUpAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            wakeUp();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wakeUp();
+            }
+        });
+    }
+
+    private void wakeUp() {
+        Thread thread = relayThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
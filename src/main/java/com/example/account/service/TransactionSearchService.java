@@ -0,0 +1,141 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.dto.TransactionSearch;
+import com.example.account.dto.TransactionType;
+import com.example.account.exception.AccountException;
+import com.example.account.exception.ConcurrencyLimitExceededException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.shard.ShardContext;
+import com.example.account.shard.ShardRouter;
+import com.example.account.type.TransactionResultType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.ErrorCode.*;
+
+/**
+ *  상담용 거래 검색 (계좌 + 기간 + 거래 종류 + 결과)
+ *  1. covering index(idx_transaction_search) 만 읽는 projection 쿼리, 거래일시 역순 keyset 페이지
+ *  2. 건수는 첫 페이지에서만 max-count 건까지만 세서 추정치로 돌려준다.
+ *  3. 조회 기간 / 페이지 크기 / 동시 검색 수 / 쿼리 시간을 제한해서 온라인 거래에 영향을 주지 않게 한다.
+ *  읽기 전용 - replica 에서 조회
+ */
+@Service
+public class TransactionSearchService {
+    private static final String CURSOR_SEPARATOR = "_";
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final ShardRouter shardRouter;
+    private final long maxDays;
+    private final int maxPageSize;
+    private final int maxCount;
+    private final Semaphore permits;
+
+    public TransactionSearchService(
+            TransactionRepository transactionRepository,
+            AccountRepository accountRepository,
+            ShardRouter shardRouter,
+            @Value("${account.search.max-days:92}") long maxDays,
+            @Value("${account.search.max-page-size:100}") int maxPageSize,
+            @Value("${account.search.max-count:1000}") int maxCount,
+            @Value("${account.search.max-concurrent:4}") int maxConcurrent) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.shardRouter = shardRouter;
+        this.maxDays = maxDays;
+        this.maxPageSize = maxPageSize;
+        this.maxCount = maxCount;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * @param from   시작 일시 (포함)
+     * @param to     종료 일시 (미포함)
+     * @param types  비어 있으면 전체
+     * @param cursor 이전 페이지의 nextCursor, 첫 페이지는 null
+     */
+    @Transactional(readOnly = true)
+    public TransactionSearch search(String accountNumber,
+                                    LocalDateTime from,
+                                    LocalDateTime to,
+                                    Collection<TransactionType> types,
+                                    Collection<TransactionResultType> resultTypes,
+                                    int size,
+                                    String cursor) {
+        if (!to.isAfter(from) || ChronoUnit.DAYS.between(from, to) >= maxDays
+                || size < 1 || size > maxPageSize) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+        LocalDateTime cursorAt = to;
+        long cursorId = 0;
+        if (cursor != null) {
+            int separator = cursor.lastIndexOf(CURSOR_SEPARATOR);
+            try {
+                cursorAt = LocalDateTime.parse(cursor.substring(0, separator));
+                cursorId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException e) {
+                throw new AccountException(INVALID_REQUEST);
+            }
+        }
+        Collection<TransactionType> typeFilter = types == null || types.isEmpty()
+                ? EnumSet.allOf(TransactionType.class) : types;
+        Collection<TransactionResultType> resultFilter = resultTypes == null || resultTypes.isEmpty()
+                ? EnumSet.allOf(TransactionResultType.class) : resultTypes;
+
+        // 동시 검색 수 초과 - 503 + Retry-After (GlobalExceptionHandler)
+        if (!permits.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException();
+        }
+        try {
+            ShardContext.bind(shardRouter.shardOf(accountNumber));
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+
+            // 다음 페이지 여부를 알기 위해 한 건 더 읽는다.
+            List<TransactionRepository.SearchRow> rows = transactionRepository.search(
+                    account.getId(), from, cursorAt, cursorId, typeFilter, resultFilter,
+                    PageRequest.of(0, size + 1));
+            String nextCursor = null;
+            if (rows.size() > size) {
+                rows = rows.subList(0, size);
+                TransactionRepository.SearchRow last = rows.get(size - 1);
+                nextCursor = last.getTransactedAt() + CURSOR_SEPARATOR + last.getId();
+            }
+
+            Long estimatedCount = null;
+            boolean countCapped = false;
+            if (cursor == null) {
+                int counted = transactionRepository.findSearchIds(
+                        account.getId(), from, to, typeFilter, resultFilter,
+                        PageRequest.of(0, maxCount + 1)).size();
+                countCapped = counted > maxCount;
+                estimatedCount = (long) Math.min(counted, maxCount);
+            }
+
+            return TransactionSearch.builder()
+                    .transactions(rows.stream()
+                            .map(TransactionSearch.Item::from)
+                            .collect(Collectors.toList()))
+                    .estimatedCount(estimatedCount)
+                    .countCapped(countCapped)
+                    .nextCursor(nextCursor)
+                    .build();
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -1,25 +1,38 @@
 package com.example.account.service;
 
+import com.example.account.config.ReplicaStalenessGuard;
+import com.example.account.config.ReplicationRoutingDataSource;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.domain.BalanceHold;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.AvailableBalance;
 import com.example.account.dto.TransactionDto;
 import com.example.account.dto.TransactionType;
+import com.example.account.dto.UseBalanceBatch;
 import com.example.account.exception.AccountException;
+import com.example.account.jfr.BalanceOperationEvent;
+import com.example.account.jfr.TransactionInsertEvent;
+import com.example.account.metrics.PhaseTimer;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.repository.TransactionRepository;
+import com.example.account.shard.ShardContext;
+import com.example.account.shard.ShardRouter;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
 import com.example.account.type.TransactionResultType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.time.LocalDateTime;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.example.account.dto.TransactionType.*;
 import static com.example.account.type.ErrorCode.*;
@@ -33,23 +46,65 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
+    private final BloomFilterService bloomFilterService;
+    private final ReplicaStalenessGuard replicaStalenessGuard;
+    private final ShardRouter shardRouter;
+    private final HotAccountService hotAccountService;
+    private final BalanceHoldService balanceHoldService;
+    private final TransactionOutboxService transactionOutboxService;
+    private final BalanceEventBroadcaster balanceEventBroadcaster;
 
     @Transactional
     public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
-        AccountUser user = accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        return useBalance(userId, accountNumber, amount, null);
+    }
 
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+    /**
+     * 거래 아이디를 미리 정해서 잔액 사용 (TransactionCommandService - 접수 번호를 거래 아이디로 사용)
+     * transactionId 가 없으면 새로 만든다.
+     */
+    @Transactional
+    public TransactionDto useBalance(Long userId, String accountNumber, Long amount, String transactionId) {
+        BalanceOperationEvent event = BalanceOperationEvent.start(USE, accountNumber, amount);
+        try {
+            // 계좌가 있는 샤드에서 사용자 / 계좌 / 거래를 모두 처리
+            ShardContext.bind(shardRouter.shardOf(accountNumber));
+            // 홀드와 같은 락 안에서 잔액 - 홀드 합계를 확인하고 커밋 (홀드 기능을 쓰는 경우만)
+            balanceHoldService.lockUntilCompletion(accountNumber);
+            AccountUser user = accountUserRepository.findById(userId)
+                    .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+            PhaseTimer.mark("user");
 
-        validateUseBalance(user, account, amount);
+            Account account = getAccount(accountNumber);
+            PhaseTimer.mark("account");
 
-        account.useBalance(amount);
+            long heldAmount = balanceHoldService.heldAmount(accountNumber);
+            validateUseBalance(user, account, amount, heldAmount);
+            PhaseTimer.mark("validate");
 
-        return TransactionDto.fromEntity(saveAndGetTransaction(USE, S, amount, account));
+            long balanceSnapShot;
+            if (account.isBalanceSplit()) {
+                balanceSnapShot = hotAccountService.useBalance(account, amount, heldAmount);
+            } else {
+                account.useBalance(amount);
+                balanceSnapShot = account.getBalance();
+                flushAccount();
+            }
+            PhaseTimer.mark("balance");
+
+            TransactionDto transactionDto = TransactionDto.fromEntity(
+                    saveAndGetTransaction(USE, S, amount, account, balanceSnapShot, transactionId));
+            event.success();
+            return transactionDto;
+        } catch (AccountException e) {
+            event.fail(e.getErrorCode());
+            throw e;
+        } finally {
+            event.finish();
+        }
     }
 
-    private void validateUseBalance(AccountUser user, Account account, Long amount) {
+    private void validateUseBalance(AccountUser user, Account account, Long amount, long heldAmount) {
         // 사용자 아이디와 계좌 소유주가 불일치 하는 경우
         if (!Objects.equals(user.getId(), account.getAccountUser().getId())) {
             throw new AccountException(USER_ACCOUNT_UN_MATCH);
@@ -58,52 +113,279 @@ public class TransactionService {
         if (account.getAccountStatus() != AccountStatus.IN_USE) {
             throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
         }
-        // 거래 금액이 잔액보다 큰 경우
-        if (account.getBalance() < amount) {
+        // 거래 금액이 사용 가능 잔액(잔액 - 홀드)보다 큰 경우 (잔액 분할 계좌는 슬롯을 잠그고 차감할 때 확인)
+        if (!account.isBalanceSplit() && account.getBalance() - heldAmount < amount) {
             throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
         }
     }
 
     @Transactional
     public void saveFailedUseBalance(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+        ShardContext.bind(shardRouter.shardOf(accountNumber));
+        Account account = getAccount(accountNumber);
 
-        saveAndGetTransaction(USE, F, amount, account);
+        saveAndGetTransaction(USE, F, amount, account, balanceOf(account));
     }
 
     private Transaction saveAndGetTransaction(
             TransactionType transactionType,
             TransactionResultType resultType,
                                               Long amount,
-                                              Account account) {
-        return transactionRepository.save(
-                Transaction.builder()
-                        .transactionType(transactionType)
-                        .transactionResultType(resultType)
-                        .account(account)
-                        .amount(amount)
-                        .balanceSnapShot(account.getBalance())
-                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
-                        .transactedAt(LocalDateTime.now())
-                        .build()
-        );
+                                              Account account,
+                                              Long balanceSnapShot) {
+        return saveAndGetTransaction(
+                transactionType, resultType, amount, account, balanceSnapShot, null);
+    }
+
+    private Transaction saveAndGetTransaction(
+            TransactionType transactionType,
+            TransactionResultType resultType,
+            Long amount,
+            Account account,
+            Long balanceSnapShot,
+            String transactionId) {
+        return saveAndGetTransaction(
+                transactionType, resultType, amount, account, balanceSnapShot, transactionId, null);
+    }
+
+    private Transaction saveAndGetTransaction(
+            TransactionType transactionType,
+            TransactionResultType resultType,
+            Long amount,
+            Account account,
+            Long balanceSnapShot,
+            String transactionId,
+            String originalTransactionId) {
+        TransactionInsertEvent insertEvent = new TransactionInsertEvent();
+        insertEvent.begin();
+
+        Transaction newTransaction = newTransaction(
+                transactionType, resultType, amount, account, balanceSnapShot, transactionId);
+        newTransaction.setOriginalTransactionId(originalTransactionId);
+        transactionId = newTransaction.getTransactionId();
+        Transaction transaction = transactionRepository.save(newTransaction);
+        transactionOutboxService.record(newTransaction);
+        if (resultType == S) {
+            balanceEventBroadcaster.publishAfterCommit(newTransaction);
+        }
+
+        if (insertEvent.shouldCommit()) {
+            insertEvent.accountNumber = account.getAccountNumber();
+            insertEvent.transactionType = transactionType.name();
+            insertEvent.resultType = resultType.name();
+            insertEvent.transactionId = transactionId;
+            insertEvent.commit();
+        }
+        PhaseTimer.mark("insert");
+        replicaStalenessGuard.markTransactionWritten(transactionId);
+        replicaStalenessGuard.markAccountWritten(account);
+        // 실제 update / insert 쿼리는 커밋 시점의 flush 에서 나간다.
+        PhaseTimer.markOnCompletion("commit");
+
+        return transaction;
+    }
+
+    private Transaction newTransaction(
+            TransactionType transactionType,
+            TransactionResultType resultType,
+            Long amount,
+            Account account,
+            Long balanceSnapShot,
+            String transactionId) {
+        if (transactionId == null) {
+            transactionId = ShardRouter.newTransactionId(
+                    shardRouter.shardOf(account.getAccountNumber()));
+        }
+        // 롤백되더라도 필터에는 "있을 수도 있음"으로 남을 뿐이므로 저장 전에 추가
+        bloomFilterService.addTransactionId(transactionId);
+
+        return Transaction.builder()
+                .transactionType(transactionType)
+                .transactionResultType(resultType)
+                .account(account)
+                .amount(amount)
+                .balanceSnapShot(balanceSnapShot)
+                .transactionId(transactionId)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * 같은 계좌에 대한 잔액 사용 요청 묶음 처리 (UseBalanceGroupCommitter)
+     * 1. 계좌 / 사용자는 한번만 조회
+     * 2. 요청 순서대로 검증하고 잔액에 반영 (앞 요청이 사용한 금액이 뒤 요청의 잔액 확인에 반영된다)
+     * 3. 성공한 거래를 한번에 저장하고 한번만 커밋 (계좌 update 도 커밋 시점에 한번)
+     * 실패한 요청은 요청별 결과에 에러코드로 돌려준다.
+     */
+    @Transactional
+    public List<UseBalanceBatch.Result> useBalanceBatch(
+            String accountNumber, List<UseBalanceBatch.Command> commands) {
+        ShardContext.bind(shardRouter.shardOf(accountNumber));
+
+        Account account;
+        try {
+            balanceHoldService.lockUntilCompletion(accountNumber);
+            account = getAccount(accountNumber);
+        } catch (AccountException e) {
+            return commands.stream()
+                    .map(command -> UseBalanceBatch.Result.fail(e.getErrorCode()))
+                    .collect(Collectors.toList());
+        }
+        Map<Long, AccountUser> users = accountUserRepository.findAllById(
+                        commands.stream()
+                                .map(UseBalanceBatch.Command::getUserId)
+                                .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(AccountUser::getId, Function.identity()));
+        long heldAmount = balanceHoldService.heldAmount(accountNumber);
+        PhaseTimer.mark("account");
+
+        // 성공한 요청 자리는 비워두고 저장 후에 채운다.
+        List<UseBalanceBatch.Result> results = new ArrayList<>(commands.size());
+        List<Transaction> transactions = new ArrayList<>();
+        for (UseBalanceBatch.Command command : commands) {
+            try {
+                AccountUser user = users.get(command.getUserId());
+                if (user == null) {
+                    throw new AccountException(USER_NOT_FOUND);
+                }
+                validateUseBalance(user, account, command.getAmount(), heldAmount);
+
+                long balanceSnapShot;
+                if (account.isBalanceSplit()) {
+                    balanceSnapShot = hotAccountService.useBalance(
+                            account, command.getAmount(), heldAmount);
+                } else {
+                    account.useBalance(command.getAmount());
+                    balanceSnapShot = account.getBalance();
+                }
+                transactions.add(newTransaction(USE, S, command.getAmount(), account, balanceSnapShot, null));
+                results.add(null);
+            } catch (AccountException e) {
+                results.add(UseBalanceBatch.Result.fail(e.getErrorCode()));
+            }
+        }
+        PhaseTimer.mark("balance");
+
+        if (transactions.isEmpty()) {
+            return results;
+        }
+        if (!account.isBalanceSplit()) {
+            flushAccount();
+        }
+
+        // hibernate.jdbc.batch_size 단위로 묶어서 insert
+        Iterator<Transaction> saved = transactionRepository.saveAll(transactions).iterator();
+        transactionOutboxService.recordAll(transactions);
+        transactions.forEach(balanceEventBroadcaster::publishAfterCommit);
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                Transaction transaction = saved.next();
+                replicaStalenessGuard.markTransactionWritten(transaction.getTransactionId());
+                results.set(i, UseBalanceBatch.Result.success(TransactionDto.fromEntity(transaction)));
+            }
+        }
+        replicaStalenessGuard.markAccountWritten(account);
+        PhaseTimer.mark("insert");
+        PhaseTimer.markOnCompletion("commit");
+
+        return results;
+    }
+
+    /**
+     * 잔액 홀드 - 사용 가능 잔액(잔액 - 다른 홀드)을 확인하고 Redis 에만 기록
+     * 거래 기록 / 잔액 변경 없이 TTL 이 지나면 저절로 풀린다.
+     */
+    @Transactional(readOnly = true)
+    public BalanceHold holdBalance(Long userId, String accountNumber, Long amount, Long ttlSeconds) {
+        // 홀드 직후 확정하는 경우가 많으므로 replica 가 아닌 primary 에서 잔액 확인
+        ReplicationRoutingDataSource.usePrimaryForCurrentTransaction();
+        ShardContext.bind(shardRouter.shardOf(accountNumber));
+        // 잔액 사용과 같은 락 - 잠근 뒤에 잔액을 읽어서 진행중인 사용이 커밋된 잔액으로 확인
+        balanceHoldService.lockUntilCompletion(accountNumber);
+        AccountUser user = accountUserRepository.findById(userId)
+                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        Account account = getAccount(accountNumber);
+        validateUseBalance(user, account, amount, 0L);
+
+        return balanceHoldService.hold(userId, accountNumber, amount, ttlSeconds, balanceOf(account));
+    }
+
+    /**
+     * 홀드 확정 - 홀드를 꺼내서 잔액 사용 거래로 반영 (DB 에 쓰는 유일한 단계)
+     * 실패해서 롤백되면 홀드는 남은 TTL 로 되돌아간다.
+     */
+    @Transactional
+    public TransactionDto captureHold(String holdId, String accountNumber) {
+        ShardContext.bind(shardRouter.shardOf(accountNumber));
+        // 홀드를 꺼내기 전에 잠근다. 꺼낸 뒤 잔액 반영 전까지 다른 홀드가 같은 잔액을 잡지 않도록
+        // (useBalance 는 같은 락을 다시 잡는다 - 재진입)
+        balanceHoldService.lockUntilCompletion(accountNumber);
+        BalanceHold hold = balanceHoldService.take(holdId, accountNumber);
+        return useBalance(hold.getUserId(), accountNumber, hold.getAmount());
+    }
+
+    public BalanceHold releaseHold(String holdId, String accountNumber) {
+        return balanceHoldService.release(holdId, accountNumber);
+    }
+
+    @Transactional(readOnly = true)
+    public AvailableBalance getAvailableBalance(String accountNumber) {
+        ShardContext.bind(shardRouter.shardOf(accountNumber));
+        Account account = getAccount(accountNumber);
+        long balance = balanceOf(account);
+        long heldAmount = balanceHoldService.heldAmount(accountNumber);
+
+        return AvailableBalance.builder()
+                .accountNumber(accountNumber)
+                .balance(balance)
+                .heldAmount(heldAmount)
+                .availableBalance(balance - heldAmount)
+                .build();
     }
 
     @Transactional
     public TransactionDto cancelBalance(String transactionId, String accountNumber, Long amount) {
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND));
+        BalanceOperationEvent event = BalanceOperationEvent.start(CANCEL, accountNumber, amount);
+        try {
+            // 원거래도 같은 계좌의 샤드에 있으므로 계좌번호 기준으로 샤드 결정
+            ShardContext.bind(shardRouter.shardOf(accountNumber));
+            Transaction transaction = getTransaction(transactionId);
+            PhaseTimer.mark("transaction");
 
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+            Account account = getAccount(accountNumber);
+            PhaseTimer.mark("account");
 
-        validateCancelBalance(transaction, account, amount);
+            validateCancelBalance(transaction, account, amount);
+            PhaseTimer.mark("validate");
 
-        account.cancelBalance(amount);
+            long balanceSnapShot;
+            if (account.isBalanceSplit()) {
+                balanceSnapShot = hotAccountService.cancelBalance(account, amount);
+            } else {
+                account.cancelBalance(amount);
+                balanceSnapShot = account.getBalance();
+                flushAccount();
+            }
+            PhaseTimer.mark("balance");
 
-        return TransactionDto.fromEntity(
-                saveAndGetTransaction(CANCEL, S, amount, account));
+            Transaction cancelTransaction = saveAndGetTransaction(
+                    CANCEL, S, amount, account, balanceSnapShot, null, transactionId);
+            try {
+                // 동시에 들어온 같은 거래의 취소는 unique 제약에 걸리므로 여기서 바로 insert 해서 확인
+                transactionRepository.flush();
+            } catch (DataIntegrityViolationException e) {
+                throw new AccountException(TRANSACTION_ALREADY_CANCELLED);
+            }
+            TransactionDto transactionDto = TransactionDto.fromEntity(cancelTransaction);
+            event.success();
+            return transactionDto;
+        } catch (AccountException e) {
+            event.fail(e.getErrorCode());
+            throw e;
+        } finally {
+            event.finish();
+        }
     }
 
     private void validateCancelBalance(Transaction transaction, Account account, Long amount) {
@@ -111,6 +393,10 @@ public class TransactionService {
         if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
             throw new AccountException(TRANSACTION_ACCOUNT_UN_MATCH);
         }
+        // 성공한 잔액 사용 거래가 아닌 경우 (취소 거래를 다시 취소하거나 실패한 거래를 취소하지 않도록)
+        if (transaction.getTransactionType() != USE || transaction.getTransactionResultType() != S) {
+            throw new AccountException(TRANSACTION_NOT_CANCELLABLE);
+        }
         // 거래금액과 취소금액이 다른경우
         if (!Objects.equals(transaction.getAmount(), amount)) {
             throw new AccountException(CANCEL_MUST_FULLY);
@@ -119,19 +405,79 @@ public class TransactionService {
         if (transaction.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))) {
             throw new AccountException(TOO_OLD_ORDER_TO_CANCEL);
         }
+        // 이미 취소된 거래인경우 (원거래 아이디 unique 인덱스 조회 한번)
+        if (transactionRepository.existsByOriginalTransactionId(transaction.getTransactionId())) {
+            throw new AccountException(TRANSACTION_ALREADY_CANCELLED);
+        }
     }
 
     @Transactional
     public void saveFailedCancelBalance(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+        ShardContext.bind(shardRouter.shardOf(accountNumber));
+        Account account = getAccount(accountNumber);
 
-        saveAndGetTransaction(CANCEL, F, amount, account);
+        saveAndGetTransaction(CANCEL, F, amount, account, balanceOf(account));
     }
 
+    // 읽기 전용 - replica 에서 조회, flush 생략 (방금 기록된 거래는 primary 에서 조회)
+    @Transactional(readOnly = true)
     public TransactionDto queryTransaction(String transactionId) {
-        return TransactionDto.fromEntity(
-                transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND)));
+        // 거래 아이디에 샤드 번호가 있으므로 해당 샤드만 조회
+        int shard = shardRouter.shardOfTransactionId(transactionId);
+        if (shard < 0) {
+            throw new AccountException(TRANSACTION_NOT_FOUND);
+        }
+        ShardContext.bind(shard);
+        replicaStalenessGuard.routeTransactionReads(transactionId);
+
+        return TransactionDto.fromEntity(getTransaction(transactionId));
+    }
+
+    private Long balanceOf(Account account) {
+        return account.isBalanceSplit() ? hotAccountService.getBalance(account) : account.getBalance();
+    }
+
+    /**
+     * 다시 전달된 비동기 거래 요청이 이미 반영되었는지 확인 (TransactionCommandService)
+     * 복제 지연으로 놓치면 중복 반영되므로 primary 에서 조회
+     */
+    @Transactional(readOnly = true)
+    public Optional<TransactionDto> findAppliedTransaction(String transactionId) {
+        ReplicationRoutingDataSource.usePrimaryForCurrentTransaction();
+        int shard = shardRouter.shardOfTransactionId(transactionId);
+        if (shard < 0) {
+            return Optional.empty();
+        }
+        ShardContext.bind(shard);
+        return transactionRepository.findByTransactionId(transactionId)
+                .map(TransactionDto::fromEntity);
+    }
+
+    // 읽은 뒤에 잔액 분할 / 합치기가 커밋된 경우 (version 불일치) 잔액을 덮어쓰지 않고 실패
+    // -> 다른 요청이 계좌를 쓰고 있을 때와 같이 ACCOUNT_TRANSACTION_LOCK 으로 응답하고 재시도는 요청자가 한다.
+    private void flushAccount() {
+        try {
+            accountRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+        }
+    }
+
+    // 블룸필터에 없는 계좌번호는 DB 조회 없이 실패 처리
+    private Account getAccount(String accountNumber) {
+        if (bloomFilterService.isUnknownAccountNumber(accountNumber)) {
+            throw new AccountException(ACCOUNT_NOT_FOUND);
+        }
+        return accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+    }
+
+    // 블룸필터에 없는 거래 아이디는 DB 조회 없이 실패 처리
+    private Transaction getTransaction(String transactionId) {
+        if (bloomFilterService.isUnknownTransactionId(transactionId)) {
+            throw new AccountException(TRANSACTION_NOT_FOUND);
+        }
+        return transactionRepository.findByTransactionId(transactionId)
+                .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND));
     }
 }
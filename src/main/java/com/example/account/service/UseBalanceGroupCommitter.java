@@ -0,0 +1,170 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.exception.AccountException;
+import com.example.account.metrics.PhaseTimer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ *  같은 계좌에 대한 잔액 사용 요청 묶어서 커밋 (group commit)
+ *  1. 계좌별 대기열에 요청을 넣고, 처리중인 요청이 없으면 직접 대표(leader) 가 되어 처리
+ *  2. 대표는 대기열에 쌓인 요청을 최대 max-batch-size 개씩 꺼내 한 트랜잭션으로 처리
+ *     (TransactionService.useBalanceBatch) 하고 각 요청자에게 결과를 돌려준다.
+ *  3. 나머지 요청자는 결과가 나오거나 대표 차례가 올 때까지 기다린다.
+ *  경합이 없으면 묶을 요청이 없으므로 기존처럼 한건씩 바로 처리된다.
+ */
+@Service
+public class UseBalanceGroupCommitter {
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final TransactionService transactionService;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final DistributionSummary batchSize;
+
+    private final ConcurrentHashMap<String, AccountQueue> queues = new ConcurrentHashMap<>();
+
+    public UseBalanceGroupCommitter(
+            TransactionService transactionService,
+            @Value("${account.group-commit.enabled:false}") boolean enabled,
+            @Value("${account.group-commit.max-batch-size:32}") int maxBatchSize,
+            @Value("${account.group-commit.window-micros:0}") long windowMicros,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.transactionService = transactionService;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.batchSize = registry == null ? null : DistributionSummary
+                .builder("transaction.group_commit.batch.size")
+                .description("Balance use requests committed together")
+                .register(registry);
+    }
+
+    public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+        if (!enabled) {
+            return transactionService.useBalance(userId, accountNumber, amount);
+        }
+
+        Pending pending = new Pending(new UseBalanceBatch.Command(userId, amount));
+        AccountQueue queue = queues.compute(accountNumber, (key, existing) -> {
+            AccountQueue accountQueue = existing != null ? existing : new AccountQueue();
+            accountQueue.pending.add(pending);
+            return accountQueue;
+        });
+
+        while (!pending.done) {
+            if (queue.running.compareAndSet(false, true)) {
+                try {
+                    drain(accountNumber, queue, pending);
+                } finally {
+                    queue.running.set(false);
+                }
+                handOff(accountNumber, queue);
+            } else {
+                // 대표가 결과를 채우거나 차례를 넘겨줄 때 깨운다.
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+        }
+        PhaseTimer.mark("group_commit");
+        return pending.result();
+    }
+
+    // 자신의 요청이 처리될 때까지 대기열을 묶음 단위로 처리
+    private void drain(String accountNumber, AccountQueue queue, Pending own) {
+        if (windowNanos > 0) {
+            LockSupport.parkNanos(windowNanos);
+        }
+        while (!own.done) {
+            List<Pending> batch = new ArrayList<>();
+            Pending next;
+            while (batch.size() < maxBatchSize && (next = queue.pending.poll()) != null) {
+                batch.add(next);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            execute(accountNumber, batch);
+        }
+    }
+
+    private void execute(String accountNumber, List<Pending> batch) {
+        if (batchSize != null) {
+            batchSize.record(batch.size());
+        }
+        try {
+            List<UseBalanceBatch.Result> results = transactionService.useBalanceBatch(
+                    accountNumber,
+                    batch.stream().map(pending -> pending.command).collect(Collectors.toList()));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).complete(results.get(i), null);
+            }
+        } catch (RuntimeException e) {
+            // 커밋 실패 등 묶음 전체가 실패한 경우
+            batch.forEach(pending -> pending.complete(null, e));
+        }
+    }
+
+    // 남은 요청이 있으면 맨 앞 요청자를 깨워 대표를 넘기고, 없으면 대기열 정리
+    private void handOff(String accountNumber, AccountQueue queue) {
+        Pending head = queue.pending.peek();
+        if (head != null) {
+            LockSupport.unpark(head.thread);
+            return;
+        }
+        queues.computeIfPresent(accountNumber, (key, accountQueue) ->
+                accountQueue == queue && accountQueue.pending.isEmpty() && !accountQueue.running.get()
+                        ? null : accountQueue);
+    }
+
+    private static class AccountQueue {
+        private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+    }
+
+    private static class Pending {
+        private final UseBalanceBatch.Command command;
+        private final Thread thread = Thread.currentThread();
+        private UseBalanceBatch.Result result;
+        private RuntimeException error;
+        private volatile boolean done;
+
+        private Pending(UseBalanceBatch.Command command) {
+            this.command = command;
+        }
+
+        private void complete(UseBalanceBatch.Result result, RuntimeException error) {
+            this.result = result;
+            this.error = error;
+            this.done = true;
+            LockSupport.unpark(thread);
+        }
+
+        private TransactionDto result() {
+            if (error != null) {
+                throw error;
+            }
+            if (result.getErrorCode() != null) {
+                throw new AccountException(result.getErrorCode());
+            }
+            return result.getTransactionDto();
+        }
+    }
+}
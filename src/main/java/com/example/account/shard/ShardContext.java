@@ -0,0 +1,43 @@
+package com.example.account.shard;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ *  현재 트랜잭션이 사용할 샤드 (ShardRoutingDataSource 가 커넥션을 가져올 때 사용)
+ *  트랜잭션 안의 첫 쿼리 전에 bind 해야 하고, 트랜잭션이 끝나면 자동으로 해제된다.
+ *  트랜잭션 밖에서는 bind 하지 않으므로 0번 샤드를 사용한다.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static void bind(int shard) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Integer current = CURRENT.get();
+        if (current != null) {
+            // 한 트랜잭션은 하나의 샤드 커넥션만 사용한다.
+            if (current != shard) {
+                throw new IllegalStateException(
+                        "Transaction already bound to shard " + current + ", requested " + shard);
+            }
+            return;
+        }
+        CURRENT.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                CURRENT.remove();
+            }
+        });
+    }
+
+    static int current() {
+        Integer shard = CURRENT.get();
+        return shard == null ? 0 : shard;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.account.shard;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ *  0번 샤드(spring.datasource) 외에 추가된 샤드의 DataSource 목록
+ *  get(1) 이 1번 샤드
+ */
+@Slf4j
+public class ShardDataSources implements AutoCloseable {
+    private final List<DataSource> dataSources;
+
+    public ShardDataSources(List<? extends DataSource> dataSources) {
+        this.dataSources = new ArrayList<>(dataSources);
+    }
+
+    public int size() {
+        return dataSources.size();
+    }
+
+    public DataSource get(int shard) {
+        return dataSources.get(shard - 1);
+    }
+
+    @Override
+    public void close() {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) dataSource).close();
+                } catch (Exception e) {
+                    log.warn("Failed to close shard datasource.", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.account.shard;
+
+import java.util.UUID;
+
+/**
+ *  계좌번호 기준 샤드 결정
+ *  1. 계좌 / 거래는 계좌번호 해시로 정해진 샤드에 저장
+ *  2. 거래 아이디 앞 2자리(16진수)에 샤드 번호를 넣어 거래 아이디만으로 바로 찾아갈 수 있게 한다.
+ *  3. 엔티티 아이디(id) 는 샤드별 시퀀스가 (샤드 번호 + 1) 부터 샤드 수만큼 증가 -> (id - 1) % 샤드 수 = 샤드 번호
+ */
+public class ShardRouter {
+    public static final int MAX_SHARD_COUNT = 256;
+
+    private final int shardCount;
+
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1 || shardCount > MAX_SHARD_COUNT) {
+            throw new IllegalArgumentException("shardCount must be between 1 and " + MAX_SHARD_COUNT);
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(String accountNumber) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        return Math.floorMod(mix(accountNumber.hashCode()), shardCount);
+    }
+
+    // 샤드가 하나뿐일 때는 기존(샤드 번호가 없는) 거래 아이디도 그대로 찾을 수 있게 한다.
+    public int shardOfTransactionId(String transactionId) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        if (transactionId == null || transactionId.length() < 2) {
+            return -1;
+        }
+        try {
+            int shard = Integer.parseInt(transactionId.substring(0, 2), 16);
+            return shard < shardCount ? shard : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public int shardOfId(Long id) {
+        return (int) Math.floorMod(id - 1, (long) shardCount);
+    }
+
+    public static String newTransactionId(int shard) {
+        String uuid = UUID.randomUUID().toString().replace("-", "");
+        return String.format("%02x", shard) + uuid.substring(2);
+    }
+
+    // 연속된 계좌번호도 샤드에 고르게 퍼지도록 해시를 한번 더 섞는다. (murmur3 finalizer)
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
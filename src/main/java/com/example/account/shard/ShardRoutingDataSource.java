@@ -0,0 +1,15 @@
+package com.example.account.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ *  ShardContext 에 지정된 샤드의 DataSource 로 보낸다.
+ *  LazyConnectionDataSourceProxy 로 감싸서 첫 쿼리 시점에 샤드가 정해지게 한다. (DataSourceConfig)
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.account.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *  로컬(H2) 샤드 준비
+ *  1. 0번 샤드에 hibernate 가 만든 스키마를 나머지 샤드에 복사
+ *  2. 사용자(account_user) 는 모든 샤드에 복사 (계좌가 어느 샤드에 있든 같은 샤드에서 조인)
+ *  3. 아이디 시퀀스를 (샤드 번호 + 1) 부터 샤드 수만큼 증가하도록 변경
+ *  data.sql 까지 끝난 뒤(모든 빈 생성 후) 에 실행한다. 운영 샤드는 각자 마이그레이션으로 관리
+ */
+@Slf4j
+@Component
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+    private final DataSource primaryDataSource;
+    private final ShardDataSources shardDataSources;
+    private final boolean enabled;
+
+    public ShardSchemaInitializer(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            ShardDataSources shardDataSources,
+            @Value("${account.sharding.initialize-schema:true}") boolean enabled) {
+        this.primaryDataSource = primaryDataSource;
+        this.shardDataSources = shardDataSources;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled && shardDataSources.size() > 0) {
+            initialize();
+        }
+    }
+
+    void initialize() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        List<String> schema = primary.queryForList("SCRIPT NODATA", String.class);
+        List<Map<String, Object>> users = primary.queryForList(
+                "select id, name, created_at, updated_at from account_user");
+
+        int shardCount = shardDataSources.size() + 1;
+        for (int shard = 1; shard < shardCount; shard++) {
+            JdbcTemplate target = new JdbcTemplate(shardDataSources.get(shard));
+            for (String statement : schema) {
+                if (!statement.startsWith("--")) {
+                    target.execute(statement);
+                }
+            }
+            for (Map<String, Object> user : users) {
+                target.update(
+                        "insert into account_user(id, name, created_at, updated_at) values (?, ?, ?, ?)",
+                        user.get("id"), user.get("name"), user.get("created_at"), user.get("updated_at"));
+            }
+            restartSequence(target, shard, shardCount);
+        }
+        restartSequence(primary, 0, shardCount);
+
+        log.info("Initialized {} shard(s) with {} user(s).", shardCount - 1, users.size());
+    }
+
+    private void restartSequence(JdbcTemplate jdbcTemplate, int shard, int shardCount) {
+        jdbcTemplate.execute("alter sequence hibernate_sequence restart with "
+                + (shard + 1) + " increment by " + shardCount);
+    }
+}
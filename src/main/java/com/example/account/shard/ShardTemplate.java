@@ -0,0 +1,104 @@
+package com.example.account.shard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ *  여러 샤드에 걸친 작업 실행
+ *  1. readAllShards - 모든 샤드를 동시에 조회해서 결과를 합친다. (샤드별 읽기 전용 트랜잭션)
+ *  2. forEachShard - 샤드마다 차례로 실행 (샤드별 트랜잭션)
+ *  샤드가 하나뿐이면 호출한 스레드에서 바로 실행한다.
+ */
+@Component
+public class ShardTemplate {
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final ExecutorService fanOutExecutor;
+
+    public ShardTemplate(
+            ShardRouter shardRouter,
+            PlatformTransactionManager transactionManager,
+            @Value("${account.sharding.fan-out-pool-size:16}") int fanOutPoolSize) {
+        this.shardRouter = shardRouter;
+        if (shardRouter.getShardCount() == 1) {
+            readTemplate = null;
+            writeTemplate = null;
+            fanOutExecutor = null;
+            return;
+        }
+
+        // 호출한 쪽의 트랜잭션(다른 샤드 커넥션) 에 참여하지 않도록 항상 새 트랜잭션
+        readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readTemplate.setReadOnly(true);
+        writeTemplate = new TransactionTemplate(transactionManager);
+        writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        fanOutExecutor = Executors.newFixedThreadPool(
+                fanOutPoolSize, new CustomizableThreadFactory("shard-fan-out-"));
+    }
+
+    public <T> List<T> readAllShards(IntFunction<List<T>> query) {
+        if (shardRouter.getShardCount() == 1) {
+            return query.apply(0);
+        }
+
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> readTemplate.execute(status -> {
+                ShardContext.bind(target);
+                return query.apply(target);
+            }), fanOutExecutor));
+        }
+
+        List<T> results = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<T>> future : futures) {
+                results.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    public void forEachShard(IntConsumer work) {
+        if (shardRouter.getShardCount() == 1) {
+            work.accept(0);
+            return;
+        }
+
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int target = shard;
+            writeTemplate.executeWithoutResult(status -> {
+                ShardContext.bind(target);
+                work.accept(target);
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.account.tcp;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionType;
+import com.example.account.type.TransactionResultType;
+import io.netty.buffer.ByteBuf;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ *  거래 API 바이너리 프로토콜 (서버 / 클라이언트 공용)
+ *
+ *  프레임 : [int 길이][본문] - 길이는 본문 바이트 수
+ *  요청 본문 : [byte op][int requestId][payload]
+ *    USE    : long userId, 계좌번호(10 byte), long amount
+ *    CANCEL : str transactionId, 계좌번호(10 byte), long amount
+ *    QUERY  : str transactionId
+ *  응답 본문 : [byte status][int requestId][payload]
+ *    OK            : str transactionId, 계좌번호(10 byte), byte 거래종류, byte 결과, long amount,
+ *                    long balanceSnapShot, long transactedAt(epoch ms)
+ *    ACCOUNT_ERROR : str ErrorCode 이름
+ *    SERVER_ERROR  : str 메시지
+ *  str 은 [unsigned byte 길이][ASCII], 문자열은 모두 ASCII
+ *  한 연결에서 응답을 기다리지 않고 요청을 이어 보낼 수 있고(pipelining), 응답은 requestId 로 짝을 맞춘다.
+ */
+public final class BinaryProtocol {
+    public static final int LENGTH_FIELD_SIZE = 4;
+    public static final int MAX_FRAME_LENGTH = 1024;
+    public static final int ACCOUNT_NUMBER_LENGTH = 10;
+
+    public static final byte OP_USE = 1;
+    public static final byte OP_CANCEL = 2;
+    public static final byte OP_QUERY = 3;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_ACCOUNT_ERROR = 1;
+    public static final byte STATUS_SERVER_ERROR = 2;
+
+    private static final int MAX_STRING_LENGTH = 255;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private BinaryProtocol() {
+    }
+
+    public static void writeString(ByteBuf out, String value) {
+        int length = Math.min(value.length(), MAX_STRING_LENGTH);
+        out.writeByte(length);
+        out.writeCharSequence(value.substring(0, length), StandardCharsets.US_ASCII);
+    }
+
+    public static String readString(ByteBuf in) {
+        return in.readCharSequence(in.readUnsignedByte(), StandardCharsets.US_ASCII).toString();
+    }
+
+    public static void writeAccountNumber(ByteBuf out, String accountNumber) {
+        if (accountNumber.length() != ACCOUNT_NUMBER_LENGTH) {
+            throw new IllegalArgumentException("Account number must be 10 characters.");
+        }
+        out.writeCharSequence(accountNumber, StandardCharsets.US_ASCII);
+    }
+
+    public static String readAccountNumber(ByteBuf in) {
+        return in.readCharSequence(ACCOUNT_NUMBER_LENGTH, StandardCharsets.US_ASCII).toString();
+    }
+
+    public static void writeTransaction(ByteBuf out, TransactionDto transactionDto) {
+        writeString(out, transactionDto.getTransactionId());
+        writeAccountNumber(out, transactionDto.getAccountNumber());
+        out.writeByte(transactionDto.getTransactionType().ordinal());
+        out.writeByte(transactionDto.getTransactionResultType().ordinal());
+        out.writeLong(transactionDto.getAmount());
+        out.writeLong(transactionDto.getBalanceSnapShot());
+        out.writeLong(transactionDto.getTransactedAt().atZone(ZONE).toInstant().toEpochMilli());
+    }
+
+    public static TransactionDto readTransaction(ByteBuf in) {
+        return TransactionDto.builder()
+                .transactionId(readString(in))
+                .accountNumber(readAccountNumber(in))
+                .transactionType(TransactionType.values()[in.readByte()])
+                .transactionResultType(TransactionResultType.values()[in.readByte()])
+                .amount(in.readLong())
+                .balanceSnapShot(in.readLong())
+                .transactedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZONE))
+                .build();
+    }
+}
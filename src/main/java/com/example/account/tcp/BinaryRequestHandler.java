@@ -0,0 +1,162 @@
+package com.example.account.tcp;
+
+import com.example.account.config.TransactionExecutors;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.exception.ConcurrencyLimitExceededException;
+import com.example.account.service.FailedTransactionRecorder;
+import com.example.account.service.TransactionService;
+import com.example.account.service.UseBalanceGroupCommitter;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.example.account.tcp.BinaryProtocol.*;
+import static com.example.account.type.ErrorCode.INVALID_REQUEST;
+import static com.example.account.type.ErrorCode.SERVICE_OVERLOADED;
+
+/**
+ *  바이너리 요청 처리 (연결마다 하나)
+ *  프레임은 복사하지 않고 그대로 읽어서 REST 와 같은 작업 스레드 풀(TransactionExecutors) 에서 처리한다.
+ *  처리중인 요청이 max-inflight 를 넘으면 응답이 나갈 때까지 소켓 읽기를 멈춘다.
+ */
+@Slf4j
+class BinaryRequestHandler extends SimpleChannelInboundHandler<ByteBuf> {
+    private final TransactionService transactionService;
+    private final UseBalanceGroupCommitter useBalanceGroupCommitter;
+    private final TransactionExecutors transactionExecutors;
+    private final FailedTransactionRecorder failedTransactionRecorder;
+    private final int maxInflight;
+
+    // 이벤트 루프에서만 변경
+    private int inflight;
+
+    BinaryRequestHandler(TransactionService transactionService,
+                         UseBalanceGroupCommitter useBalanceGroupCommitter,
+                         TransactionExecutors transactionExecutors,
+                         FailedTransactionRecorder failedTransactionRecorder,
+                         int maxInflight) {
+        this.transactionService = transactionService;
+        this.useBalanceGroupCommitter = useBalanceGroupCommitter;
+        this.transactionExecutors = transactionExecutors;
+        this.failedTransactionRecorder = failedTransactionRecorder;
+        this.maxInflight = maxInflight;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) {
+        byte op = frame.readByte();
+        int requestId = frame.readInt();
+
+        CompletableFuture<TransactionDto> future;
+        try {
+            future = dispatch(op, frame);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        if (++inflight >= maxInflight) {
+            ctx.channel().config().setAutoRead(false);
+        }
+        future.whenComplete((transactionDto, e) -> ctx.executor().execute(
+                () -> respond(ctx, requestId, transactionDto, e)));
+    }
+
+    // 프레임은 이 메서드가 끝나면 해제되므로 필요한 값은 여기서 모두 읽는다.
+    private CompletableFuture<TransactionDto> dispatch(byte op, ByteBuf frame) {
+        switch (op) {
+            case OP_USE: {
+                long userId = frame.readLong();
+                String accountNumber = readAccountNumber(frame);
+                long amount = frame.readLong();
+                validate(userId >= 1 && isValidAmount(amount));
+                return transactionExecutors.write(() -> {
+                    try {
+                        return useBalanceGroupCommitter.useBalance(userId, accountNumber, amount);
+                    } catch (AccountException e) {
+                        failedTransactionRecorder.recordFailedUse(accountNumber, amount, e.getErrorCode());
+                        throw e;
+                    }
+                });
+            }
+            case OP_CANCEL: {
+                String transactionId = readString(frame);
+                String accountNumber = readAccountNumber(frame);
+                long amount = frame.readLong();
+                validate(!transactionId.isEmpty() && isValidAmount(amount));
+                return transactionExecutors.write(() -> {
+                    try {
+                        return transactionService.cancelBalance(transactionId, accountNumber, amount);
+                    } catch (AccountException e) {
+                        failedTransactionRecorder.recordFailedCancel(accountNumber, amount, e.getErrorCode());
+                        throw e;
+                    }
+                });
+            }
+            case OP_QUERY: {
+                String transactionId = readString(frame);
+                return transactionExecutors.read(() -> transactionService.queryTransaction(transactionId));
+            }
+            default:
+                throw new AccountException(INVALID_REQUEST);
+        }
+    }
+
+    private void respond(ChannelHandlerContext ctx, int requestId, TransactionDto transactionDto, Throwable e) {
+        if (--inflight < maxInflight && !ctx.channel().config().isAutoRead()) {
+            ctx.channel().config().setAutoRead(true);
+        }
+        if (!ctx.channel().isActive()) {
+            return;
+        }
+
+        ByteBuf out = ctx.alloc().buffer();
+        if (e == null) {
+            out.writeByte(STATUS_OK).writeInt(requestId);
+            writeTransaction(out, transactionDto);
+        } else {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof AccountException) {
+                out.writeByte(STATUS_ACCOUNT_ERROR).writeInt(requestId);
+                writeString(out, ((AccountException) cause).getErrorCode().name());
+            } else if (cause instanceof ConcurrencyLimitExceededException
+                    || cause instanceof RejectedExecutionException) {
+                out.writeByte(STATUS_ACCOUNT_ERROR).writeInt(requestId);
+                writeString(out, SERVICE_OVERLOADED.name());
+            } else if (cause instanceof IndexOutOfBoundsException) {
+                // 길이가 모자란 프레임
+                out.writeByte(STATUS_ACCOUNT_ERROR).writeInt(requestId);
+                writeString(out, INVALID_REQUEST.name());
+            } else {
+                log.error("Failed to process binary request.", cause);
+                out.writeByte(STATUS_SERVER_ERROR).writeInt(requestId);
+                writeString(out, String.valueOf(cause.getMessage()));
+            }
+        }
+        // FlushConsolidationHandler 가 이어진 응답의 flush 를 묶어준다.
+        ctx.writeAndFlush(out);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        // 프레임 길이 초과 등 - 이후 프레임 경계를 믿을 수 없으므로 연결 종료
+        log.warn("Closing binary connection {}: {}", ctx.channel().remoteAddress(), cause.toString());
+        ctx.close();
+    }
+
+    // REST 요청과 같은 조건 (UseBalance.Request / CancelBalance.Request)
+    private static boolean isValidAmount(long amount) {
+        return amount >= 10 && amount <= 1000_000_000;
+    }
+
+    private static void validate(boolean valid) {
+        if (!valid) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.account.tcp;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.example.account.tcp.BinaryProtocol.*;
+
+/**
+ *  바이너리 거래 API 클라이언트 (BinaryTransactionServer)
+ *  연결 하나를 여러 스레드가 같이 쓰고, 응답을 기다리지 않고 요청을 이어 보낸다. (pipelining)
+ *  업무 오류는 AccountException 으로 실패한 future 를 돌려준다.
+ *
+ *  try (BinaryTransactionClient client = BinaryTransactionClient.connect("localhost", 7070)) {
+ *      TransactionDto transactionDto = client.useBalance(1L, "1000000000", 1000L).join();
+ *  }
+ */
+public class BinaryTransactionClient implements AutoCloseable {
+    private final EventLoopGroup group;
+    private final Channel channel;
+    private final Map<Integer, CompletableFuture<TransactionDto>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger nextRequestId = new AtomicInteger();
+
+    private BinaryTransactionClient(String host, int port) {
+        group = new NioEventLoopGroup(1, new DefaultThreadFactory("binary-client", true));
+        try {
+            channel = new Bootstrap()
+                    .group(group)
+                    .channel(NioSocketChannel.class)
+                    .option(ChannelOption.TCP_NODELAY, true)
+                    .handler(new ChannelInitializer<SocketChannel>() {
+                        @Override
+                        protected void initChannel(SocketChannel channel) {
+                            channel.pipeline()
+                                    .addLast(new LengthFieldBasedFrameDecoder(
+                                            MAX_FRAME_LENGTH, 0, LENGTH_FIELD_SIZE, 0, LENGTH_FIELD_SIZE))
+                                    .addLast(new LengthFieldPrepender(LENGTH_FIELD_SIZE))
+                                    .addLast(new ResponseHandler());
+                        }
+                    })
+                    .connect(host, port)
+                    .syncUninterruptibly()
+                    .channel();
+        } catch (RuntimeException e) {
+            group.shutdownGracefully();
+            throw e;
+        }
+    }
+
+    public static BinaryTransactionClient connect(String host, int port) {
+        return new BinaryTransactionClient(host, port);
+    }
+
+    public CompletableFuture<TransactionDto> useBalance(Long userId, String accountNumber, Long amount) {
+        return send(OP_USE, out -> {
+            out.writeLong(userId);
+            writeAccountNumber(out, accountNumber);
+            out.writeLong(amount);
+        });
+    }
+
+    public CompletableFuture<TransactionDto> cancelBalance(String transactionId, String accountNumber, Long amount) {
+        return send(OP_CANCEL, out -> {
+            writeString(out, transactionId);
+            writeAccountNumber(out, accountNumber);
+            out.writeLong(amount);
+        });
+    }
+
+    public CompletableFuture<TransactionDto> queryTransaction(String transactionId) {
+        return send(OP_QUERY, out -> writeString(out, transactionId));
+    }
+
+    private CompletableFuture<TransactionDto> send(byte op, Consumer<ByteBuf> payload) {
+        int requestId = nextRequestId.incrementAndGet();
+        CompletableFuture<TransactionDto> future = new CompletableFuture<>();
+        pending.put(requestId, future);
+
+        ByteBuf out = channel.alloc().buffer();
+        try {
+            out.writeByte(op).writeInt(requestId);
+            payload.accept(out);
+        } catch (RuntimeException e) {
+            out.release();
+            pending.remove(requestId);
+            future.completeExceptionally(e);
+            return future;
+        }
+        channel.writeAndFlush(out).addListener(written -> {
+            if (!written.isSuccess()) {
+                fail(requestId, written.cause());
+            }
+        });
+        return future;
+    }
+
+    private void fail(int requestId, Throwable cause) {
+        CompletableFuture<TransactionDto> future = pending.remove(requestId);
+        if (future != null) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        channel.close().syncUninterruptibly();
+        group.shutdownGracefully();
+    }
+
+    private class ResponseHandler extends SimpleChannelInboundHandler<ByteBuf> {
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) {
+            byte status = frame.readByte();
+            CompletableFuture<TransactionDto> future = pending.remove(frame.readInt());
+            if (future == null) {
+                return;
+            }
+            switch (status) {
+                case STATUS_OK:
+                    future.complete(readTransaction(frame));
+                    break;
+                case STATUS_ACCOUNT_ERROR:
+                    future.completeExceptionally(toAccountException(readString(frame)));
+                    break;
+                default:
+                    future.completeExceptionally(new IllegalStateException(readString(frame)));
+            }
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            IllegalStateException closed = new IllegalStateException("Binary connection closed.");
+            pending.keySet().forEach(requestId -> fail(requestId, closed));
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            ctx.close();
+        }
+    }
+
+    private static RuntimeException toAccountException(String errorCode) {
+        try {
+            return new AccountException(ErrorCode.valueOf(errorCode));
+        } catch (IllegalArgumentException e) {
+            // 서버가 더 새로운 버전인 경우
+            return new IllegalStateException(errorCode);
+        }
+    }
+}
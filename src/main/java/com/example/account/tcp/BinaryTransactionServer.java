@@ -0,0 +1,119 @@
+package com.example.account.tcp;
+
+import com.example.account.config.TransactionExecutors;
+import com.example.account.service.FailedTransactionRecorder;
+import com.example.account.service.TransactionService;
+import com.example.account.service.UseBalanceGroupCommitter;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.net.InetSocketAddress;
+
+import static com.example.account.tcp.BinaryProtocol.LENGTH_FIELD_SIZE;
+import static com.example.account.tcp.BinaryProtocol.MAX_FRAME_LENGTH;
+
+/**
+ *  서비스간 호출용 바이너리 TCP 서버 (account.binary.enabled=true 인 경우에만 시작)
+ *  JSON / HTTP 없이 길이 + 본문 프레임으로 잔액 사용 / 취소 / 거래 확인 (BinaryProtocol)
+ *  Netty 는 Redisson 이 이미 사용하고 있는 것을 그대로 쓴다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.binary.enabled", havingValue = "true")
+public class BinaryTransactionServer {
+    private final TransactionService transactionService;
+    private final UseBalanceGroupCommitter useBalanceGroupCommitter;
+    private final TransactionExecutors transactionExecutors;
+    private final FailedTransactionRecorder failedTransactionRecorder;
+    private final int port;
+    private final int ioThreads;
+    private final int maxInflightPerConnection;
+
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+    private Channel serverChannel;
+
+    public BinaryTransactionServer(
+            TransactionService transactionService,
+            UseBalanceGroupCommitter useBalanceGroupCommitter,
+            TransactionExecutors transactionExecutors,
+            FailedTransactionRecorder failedTransactionRecorder,
+            @Value("${account.binary.port:7070}") int port,
+            @Value("${account.binary.io-threads:0}") int ioThreads,
+            @Value("${account.binary.max-inflight-per-connection:256}") int maxInflightPerConnection) {
+        this.transactionService = transactionService;
+        this.useBalanceGroupCommitter = useBalanceGroupCommitter;
+        this.transactionExecutors = transactionExecutors;
+        this.failedTransactionRecorder = failedTransactionRecorder;
+        this.port = port;
+        this.ioThreads = ioThreads;
+        this.maxInflightPerConnection = maxInflightPerConnection;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        bossGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("binary-boss"));
+        // 0 이면 Netty 기본값 (코어 수 * 2)
+        workerGroup = new NioEventLoopGroup(ioThreads, new DefaultThreadFactory("binary-io"));
+
+        serverChannel = new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(NioServerSocketChannel.class)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childOption(ChannelOption.SO_KEEPALIVE, true)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel channel) {
+                        channel.pipeline()
+                                .addLast(new FlushConsolidationHandler(256, true))
+                                // 길이 필드를 떼고 본문만 넘긴다. (원본 버퍼의 slice - 복사 없음)
+                                .addLast(new LengthFieldBasedFrameDecoder(
+                                        MAX_FRAME_LENGTH, 0, LENGTH_FIELD_SIZE, 0, LENGTH_FIELD_SIZE))
+                                .addLast(new LengthFieldPrepender(LENGTH_FIELD_SIZE))
+                                .addLast(new BinaryRequestHandler(
+                                        transactionService,
+                                        useBalanceGroupCommitter,
+                                        transactionExecutors,
+                                        failedTransactionRecorder,
+                                        maxInflightPerConnection));
+                    }
+                })
+                .bind(port)
+                .syncUninterruptibly()
+                .channel();
+        log.info("Binary transaction server listening on port {}.", getPort());
+    }
+
+    // port 를 0 으로 준 경우 실제로 열린 포트
+    public int getPort() {
+        return ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (serverChannel != null) {
+            serverChannel.close().syncUninterruptibly();
+        }
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully();
+            workerGroup.shutdownGracefully();
+        }
+    }
+}
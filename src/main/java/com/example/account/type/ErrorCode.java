@@ -15,10 +15,25 @@ public enum ErrorCode {
     USER_ACCOUNT_UN_MATCH("사용자와 계좌의 소유주가 다릅니다."),
     TRANSACTION_ACCOUNT_UN_MATCH("이 거래는 해당계좌에서 발생하지 않았습니다."),
     CANCEL_MUST_FULLY("부분 취소는 허용되지 않습니다."),
+    TRANSACTION_ALREADY_CANCELLED("이미 취소된 거래입니다."),
+    TRANSACTION_NOT_CANCELLABLE("성공한 잔액 사용 거래만 취소할 수 있습니다."),
     TOO_OLD_ORDER_TO_CANCEL("1년이 지난 거래는 취소가 불가능합니다."),
     ACCOUNT_ALREADY_UNREGISTERED("계좌가 이미 해지된 상태입니다."),
     BALANCE_NOT_EMPTY("잔액이 있는 계좌는 해지할 수 없습니다."),
-    MAX_ACCOUNT_PER_USER_10("사용자 최대 계좌는 10개입니다.");
+    MAX_ACCOUNT_PER_USER_10("사용자 최대 계좌는 10개입니다."),
+    ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용 중입니다."),
+    SERVICE_OVERLOADED("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    RECORDING_ALREADY_RUNNING("이미 진행중인 JFR 기록이 있습니다."),
+    RECORDING_NOT_FOUND("JFR 기록이 없습니다."),
+    ACCOUNT_BALANCE_ALREADY_SPLIT("이미 잔액이 분할된 계좌입니다."),
+    ACCOUNT_BALANCE_NOT_SPLIT("잔액이 분할된 계좌가 아닙니다."),
+    HOLD_NOT_FOUND("홀드가 없거나 이미 확정 / 해제 / 만료되었습니다."),
+    COMMAND_NOT_FOUND("접수된 거래 요청이 없거나 결과 보관기간이 지났습니다."),
+    COMMAND_FAILED("접수된 거래 요청을 처리하지 못했습니다."),
+    RECONCILIATION_ALREADY_RUNNING("이미 진행중인 잔액 대사 작업이 있습니다."),
+    RECONCILIATION_NOT_FOUND("잔액 대사 작업 기록이 없습니다."),
+    STATEMENT_ALREADY_RUNNING("이미 진행중인 명세서 작성 작업이 있습니다."),
+    STATEMENT_NOT_FOUND("명세서 작성 작업 기록이 없습니다.");
 
     private final String description;
 }
@@ -0,0 +1,27 @@
+package com.example.account.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ *  WebFlux + R2DBC 로 동작하는 거래 API (./gradlew bootRunReactive)
+ *  서블릿 애플리케이션과 같은 API / 같은 테이블 구조를 논블로킹으로 제공한다.
+ *  설정은 reactive.yml 을 사용
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class})
+public class ReactiveAccountApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveAccountApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=reactive")
+                .run(args);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.account.reactive.config;
+
+import com.example.account.config.LocalRedissonConfig;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonReactiveClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+
+@Configuration
+@EnableR2dbcAuditing
+@Import(LocalRedissonConfig.class)
+public class ReactiveConfig {
+    @Value("${spring.redis.host}")
+    private String redisHost;
+
+    @Value("${spring.redis.port}")
+    private int redisPort;
+
+    // 클래스패스에 Tomcat 도 있으므로 Netty(이벤트 루프)를 명시적으로 사용
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public RedissonReactiveClient redissonReactiveClient() {
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://" + redisHost + ":" + redisPort);
+
+        return Redisson.create(config).reactive();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.account.reactive.controller;
+
+import com.example.account.dto.CancelBalance;
+import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.reactive.service.ReactiveTransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+/**
+ *  잔액 관련 컨트롤러 (WebFlux)
+ *  1. 잔액 사용
+ *  2. 잔액 사용 취소
+ *  3. 거래 확인
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class ReactiveTransactionController {
+    private final ReactiveTransactionService transactionService;
+
+    @PostMapping("/transaction/use")
+    public Mono<UseBalance.Response> useBalance(
+            @Valid @RequestBody UseBalance.Request request) {
+        return transactionService.useBalance(
+                        request.getUserId(),
+                        request.getAccountNumber(),
+                        request.getAmount())
+                .map(UseBalance.Response::from)
+                .onErrorResume(AccountException.class, e -> {
+                    log.error("Failed to use balance.");
+
+                    return transactionService.saveFailedUseBalance(
+                                    request.getAccountNumber(),
+                                    request.getAmount())
+                            .then(Mono.error(e));
+                });
+    }
+
+    @PostMapping("/transaction/cancel")
+    public Mono<CancelBalance.Response> cancelBalance(
+            @Valid @RequestBody CancelBalance.Request request) {
+        return transactionService.cancelBalance(
+                        request.getTransactionId(),
+                        request.getAccountNumber(),
+                        request.getAmount())
+                .map(CancelBalance.Response::from)
+                .onErrorResume(AccountException.class, e -> {
+                    log.error("Failed to cancel balance.");
+
+                    return transactionService.saveFailedCancelBalance(
+                                    request.getAccountNumber(),
+                                    request.getAmount())
+                            .then(Mono.error(e));
+                });
+    }
+
+    @GetMapping("/transaction/{transactionId}")
+    public Mono<QueryTransactionResponse> queryTransaction(
+            @PathVariable String transactionId) {
+        return transactionService.queryTransaction(transactionId)
+                .map(QueryTransactionResponse::from);
+    }
+}
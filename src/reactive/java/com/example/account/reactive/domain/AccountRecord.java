@@ -0,0 +1,58 @@
+package com.example.account.reactive.domain;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.ErrorCode;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+import static com.example.account.type.ErrorCode.INVALID_REQUEST;
+
+/**
+ *  account 테이블 (R2DBC 는 연관관계를 지원하지 않으므로 사용자는 아이디로 보관)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("account")
+public class AccountRecord {
+    @Id
+    private Long id;
+
+    private Long accountUserId;
+
+    private String accountNumber;
+
+    private AccountStatus accountStatus;
+
+    private Long balance;
+
+    private LocalDateTime registeredAt;
+    private LocalDateTime unRegisteredAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    public void useBalance(Long amount) {
+        if (amount > balance) {
+            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+        balance -= amount;
+    }
+
+    public void cancelBalance(Long amount) {
+        if (amount < 0) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+        balance += amount;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.account.reactive.domain;
+
+import com.example.account.dto.TransactionType;
+import com.example.account.type.TransactionResultType;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("transaction")
+public class TransactionRecord {
+    @Id
+    private Long id;
+
+    private TransactionType transactionType;    // 사용, 사용취소
+    private TransactionResultType transactionResultType;    // 결과
+
+    private Long accountId;
+
+    private Long amount;
+    private Long balanceSnapShot;
+    private String transactionId;
+    private LocalDateTime transactedAt;
+    // 취소 거래인 경우 원거래 아이디
+    private String originalTransactionId;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+}
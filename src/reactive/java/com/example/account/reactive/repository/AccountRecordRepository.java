@@ -0,0 +1,11 @@
+package com.example.account.reactive.repository;
+
+import com.example.account.reactive.domain.AccountRecord;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface AccountRecordRepository extends R2dbcRepository<AccountRecord, Long> {
+    Mono<AccountRecord> findByAccountNumber(String accountNumber);
+}
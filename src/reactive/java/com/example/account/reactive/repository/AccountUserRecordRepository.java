@@ -0,0 +1,9 @@
+package com.example.account.reactive.repository;
+
+import com.example.account.reactive.domain.AccountUserRecord;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountUserRecordRepository extends R2dbcRepository<AccountUserRecord, Long> {
+}
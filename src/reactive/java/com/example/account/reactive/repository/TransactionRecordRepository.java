@@ -0,0 +1,13 @@
+package com.example.account.reactive.repository;
+
+import com.example.account.reactive.domain.TransactionRecord;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface TransactionRecordRepository extends R2dbcRepository<TransactionRecord, Long> {
+    Mono<TransactionRecord> findByTransactionId(String transactionId);
+
+    Mono<Boolean> existsByOriginalTransactionId(String originalTransactionId);
+}
@@ -0,0 +1,233 @@
+package com.example.account.reactive.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionType;
+import com.example.account.exception.AccountException;
+import com.example.account.reactive.domain.AccountRecord;
+import com.example.account.reactive.domain.AccountUserRecord;
+import com.example.account.reactive.domain.TransactionRecord;
+import com.example.account.reactive.repository.AccountRecordRepository;
+import com.example.account.reactive.repository.AccountUserRecordRepository;
+import com.example.account.reactive.repository.TransactionRecordRepository;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RMapCacheReactive;
+import org.redisson.api.RedissonReactiveClient;
+import org.redisson.codec.TypedJsonJacksonCodec;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.example.account.dto.TransactionType.CANCEL;
+import static com.example.account.dto.TransactionType.USE;
+import static com.example.account.type.ErrorCode.*;
+import static com.example.account.type.TransactionResultType.F;
+import static com.example.account.type.TransactionResultType.S;
+
+/**
+ *  TransactionService 의 논블로킹 버전
+ *  1. 계좌별 Redisson 락(reactive) 안에서 잔액 변경 + 거래 저장을 하나의 R2DBC 트랜잭션으로 처리
+ *  2. 거래 조회 결과는 Redis 캐시에 보관 (거래는 생성 후 바뀌지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveTransactionService {
+    private static final long LOCK_WAIT_SECONDS = 1;
+    private static final long LOCK_LEASE_SECONDS = 5;
+    private static final long CACHE_TTL_MINUTES = 10;
+
+    private final TransactionRecordRepository transactionRepository;
+    private final AccountRecordRepository accountRepository;
+    private final AccountUserRecordRepository accountUserRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final RedissonReactiveClient redissonReactiveClient;
+    private final ObjectMapper objectMapper;
+
+    public Mono<TransactionDto> useBalance(Long userId, String accountNumber, Long amount) {
+        Mono<TransactionDto> useBalance = accountUserRepository.findById(userId)
+                .switchIfEmpty(Mono.error(new AccountException(USER_NOT_FOUND)))
+                .zipWith(getAccount(accountNumber))
+                .flatMap(userAndAccount -> {
+                    AccountRecord account = userAndAccount.getT2();
+                    validateUseBalance(userAndAccount.getT1(), account, amount);
+                    account.useBalance(amount);
+
+                    return accountRepository.save(account)
+                            .flatMap(saved -> saveAndGetTransaction(USE, S, amount, saved));
+                })
+                .as(transactionalOperator::transactional);
+
+        return withAccountLock(accountNumber, useBalance);
+    }
+
+    private void validateUseBalance(AccountUserRecord user, AccountRecord account, Long amount) {
+        // 사용자 아이디와 계좌 소유주가 불일치 하는 경우
+        if (!Objects.equals(user.getId(), account.getAccountUserId())) {
+            throw new AccountException(USER_ACCOUNT_UN_MATCH);
+        }
+        // 계좌가 이미 해지된 상태인경우
+        if (account.getAccountStatus() != AccountStatus.IN_USE) {
+            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        // 거래 금액이 잔액보다 큰 경우
+        if (account.getBalance() < amount) {
+            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+    }
+
+    public Mono<Void> saveFailedUseBalance(String accountNumber, Long amount) {
+        return getAccount(accountNumber)
+                .flatMap(account -> saveAndGetTransaction(USE, F, amount, account))
+                .then();
+    }
+
+    public Mono<TransactionDto> cancelBalance(String transactionId, String accountNumber, Long amount) {
+        Mono<TransactionDto> cancelBalance = getTransaction(transactionId)
+                .zipWith(getAccount(accountNumber))
+                .flatMap(transactionAndAccount -> {
+                    TransactionRecord transaction = transactionAndAccount.getT1();
+                    AccountRecord account = transactionAndAccount.getT2();
+                    validateCancelBalance(transaction, account, amount);
+
+                    // 이미 취소된 거래인경우 (같은 계좌 락 안이므로 조회로 충분, unique 인덱스는 마지막 방어선)
+                    return transactionRepository.existsByOriginalTransactionId(transaction.getTransactionId())
+                            .flatMap(cancelled -> {
+                                if (cancelled) {
+                                    return Mono.error(new AccountException(TRANSACTION_ALREADY_CANCELLED));
+                                }
+                                account.cancelBalance(amount);
+
+                                return accountRepository.save(account)
+                                        .flatMap(saved -> saveAndGetTransaction(
+                                                CANCEL, S, amount, saved, transaction.getTransactionId()));
+                            });
+                })
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new AccountException(TRANSACTION_ALREADY_CANCELLED))
+                .as(transactionalOperator::transactional);
+
+        return withAccountLock(accountNumber, cancelBalance);
+    }
+
+    private void validateCancelBalance(TransactionRecord transaction, AccountRecord account, Long amount) {
+        // 계좌가 불일치하는 경우
+        if (!Objects.equals(transaction.getAccountId(), account.getId())) {
+            throw new AccountException(TRANSACTION_ACCOUNT_UN_MATCH);
+        }
+        // 성공한 잔액 사용 거래가 아닌 경우 (취소 거래를 다시 취소하거나 실패한 거래를 취소하지 않도록)
+        if (transaction.getTransactionType() != USE || transaction.getTransactionResultType() != S) {
+            throw new AccountException(TRANSACTION_NOT_CANCELLABLE);
+        }
+        // 거래금액과 취소금액이 다른경우
+        if (!Objects.equals(transaction.getAmount(), amount)) {
+            throw new AccountException(CANCEL_MUST_FULLY);
+        }
+        // 1년이 넘은 거래인경우
+        if (transaction.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))) {
+            throw new AccountException(TOO_OLD_ORDER_TO_CANCEL);
+        }
+    }
+
+    public Mono<Void> saveFailedCancelBalance(String accountNumber, Long amount) {
+        return getAccount(accountNumber)
+                .flatMap(account -> saveAndGetTransaction(CANCEL, F, amount, account))
+                .then();
+    }
+
+    public Mono<TransactionDto> queryTransaction(String transactionId) {
+        RMapCacheReactive<String, TransactionDto> cache = transactionCache();
+
+        return cache.get(transactionId)
+                .switchIfEmpty(Mono.defer(() -> getTransaction(transactionId)
+                        .flatMap(transaction -> accountRepository.findById(transaction.getAccountId())
+                                .map(account -> toDto(transaction, account)))
+                        .flatMap(dto -> cache.fastPut(transactionId, dto,
+                                        CACHE_TTL_MINUTES, TimeUnit.MINUTES)
+                                .thenReturn(dto))));
+    }
+
+    private Mono<TransactionDto> saveAndGetTransaction(
+            TransactionType transactionType,
+            TransactionResultType resultType,
+            Long amount,
+            AccountRecord account) {
+        return saveAndGetTransaction(transactionType, resultType, amount, account, null);
+    }
+
+    private Mono<TransactionDto> saveAndGetTransaction(
+            TransactionType transactionType,
+            TransactionResultType resultType,
+            Long amount,
+            AccountRecord account,
+            String originalTransactionId) {
+        return transactionRepository.save(
+                        TransactionRecord.builder()
+                                .transactionType(transactionType)
+                                .transactionResultType(resultType)
+                                .accountId(account.getId())
+                                .amount(amount)
+                                .balanceSnapShot(account.getBalance())
+                                .transactionId(UUID.randomUUID().toString().replace("-", ""))
+                                .transactedAt(LocalDateTime.now())
+                                .originalTransactionId(originalTransactionId)
+                                .build())
+                .map(transaction -> toDto(transaction, account));
+    }
+
+    /**
+     * 리액티브 체인은 스레드를 옮겨다니므로 스레드 아이디 대신 요청마다 임의의 락 소유자 아이디를 쓴다.
+     * 완료 / 에러 / 취소(클라이언트 연결 끊김 등) 어느 경우든 잡은 락은 한번만 푼다. (usingWhen)
+     */
+    private <T> Mono<T> withAccountLock(String accountNumber, Mono<T> action) {
+        RLockReactive lock = redissonReactiveClient.getLock("lock:account:" + accountNumber);
+        long ownerId = ThreadLocalRandom.current().nextLong();
+        Function<Boolean, Mono<Void>> release = locked -> locked ? lock.unlock(ownerId) : Mono.empty();
+
+        return Mono.usingWhen(
+                lock.tryLock(LOCK_WAIT_SECONDS, LOCK_LEASE_SECONDS, TimeUnit.SECONDS, ownerId),
+                locked -> locked ? action : Mono.error(new AccountException(ACCOUNT_TRANSACTION_LOCK)),
+                release,
+                (locked, e) -> release.apply(locked),
+                release);
+    }
+
+    private Mono<AccountRecord> getAccount(String accountNumber) {
+        return accountRepository.findByAccountNumber(accountNumber)
+                .switchIfEmpty(Mono.error(new AccountException(ACCOUNT_NOT_FOUND)));
+    }
+
+    private Mono<TransactionRecord> getTransaction(String transactionId) {
+        return transactionRepository.findByTransactionId(transactionId)
+                .switchIfEmpty(Mono.error(new AccountException(TRANSACTION_NOT_FOUND)));
+    }
+
+    private RMapCacheReactive<String, TransactionDto> transactionCache() {
+        return redissonReactiveClient.getMapCache("cache:transaction",
+                new TypedJsonJacksonCodec(String.class, TransactionDto.class, objectMapper));
+    }
+
+    private static TransactionDto toDto(TransactionRecord transaction, AccountRecord account) {
+        return TransactionDto.builder()
+                .accountNumber(account.getAccountNumber())
+                .transactionType(transaction.getTransactionType())
+                .transactionResultType(transaction.getTransactionResultType())
+                .amount(transaction.getAmount())
+                .balanceSnapShot(transaction.getBalanceSnapShot())
+                .transactionId(transaction.getTransactionId())
+                .transactedAt(transaction.getTransactedAt())
+                .originalTransactionId(transaction.getOriginalTransactionId())
+                .build();
+    }
+}
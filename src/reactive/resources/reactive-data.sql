@@ -0,0 +1,6 @@
+insert into account(account_user_id, account_number, account_status, balance, registered_at, created_at, updated_at)
+values (1, '1000000000', 'IN_USE', 10000000, now(), now(), now());
+insert into account(account_user_id, account_number, account_status, balance, registered_at, created_at, updated_at)
+values (2, '1000000001', 'IN_USE', 10000000, now(), now(), now());
+insert into account(account_user_id, account_number, account_status, balance, registered_at, created_at, updated_at)
+values (3, '1000000002', 'IN_USE', 10000000, now(), now(), now());
@@ -0,0 +1,40 @@
+-- JPA(ddl-auto) 로 만들어지는 테이블과 같은 구조
+create table if not exists account_user (
+    id bigint auto_increment primary key,
+    name varchar(255),
+    created_at timestamp,
+    updated_at timestamp
+);
+
+create table if not exists account (
+    id bigint auto_increment primary key,
+    account_user_id bigint,
+    account_number varchar(255),
+    account_status varchar(255),
+    balance bigint,
+    registered_at timestamp,
+    un_registered_at timestamp,
+    created_at timestamp,
+    updated_at timestamp,
+    constraint fk_account_account_user foreign key (account_user_id) references account_user (id)
+);
+
+create table if not exists transaction (
+    id bigint auto_increment primary key,
+    transaction_type varchar(255),
+    transaction_result_type varchar(255),
+    account_id bigint,
+    amount bigint,
+    balance_snap_shot bigint,
+    transaction_id varchar(255),
+    transacted_at timestamp,
+    original_transaction_id varchar(255),
+    created_at timestamp,
+    updated_at timestamp,
+    constraint fk_transaction_account foreign key (account_id) references account (id)
+);
+
+create index if not exists idx_account_account_number on account (account_number);
+create index if not exists idx_transaction_transaction_id on transaction (transaction_id);
+-- 원거래 하나에 취소 거래 하나
+create unique index if not exists uk_transaction_original_transaction_id on transaction (original_transaction_id);
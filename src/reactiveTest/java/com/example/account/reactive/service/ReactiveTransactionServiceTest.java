@@ -0,0 +1,421 @@
+package com.example.account.reactive.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.reactive.domain.AccountRecord;
+import com.example.account.reactive.domain.AccountUserRecord;
+import com.example.account.reactive.domain.TransactionRecord;
+import com.example.account.reactive.repository.AccountRecordRepository;
+import com.example.account.reactive.repository.AccountUserRecordRepository;
+import com.example.account.reactive.repository.TransactionRecordRepository;
+import com.example.account.type.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLockReactive;
+import org.redisson.api.RMapCacheReactive;
+import org.redisson.api.RedissonReactiveClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.dto.TransactionType.CANCEL;
+import static com.example.account.dto.TransactionType.USE;
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.ErrorCode.*;
+import static com.example.account.type.TransactionResultType.F;
+import static com.example.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTransactionServiceTest {
+    @Mock
+    private TransactionRecordRepository transactionRepository;
+
+    @Mock
+    private AccountRecordRepository accountRepository;
+
+    @Mock
+    private AccountUserRecordRepository accountUserRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private RedissonReactiveClient redissonReactiveClient;
+
+    @Mock
+    private RLockReactive lock;
+
+    @Mock
+    private RMapCacheReactive<String, TransactionDto> cache;
+
+    private ReactiveTransactionService transactionService;
+
+    @BeforeEach
+    void setUp() {
+        transactionService = new ReactiveTransactionService(
+                transactionRepository, accountRepository, accountUserRepository,
+                transactionalOperator, redissonReactiveClient, new ObjectMapper());
+    }
+
+    // 트랜잭션 없이 그대로 실행
+    @SuppressWarnings("unchecked")
+    private void givenTransactional() {
+        given(transactionalOperator.transactional(any(Mono.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private void givenLock(boolean locked) {
+        given(redissonReactiveClient.getLock(anyString()))
+                .willReturn(lock);
+        given(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class), anyLong()))
+                .willReturn(Mono.just(locked));
+        if (locked) {
+            given(lock.unlock(anyLong()))
+                    .willReturn(Mono.empty());
+        }
+    }
+
+    private void givenSaveReturnsArgument() {
+        given(accountRepository.save(any()))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    private static AccountUserRecord user() {
+        return AccountUserRecord.builder()
+                .id(12L)
+                .name("Pobi").build();
+    }
+
+    private static AccountRecord account(long balance) {
+        return AccountRecord.builder()
+                .id(1L)
+                .accountUserId(12L)
+                .accountNumber("1000000012")
+                .accountStatus(IN_USE)
+                .balance(balance).build();
+    }
+
+    private static TransactionRecord.TransactionRecordBuilder useTransaction() {
+        return TransactionRecord.builder()
+                .id(10L)
+                .accountId(1L)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("transactionIdForCancel")
+                .transactedAt(LocalDateTime.now())
+                .amount(1000L)
+                .balanceSnapShot(9000L);
+    }
+
+    private static void assertErrorCode(ErrorCode errorCode, Throwable e) {
+        assertTrue(e instanceof AccountException);
+        assertEquals(errorCode, ((AccountException) e).getErrorCode());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 성공")
+    void successUseBalance() {
+        // given
+        givenLock(true);
+        givenTransactional();
+        givenSaveReturnsArgument();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Mono.just(user()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(account(10000L)));
+        ArgumentCaptor<TransactionRecord> captor = ArgumentCaptor.forClass(TransactionRecord.class);
+
+        // when
+        // then
+        StepVerifier.create(transactionService.useBalance(12L, "1000000012", 1000L))
+                .assertNext(transactionDto -> {
+                    assertEquals(USE, transactionDto.getTransactionType());
+                    assertEquals(S, transactionDto.getTransactionResultType());
+                    assertEquals(1000L, transactionDto.getAmount());
+                    assertEquals(9000L, transactionDto.getBalanceSnapShot());
+                })
+                .verifyComplete();
+        verify(transactionRepository, times(1)).save(captor.capture());
+        assertEquals(1L, captor.getValue().getAccountId());
+        verify(lock, times(1)).unlock(anyLong());
+    }
+
+    @Test
+    @DisplayName("해당 유저 없음 - 잔액 사용 실패, 락은 해제")
+    void useBalance_UserNotFound() {
+        // given
+        givenLock(true);
+        givenTransactional();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Mono.empty());
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(account(10000L)));
+
+        // when
+        // then
+        StepVerifier.create(transactionService.useBalance(12L, "1000000012", 1000L))
+                .expectErrorSatisfies(e -> assertErrorCode(USER_NOT_FOUND, e))
+                .verify();
+        verify(accountRepository, never()).save(any());
+        verify(lock, times(1)).unlock(anyLong());
+    }
+
+    @Test
+    @DisplayName("거래금액이 잔액보다 큰 경우 - 잔액 사용 실패")
+    void useBalance_AmountExceedBalance() {
+        // given
+        givenLock(true);
+        givenTransactional();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Mono.just(user()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(account(100L)));
+
+        // when
+        // then
+        StepVerifier.create(transactionService.useBalance(12L, "1000000012", 1000L))
+                .expectErrorSatisfies(e -> assertErrorCode(AMOUNT_EXCEED_BALANCE, e))
+                .verify();
+        verify(accountRepository, never()).save(any());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("계좌 락 획득 실패 - 계좌를 바꾸지 않고 실패")
+    void useBalance_LockFailed() {
+        // given
+        givenLock(false);
+        givenTransactional();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Mono.just(user()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(account(10000L)));
+
+        // when
+        // then
+        StepVerifier.create(transactionService.useBalance(12L, "1000000012", 1000L))
+                .expectErrorSatisfies(e -> assertErrorCode(ACCOUNT_TRANSACTION_LOCK, e))
+                .verify();
+        verify(accountRepository, never()).save(any());
+        verify(lock, never()).unlock(anyLong());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 중 구독 취소 - 잡은 계좌 락을 한번 해제")
+    void useBalance_Cancelled() {
+        // given
+        givenLock(true);
+        givenTransactional();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Mono.just(user()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.never());
+
+        // when
+        StepVerifier.create(transactionService.useBalance(12L, "1000000012", 1000L))
+                .thenCancel()
+                .verify();
+
+        // then
+        verify(accountRepository, never()).save(any());
+        verify(lock, times(1)).unlock(anyLong());
+    }
+
+    @Test
+    @DisplayName("거래 취소 성공")
+    void successCancelBalance() {
+        // given
+        givenLock(true);
+        givenTransactional();
+        givenSaveReturnsArgument();
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Mono.just(useTransaction().build()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(account(9000L)));
+        given(transactionRepository.existsByOriginalTransactionId("transactionIdForCancel"))
+                .willReturn(Mono.just(false));
+
+        // when
+        // then
+        StepVerifier.create(transactionService.cancelBalance("transactionIdForCancel", "1000000012", 1000L))
+                .assertNext(transactionDto -> {
+                    assertEquals(CANCEL, transactionDto.getTransactionType());
+                    assertEquals(S, transactionDto.getTransactionResultType());
+                    assertEquals(10000L, transactionDto.getBalanceSnapShot());
+                    assertEquals("transactionIdForCancel", transactionDto.getOriginalTransactionId());
+                })
+                .verifyComplete();
+        verify(lock, times(1)).unlock(anyLong());
+    }
+
+    @Test
+    @DisplayName("실패한 잔액 사용 거래 - 잔액 사용 취소 실패")
+    void cancelBalance_NotCancellable() {
+        // given
+        givenLock(true);
+        givenTransactional();
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Mono.just(useTransaction().transactionResultType(F).build()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(account(9000L)));
+
+        // when
+        // then
+        StepVerifier.create(transactionService.cancelBalance("transactionIdForCancel", "1000000012", 1000L))
+                .expectErrorSatisfies(e -> assertErrorCode(TRANSACTION_NOT_CANCELLABLE, e))
+                .verify();
+        verify(transactionRepository, never()).existsByOriginalTransactionId(anyString());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("취소 거래를 다시 취소 - 잔액 사용 취소 실패")
+    void cancelBalance_CancelTransaction() {
+        // given
+        givenLock(true);
+        givenTransactional();
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Mono.just(useTransaction().transactionType(CANCEL).build()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(account(9000L)));
+
+        // when
+        // then
+        StepVerifier.create(transactionService.cancelBalance("transactionIdForCancel", "1000000012", 1000L))
+                .expectErrorSatisfies(e -> assertErrorCode(TRANSACTION_NOT_CANCELLABLE, e))
+                .verify();
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("이미 취소된 거래 - 잔액 사용 취소 실패")
+    void cancelBalance_AlreadyCancelled() {
+        // given
+        givenLock(true);
+        givenTransactional();
+        AccountRecord account = account(9000L);
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Mono.just(useTransaction().build()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(account));
+        given(transactionRepository.existsByOriginalTransactionId("transactionIdForCancel"))
+                .willReturn(Mono.just(true));
+
+        // when
+        // then
+        StepVerifier.create(transactionService.cancelBalance("transactionIdForCancel", "1000000012", 1000L))
+                .expectErrorSatisfies(e -> assertErrorCode(TRANSACTION_ALREADY_CANCELLED, e))
+                .verify();
+        assertEquals(9000L, account.getBalance());
+        verify(accountRepository, never()).save(any());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("동시에 취소된 거래 - unique 제약 위반시 잔액 사용 취소 실패")
+    void cancelBalance_ConcurrentlyCancelled() {
+        // given
+        givenLock(true);
+        givenTransactional();
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Mono.just(useTransaction().build()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Mono.just(account(9000L)));
+        given(transactionRepository.existsByOriginalTransactionId("transactionIdForCancel"))
+                .willReturn(Mono.just(false));
+        given(accountRepository.save(any()))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        given(transactionRepository.save(any()))
+                .willReturn(Mono.error(new DataIntegrityViolationException("uk_transaction_original_transaction_id")));
+
+        // when
+        // then
+        StepVerifier.create(transactionService.cancelBalance("transactionIdForCancel", "1000000012", 1000L))
+                .expectErrorSatisfies(e -> assertErrorCode(TRANSACTION_ALREADY_CANCELLED, e))
+                .verify();
+        verify(lock, times(1)).unlock(anyLong());
+    }
+
+    @Test
+    @DisplayName("거래 조회 - 캐시에 없으면 DB 에서 읽고 캐시에 저장")
+    void successQueryTransaction() {
+        // given
+        given(redissonReactiveClient.<String, TransactionDto>getMapCache(anyString(), any(Codec.class)))
+                .willReturn(cache);
+        given(cache.get("transactionId"))
+                .willReturn(Mono.empty());
+        given(transactionRepository.findByTransactionId("transactionId"))
+                .willReturn(Mono.just(useTransaction().transactionId("transactionId").build()));
+        given(accountRepository.findById(1L))
+                .willReturn(Mono.just(account(9000L)));
+        given(cache.fastPut(anyString(), any(), anyLong(), any(TimeUnit.class)))
+                .willReturn(Mono.just(true));
+
+        // when
+        // then
+        StepVerifier.create(transactionService.queryTransaction("transactionId"))
+                .assertNext(transactionDto -> {
+                    assertEquals("1000000012", transactionDto.getAccountNumber());
+                    assertEquals(USE, transactionDto.getTransactionType());
+                    assertEquals(1000L, transactionDto.getAmount());
+                })
+                .verifyComplete();
+        verify(cache, times(1)).fastPut(eq("transactionId"), any(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    @DisplayName("거래 조회 - 캐시에 있으면 DB 조회 없이 반환")
+    void queryTransaction_Cached() {
+        // given
+        given(redissonReactiveClient.<String, TransactionDto>getMapCache(anyString(), any(Codec.class)))
+                .willReturn(cache);
+        given(cache.get("transactionId"))
+                .willReturn(Mono.just(TransactionDto.builder()
+                        .accountNumber("1000000012")
+                        .transactionId("transactionId")
+                        .build()));
+
+        // when
+        // then
+        StepVerifier.create(transactionService.queryTransaction("transactionId"))
+                .assertNext(transactionDto -> assertEquals("transactionId", transactionDto.getTransactionId()))
+                .verifyComplete();
+        verify(transactionRepository, never()).findByTransactionId(anyString());
+    }
+
+    @Test
+    @DisplayName("거래 조회 실패")
+    void queryTransaction_TransactionNotFound() {
+        // given
+        given(redissonReactiveClient.<String, TransactionDto>getMapCache(anyString(), any(Codec.class)))
+                .willReturn(cache);
+        given(cache.get(anyString()))
+                .willReturn(Mono.empty());
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Mono.empty());
+
+        // when
+        // then
+        StepVerifier.create(transactionService.queryTransaction("transactionId"))
+                .expectErrorSatisfies(e -> assertErrorCode(TRANSACTION_NOT_FOUND, e))
+                .verify();
+        verify(cache, never()).fastPut(anyString(), any(), anyLong(), any(TimeUnit.class));
+    }
+}
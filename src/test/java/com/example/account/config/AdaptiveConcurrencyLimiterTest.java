@@ -0,0 +1,111 @@
+package com.example.account.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(true, 10, 2, 100, 0.2, 1.5);
+
+    @Test
+    @DisplayName("한도까지 차면 바로 거절")
+    void rejectWhenLimitReached() {
+        // given
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        // when
+        // then
+        assertFalse(limiter.tryAcquire());
+        assertEquals(10, limiter.getInflight());
+    }
+
+    @Test
+    @DisplayName("지연시간이 그대로면 한도를 늘린다")
+    void increaseLimitWhenLatencyStable() {
+        // given
+        // when
+        runAtLimit(FAST, 50);
+
+        // then
+        assertTrue(limiter.getLimit() > 10);
+        assertEquals(0, limiter.getInflight());
+    }
+
+    @Test
+    @DisplayName("지연시간이 늘어나면 한도를 줄인다")
+    void decreaseLimitWhenLatencyGrows() {
+        // given
+        runAtLimit(FAST, 200);
+        int limitBefore = limiter.getLimit();
+
+        // when
+        runAtLimit(SLOW, 20);
+
+        // then
+        assertTrue(limiter.getLimit() < limitBefore);
+    }
+
+    @Test
+    @DisplayName("오류로 실패하면 한도를 바로 줄인다")
+    void decreaseLimitWhenDropped() {
+        // given
+        assertTrue(limiter.tryAcquire());
+
+        // when
+        limiter.release(FAST, true);
+
+        // then
+        assertEquals(9, limiter.getLimit());
+        assertEquals(0, limiter.getInflight());
+    }
+
+    @Test
+    @DisplayName("한도의 절반도 쓰지 않으면 한도를 늘리지 않는다")
+    void keepLimitWhenUnderutilized() {
+        // given
+        // when
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, false);
+        }
+
+        // then
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("사용하지 않으면 항상 통과")
+    void disabled() {
+        // given
+        AdaptiveConcurrencyLimiter disabled =
+                new AdaptiveConcurrencyLimiter(false, 1, 1, 1, 0.2, 1.5);
+
+        // when
+        // then
+        for (int i = 0; i < 10; i++) {
+            assertTrue(disabled.tryAcquire());
+        }
+    }
+
+    // 한도만큼 요청을 받은 뒤 모두 같은 지연시간으로 끝내는 것을 반복
+    private void runAtLimit(long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.account.config;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaStalenessGuardTest {
+    private final ReplicaStalenessGuard guard = new ReplicaStalenessGuard(60_000);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("쓰기 직후의 같은 사용자 조회는 최근 쓰기로 판단")
+    void recentlyWrittenUser() {
+        // given
+        Account account = Account.builder()
+                .accountUser(AccountUser.builder().id(12L).build())
+                .build();
+
+        // when
+        guard.markAccountWritten(account);
+
+        // then
+        assertTrue(guard.isRecentlyWritten("user:12"));
+        assertFalse(guard.isRecentlyWritten("user:13"));
+    }
+
+    @Test
+    @DisplayName("허용시간이 지나면 replica 에서 읽어도 된다")
+    void expiredAfterMaxLag() {
+        // given
+        ReplicaStalenessGuard noLagGuard = new ReplicaStalenessGuard(0);
+
+        // when
+        noLagGuard.markTransactionWritten("transactionId");
+
+        // then
+        assertFalse(noLagGuard.isRecentlyWritten("transaction:transactionId"));
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 쓰기는 커밋 이후에 기록")
+    void markAfterCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        guard.markTransactionWritten("transactionId");
+
+        // then
+        assertFalse(guard.isRecentlyWritten("transaction:transactionId"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        assertTrue(guard.isRecentlyWritten("transaction:transactionId"));
+    }
+}
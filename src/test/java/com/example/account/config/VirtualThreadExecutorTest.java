@@ -0,0 +1,75 @@
+package com.example.account.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 가상 스레드가 없는 JDK 에서도 돌 수 있도록 일반 스레드 ThreadFactory 로 한도만 확인
+class VirtualThreadExecutorTest {
+    private final TransactionExecutors.VirtualThreadExecutor executor =
+            new TransactionExecutors.VirtualThreadExecutor(Executors.defaultThreadFactory(), 1, 1);
+
+    @Test
+    @DisplayName("pool-size 만큼만 동시에 실행하고 queue-capacity 를 넘으면 거절")
+    void rejectWhenCapacityReached() throws InterruptedException {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        Runnable task = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        };
+        executor.execute(task);
+        executor.execute(task);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        // when
+        // then
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(task));
+        assertEquals(1, executor.getActiveCount());
+        assertEquals(1, executor.getQueuedCount());
+
+        release.countDown();
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("끝난 작업의 자리는 다시 받는다")
+    void acceptAfterTaskCompleted() throws InterruptedException {
+        // given
+        CountDownLatch done = new CountDownLatch(2);
+        executor.execute(done::countDown);
+        executor.execute(done::countDown);
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        awaitIdle();
+
+        // when
+        CountDownLatch again = new CountDownLatch(1);
+        executor.execute(again::countDown);
+
+        // then
+        assertTrue(again.await(1, TimeUnit.SECONDS));
+    }
+
+    // 작업이 끝난 뒤 세마포어 반환까지 기다림
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (executor.getActiveCount() + executor.getQueuedCount() > 0) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
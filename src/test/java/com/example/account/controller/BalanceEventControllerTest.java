@@ -0,0 +1,56 @@
+package com.example.account.controller;
+
+import com.example.account.exception.ConcurrencyLimitExceededException;
+import com.example.account.service.BalanceEventBroadcaster;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = BalanceEventController.class, properties = "account.events.enabled=true")
+class BalanceEventControllerTest {
+    @MockBean
+    private BalanceEventBroadcaster balanceEventBroadcaster;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void successSubscribe() throws Exception {
+        // given
+        given(balanceEventBroadcaster.subscribe(anyString()))
+                .willReturn(new SseEmitter());
+
+        // when
+        // then
+        mockMvc.perform(get("/account/1000000012/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @DisplayName("노드별 최대 구독자 수를 넘은 경우 503 + Retry-After")
+    void subscribe_MaxSubscribers() throws Exception {
+        // given
+        given(balanceEventBroadcaster.subscribe(anyString()))
+                .willThrow(new ConcurrencyLimitExceededException());
+
+        // when
+        // then
+        mockMvc.perform(get("/account/1000000012/events"))
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.errorCode").value("SERVICE_OVERLOADED"));
+    }
+}
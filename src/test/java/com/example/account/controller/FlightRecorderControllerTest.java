@@ -0,0 +1,58 @@
+package com.example.account.controller;
+
+import com.example.account.exception.AccountException;
+import com.example.account.service.FlightRecorderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.account.type.ErrorCode.RECORDING_ALREADY_RUNNING;
+import static com.example.account.type.ErrorCode.RECORDING_NOT_FOUND;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = FlightRecorderController.class, properties = "account.jfr.enabled=true")
+class FlightRecorderControllerTest {
+    @MockBean
+    private FlightRecorderService flightRecorderService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("진행중인 기록이 있으면 409")
+    void start_AlreadyRunning() throws Exception {
+        // given
+        given(flightRecorderService.start(anyLong(), anyLong()))
+                .willThrow(new AccountException(RECORDING_ALREADY_RUNNING));
+
+        // when
+        // then
+        mockMvc.perform(post("/admin/jfr/start"))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("RECORDING_ALREADY_RUNNING"));
+    }
+
+    @Test
+    @DisplayName("기록이 없으면 404")
+    void status_NotFound() throws Exception {
+        // given
+        given(flightRecorderService.status())
+                .willThrow(new AccountException(RECORDING_NOT_FOUND));
+
+        // when
+        // then
+        mockMvc.perform(get("/admin/jfr"))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("RECORDING_NOT_FOUND"));
+    }
+}
@@ -1,37 +1,58 @@
 package com.example.account.controller;
 
+import com.example.account.config.AdaptiveConcurrencyLimiter;
+import com.example.account.config.TransactionExecutors;
 import com.example.account.dto.*;
+import com.example.account.exception.ConcurrencyLimitExceededException;
+import com.example.account.service.FailedTransactionRecorder;
 import com.example.account.service.TransactionService;
+import com.example.account.service.UseBalanceGroupCommitter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static com.example.account.dto.TransactionType.USE;
 import static com.example.account.type.TransactionResultType.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
+@Import({TransactionExecutors.class, AdaptiveConcurrencyLimiter.class, UseBalanceGroupCommitter.class})
 class TransactionControllerTest {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private FailedTransactionRecorder failedTransactionRecorder;
+
+    @SpyBean
+    private TransactionExecutors transactionExecutors;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -51,12 +72,16 @@ class TransactionControllerTest {
                         .build());
         // when
         // then
-        mockMvc.perform(post("/transaction/use")
+        MvcResult mvcResult = mockMvc.perform(post("/transaction/use")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(
                         new UseBalance.Request(1L, "2000000000", 3000L)
                 ))
-                ).andDo(print())
+                ).andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accountNumber").value("1000000000"))
                 .andExpect(jsonPath("$.transactionResult").value("S"))
@@ -77,7 +102,7 @@ class TransactionControllerTest {
                         .build());
         // when
         // then
-        mockMvc.perform(post("/transaction/cancel")
+        MvcResult mvcResult = mockMvc.perform(post("/transaction/cancel")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(
                                 new CancelBalance.Request(
@@ -85,7 +110,11 @@ class TransactionControllerTest {
                                         "2000000000",
                                         3000L)
                         ))
-                ).andDo(print())
+                ).andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accountNumber").value("1000000000"))
                 .andExpect(jsonPath("$.transactionResult").value("S"))
@@ -110,7 +139,11 @@ class TransactionControllerTest {
 
         // when
         // then
-        mockMvc.perform(get("/transaction/12345"))
+        MvcResult mvcResult = mockMvc.perform(get("/transaction/12345"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accountNumber").value("1000000000"))
@@ -119,4 +152,44 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.transactionId").value("transactionId"))
                 .andExpect(jsonPath("$.amount").value(54321L));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("작업 대기열이 가득 찬 경우 503 + Retry-After")
+    void useBalance_ServiceOverloaded() throws Exception {
+        // given
+        willThrow(new RejectedExecutionException())
+                .given(transactionExecutors).write(any());
+
+        // when
+        // then
+        mockMvc.perform(post("/transaction/use")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UseBalance.Request(1L, "2000000000", 3000L)
+                        ))
+                ).andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.errorCode").value("SERVICE_OVERLOADED"));
+    }
+
+    @Test
+    @DisplayName("동시 처리 한도를 넘은 경우 503 + Retry-After")
+    void useBalance_ConcurrencyLimitExceeded() throws Exception {
+        // given
+        willThrow(new ConcurrencyLimitExceededException())
+                .given(transactionExecutors).write(any());
+
+        // when
+        // then
+        mockMvc.perform(post("/transaction/use")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UseBalance.Request(1L, "2000000000", 3000L)
+                        ))
+                ).andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.errorCode").value("SERVICE_OVERLOADED"));
+    }
+}
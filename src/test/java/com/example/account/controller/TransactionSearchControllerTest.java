@@ -0,0 +1,81 @@
+package com.example.account.controller;
+
+import com.example.account.config.AdaptiveConcurrencyLimiter;
+import com.example.account.config.TransactionExecutors;
+import com.example.account.dto.TransactionSearch;
+import com.example.account.exception.ConcurrencyLimitExceededException;
+import com.example.account.service.TransactionSearchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = TransactionSearchController.class, properties = "account.search.enabled=true")
+@Import({TransactionExecutors.class, AdaptiveConcurrencyLimiter.class})
+class TransactionSearchControllerTest {
+    @MockBean
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void successSearch() throws Exception {
+        // given
+        given(transactionSearchService.search(anyString(), any(), any(), any(), any(), anyInt(), any()))
+                .willReturn(TransactionSearch.builder()
+                        .transactions(Collections.emptyList())
+                        .estimatedCount(0L)
+                        .build());
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/transaction/search")
+                        .param("account_number", "1000000012")
+                        .param("from", "2022-09-01T00:00:00")
+                        .param("to", "2022-10-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estimatedCount").value(0));
+    }
+
+    @Test
+    @DisplayName("동시 검색 수를 넘은 경우 503 + Retry-After")
+    void search_Overloaded() throws Exception {
+        // given
+        given(transactionSearchService.search(anyString(), any(), any(), any(), any(), anyInt(), any()))
+                .willThrow(new ConcurrencyLimitExceededException());
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/transaction/search")
+                        .param("account_number", "1000000012")
+                        .param("from", "2022-09-01T00:00:00")
+                        .param("to", "2022-10-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.errorCode").value("SERVICE_OVERLOADED"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.account.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhaseTimerTest {
+
+    @AfterEach
+    void clear() {
+        PhaseTimer.stop();
+    }
+
+    @Test
+    @DisplayName("구간별 시간과 전체 시간이 Server-Timing 형식으로 출력")
+    void toHeaderValue() {
+        // given
+        PhaseTimer timer = PhaseTimer.start();
+
+        // when
+        PhaseTimer.mark("user");
+        PhaseTimer.mark("account");
+        PhaseTimer.record("lock_wait", 1_500_000L);
+        PhaseTimer.mark("account");
+
+        // then
+        String header = timer.toHeaderValue();
+        assertTrue(header.matches(
+                "user;dur=\\d+\\.\\d{2}, account;dur=\\d+\\.\\d{2}, lock_wait;dur=1\\.50, total;dur=\\d+\\.\\d{2}"),
+                header);
+    }
+
+    @Test
+    @DisplayName("시작하지 않은 요청에서는 아무것도 하지 않음")
+    void markWithoutTimer() {
+        assertDoesNotThrow(() -> {
+            PhaseTimer.mark("user");
+            PhaseTimer.record("lock_wait", 1L);
+            PhaseTimer.markOnCompletion("commit");
+        });
+    }
+}
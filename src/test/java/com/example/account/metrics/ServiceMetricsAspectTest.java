@@ -0,0 +1,70 @@
+package com.example.account.metrics;
+
+import com.example.account.exception.AccountException;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.service.BloomFilterService;
+import com.example.account.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private BloomFilterService bloomFilterService;
+
+    @InjectMocks
+    private TransactionService transactionService;
+
+    private MeterRegistry meterRegistry;
+    private TransactionService proxy;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(transactionService);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("실패한 서비스 호출은 ErrorCode 태그와 함께 기록")
+    void recordFailureWithErrorCode() {
+        // given
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.empty());
+
+        // when
+        assertThrows(AccountException.class,
+                () -> proxy.queryTransaction("transactionId"));
+
+        // then
+        assertEquals(1L, meterRegistry.get(ServiceMetricsAspect.TIMER_NAME)
+                .tag("method", "queryTransaction")
+                .tag("outcome", "failure")
+                .tag("error_code", "TRANSACTION_NOT_FOUND")
+                .timer().count());
+        assertEquals(1.0, meterRegistry.get(ServiceMetricsAspect.FAILURE_COUNTER_NAME)
+                .tag("error_code", "TRANSACTION_NOT_FOUND")
+                .counter().count());
+    }
+}
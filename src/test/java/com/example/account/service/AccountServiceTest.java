@@ -1,11 +1,14 @@
 package com.example.account.service;
 
+import com.example.account.config.ReplicaStalenessGuard;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.repository.AccountRepository;
+import com.example.account.shard.ShardRouter;
+import com.example.account.shard.ShardTemplate;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
@@ -36,6 +40,21 @@ class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private BloomFilterService bloomFilterService;
+
+    @Mock
+    private ReplicaStalenessGuard replicaStalenessGuard;
+
+    @Mock
+    private HotAccountService hotAccountService;
+
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter(1);
+
+    @Spy
+    private ShardTemplate shardTemplate = new ShardTemplate(new ShardRouter(1), null, 1);
+
     // @SpringBootTest로 인해 모든 빈들이 생성되었으므로 Autowired를 이용해서 주입
     // @Mock으로 만든 가짜 의존성을 @InjectMocks 를 사용하여 주입
     @InjectMocks
@@ -338,4 +357,27 @@ class AccountServiceTest {
         // then
         assertEquals(ErrorCode.USER_NOT_FOUND, exception.getErrorCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("AccountService -> 블룸필터에 없는 계좌 해지 실패")
+    void deleteAccount_AccountNotFoundByBloomFilter() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(bloomFilterService.isUnknownAccountNumber(anyString()))
+                .willReturn(true);
+
+        // when
+        AccountException accountException =
+                assertThrows(AccountException.class,
+                        () -> accountService.deleteAccount(1L, "1234567890"));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, accountException.getErrorCode());
+        verify(accountRepository, times(0)).findByAccountNumber(anyString());
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.BalanceEvent;
+import com.example.account.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.dto.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceEventBroadcasterTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RTopic topic;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BalanceEventBroadcaster balanceEventBroadcaster;
+
+    @BeforeEach
+    void setUp() {
+        given(redissonClient.getTopic(anyString())).willReturn(topic);
+        given(topic.addListener(eq(BalanceEvent.class), any())).willReturn(1);
+        meterRegistry = new SimpleMeterRegistry();
+        balanceEventBroadcaster = new BalanceEventBroadcaster(
+                redissonClient, meterRegistry, true, 60_000L, 2, 2, 1, 5_000L);
+        balanceEventBroadcaster.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        balanceEventBroadcaster.stop();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서 발행하면 바로 토픽으로 발행")
+    void publishAfterCommit() {
+        // given
+        Transaction transaction = Transaction.builder()
+                .account(Account.builder().accountNumber("1000000012").build())
+                .transactionType(USE)
+                .transactionId("transactionId")
+                .amount(1000L)
+                .balanceSnapShot(9000L)
+                .build();
+        ArgumentCaptor<BalanceEvent> captor = ArgumentCaptor.forClass(BalanceEvent.class);
+
+        // when
+        balanceEventBroadcaster.publishAfterCommit(transaction);
+
+        // then
+        verify(topic, times(1)).publishAsync(captor.capture());
+        assertEquals("1000000012", captor.getValue().getAccountNumber());
+        assertEquals(9000L, captor.getValue().getBalanceSnapShot());
+    }
+
+    @Test
+    @DisplayName("노드별 최대 구독자 수를 넘으면 구독 실패")
+    void subscribe_MaxSubscribers() {
+        // given
+        balanceEventBroadcaster.subscribe("1000000012");
+        balanceEventBroadcaster.subscribe("1000000013");
+
+        // when
+        // then
+        assertThrows(ConcurrencyLimitExceededException.class,
+                () -> balanceEventBroadcaster.subscribe("1000000014"));
+        assertEquals(2.0, meterRegistry.get("account.events.subscribers").gauge().value());
+    }
+
+    @Test
+    @DisplayName("전송이 send-timeout 을 넘긴 구독자 - 에러로 끊고 전송 스레드를 돌려받음")
+    void dispatch_StalledSend() throws Exception {
+        // given
+        balanceEventBroadcaster.stop();
+        CountDownLatch sendStarted = new CountDownLatch(1);
+        CountDownLatch sendInterrupted = new CountDownLatch(1);
+        balanceEventBroadcaster = new BalanceEventBroadcaster(
+                redissonClient, meterRegistry, true, 60_000L, 2, 2, 1, 100L) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                // 클라이언트가 받지 않아서 쓰기에서 멈춘 연결
+                return new SseEmitter(timeoutMillis) {
+                    @Override
+                    public void send(SseEventBuilder builder) throws IOException {
+                        sendStarted.countDown();
+                        try {
+                            Thread.sleep(60_000L);
+                        } catch (InterruptedException e) {
+                            sendInterrupted.countDown();
+                            throw new IOException(e);
+                        }
+                    }
+                };
+            }
+        };
+        balanceEventBroadcaster.start();
+        balanceEventBroadcaster.subscribe("1000000012");
+
+        // when
+        balanceEventBroadcaster.dispatch(BalanceEvent.builder()
+                .accountNumber("1000000012")
+                .transactionId("transactionId")
+                .build());
+
+        // then
+        assertTrue(sendStarted.await(1, TimeUnit.SECONDS));
+        assertTrue(sendInterrupted.await(2, TimeUnit.SECONDS));
+        assertEquals(0.0, meterRegistry.get("account.events.subscribers").gauge().value());
+        assertEquals(1.0, meterRegistry.get("account.events.stalled").counter().count());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.account.service;
+
+import com.example.account.domain.BalanceHold;
+import com.example.account.dto.AvailableBalance;
+import com.example.account.exception.AccountException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *  홀드 확정과 새 홀드가 동시에 들어오는 경우 (실제 DB / Redis 로 확인)
+ *  홀드 기능을 켠 별도 컨텍스트이므로 Redis 포트 / H2 DB 를 따로 쓴다.
+ */
+@SpringBootTest(properties = {
+        "account.hold.enabled=true",
+        "spring.redis.port=6393",
+        "spring.datasource.url=jdbc:h2:mem:hold-test",
+        "account.datasource.replica.url=jdbc:h2:mem:hold-test"
+})
+class BalanceHoldConcurrencyTest {
+    private static final long USER_ID = 1L;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private final ExecutorService threads = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("홀드 확정 중에 들어온 홀드는 확정될 잔액을 다시 잡지 못한다")
+    void captureHold_concurrentHold() throws Exception {
+        for (int i = 0; i < ROUNDS; i++) {
+            // given
+            String accountNumber = accountService.createAccount(USER_ID, 1000L).getAccountNumber();
+            BalanceHold hold = transactionService.holdBalance(USER_ID, accountNumber, 600L, null);
+            CountDownLatch start = new CountDownLatch(1);
+
+            // when
+            Future<?> capture = threads.submit(() -> {
+                start.await();
+                return transactionService.captureHold(hold.getHoldId(), accountNumber);
+            });
+            Future<?> newHold = threads.submit(() -> {
+                start.await();
+                return transactionService.holdBalance(USER_ID, accountNumber, 600L, null);
+            });
+            start.countDown();
+
+            // then
+            // 확정이 먼저면 잔액 400, 홀드가 먼저면 홀드 합계 1200 - 어느 순서든 새 홀드는 실패
+            capture.get();
+            ExecutionException exception = assertThrows(ExecutionException.class, newHold::get);
+            assertTrue(exception.getCause() instanceof AccountException);
+            AvailableBalance available = transactionService.getAvailableBalance(accountNumber);
+            assertEquals(400L, available.getBalance());
+            assertEquals(0L, available.getHeldAmount());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.account.service;
+
+import com.example.account.domain.BalanceHold;
+import com.example.account.exception.AccountException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+import static com.example.account.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceHoldServiceTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private RMapCache<String, BalanceHold> holdMap;
+
+    private BalanceHoldService balanceHoldService;
+
+    @BeforeEach
+    void setUp() {
+        balanceHoldService = new BalanceHoldService(redissonClient, lockService, true, 600L, 3600L);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("계좌 락은 트랜잭션이 끝난 뒤에 푼다")
+    void lockUntilCompletion() throws InterruptedException {
+        // given
+        given(lockService.tryLock(anyString(), anyLong(), anyLong(), any()))
+                .willReturn(true);
+
+        // when
+        balanceHoldService.lockUntilCompletion("1000000012");
+
+        // then
+        verify(lockService).tryLock("balance-hold-lock:1000000012", 1, 5, TimeUnit.SECONDS);
+        verify(lockService, never()).unlock(anyString());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        verify(lockService).unlock("balance-hold-lock:1000000012");
+    }
+
+    @Test
+    @DisplayName("다른 홀드 / 사용이 계좌 락을 잡고 있으면 실패")
+    void lockUntilCompletion_Locked() throws InterruptedException {
+        // given
+        given(lockService.tryLock(anyString(), anyLong(), anyLong(), any()))
+                .willReturn(false);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> balanceHoldService.lockUntilCompletion("1000000012"));
+
+        // then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    @DisplayName("홀드 기능을 쓰지 않으면 잠그지 않는다")
+    void lockUntilCompletion_Disabled() {
+        // given
+        balanceHoldService = new BalanceHoldService(redissonClient, lockService, false, 600L, 3600L);
+
+        // when
+        balanceHoldService.lockUntilCompletion("1000000012");
+
+        // then
+        verifyNoInteractions(lockService);
+    }
+
+    @Test
+    @DisplayName("잔액에서 다른 홀드 합계를 빼면 부족한 경우 - 홀드 실패")
+    void hold_AmountExceedAvailableBalance() {
+        // given
+        given(redissonClient.<String, BalanceHold>getMapCache(anyString()))
+                .willReturn(holdMap);
+        given(holdMap.readAllValues())
+                .willReturn(Collections.singletonList(BalanceHold.builder().amount(8000L).build()));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> balanceHoldService.hold(12L, "1000000012", 3000L, null, 10000L));
+
+        // then
+        assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(holdMap, never()).put(anyString(), any(), anyLong(), any());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.account.service;
+
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.shard.ShardRouter;
+import com.example.account.shard.ShardTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BloomFilterServiceTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private RBloomFilter<String> filter;
+
+    @Mock
+    private RBucket<String> marker;
+
+    @Mock
+    private RLock lock;
+
+    private BloomFilterService bloomFilterService;
+
+    @BeforeEach
+    void setUp() {
+        bloomFilterService = new BloomFilterService(redissonClient, accountRepository, transactionRepository,
+                new ShardTemplate(new ShardRouter(1), null, 1));
+        given(redissonClient.<String>getBucket(anyString(), any())).willReturn(marker);
+        given(redissonClient.getLock(anyString())).willReturn(lock);
+    }
+
+    @Test
+    @DisplayName("완료 표시가 없으면 락을 잡고 DB 에서 채운 뒤 완료 표시")
+    void ensureComplete_Rebuild() throws InterruptedException {
+        // given
+        given(marker.isExists()).willReturn(false, false, true);
+        given(lock.tryLock()).willReturn(true);
+        given(redissonClient.<String>getBloomFilter(anyString())).willReturn(filter);
+        given(accountRepository.findAccountNumbers(any(Pageable.class)))
+                .willReturn(new SliceImpl<>(List.of("1000000012", "1000000013")));
+
+        // when
+        bloomFilterService.ensureComplete("bloom:accountNumber", accountRepository::findAccountNumbers);
+
+        // then
+        verify(filter).add("1000000012");
+        verify(filter).add("1000000013");
+        verify(marker).set(anyString());
+        verify(lock).unlock();
+    }
+
+    @Test
+    @DisplayName("다른 노드가 채우는 중이면 채우지 않고 완료 표시를 기다린다")
+    void ensureComplete_RebuildingOnOtherNode() throws InterruptedException {
+        // given
+        given(marker.isExists()).willReturn(false, true);
+        given(lock.tryLock()).willReturn(false);
+
+        // when
+        bloomFilterService.ensureComplete("bloom:accountNumber", accountRepository::findAccountNumbers);
+
+        // then
+        verifyNoInteractions(accountRepository);
+        verify(marker, never()).set(anyString());
+    }
+
+    @Test
+    @DisplayName("완료 표시가 있으면 그대로 사용")
+    void ensureComplete_AlreadyComplete() throws InterruptedException {
+        // given
+        given(marker.isExists()).willReturn(true);
+
+        // when
+        bloomFilterService.ensureComplete("bloom:accountNumber", accountRepository::findAccountNumbers);
+
+        // then
+        verify(lock, never()).tryLock();
+        verifyNoInteractions(accountRepository);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountDailySummary;
+import com.example.account.domain.TransactionOutbox;
+import com.example.account.dto.DailySummary;
+import com.example.account.dto.TransactionType;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountDailySummaryRepository;
+import com.example.account.repository.AccountRepository;
+import com.example.account.shard.ShardRouter;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailySummaryServiceTest {
+    private static final LocalDate DAY = LocalDate.of(2022, 9, 1);
+
+    @Mock
+    private AccountDailySummaryRepository accountDailySummaryRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private final Account account = Account.builder()
+            .id(1L)
+            .accountNumber("1000000012")
+            .balance(10000L)
+            .build();
+
+    private DailySummaryService dailySummaryService;
+
+    @BeforeEach
+    void setUp() {
+        dailySummaryService = new DailySummaryService(
+                accountDailySummaryRepository, accountRepository,
+                new ShardRouter(1), true, true, 31);
+    }
+
+    private TransactionOutbox event(TransactionType type, TransactionResultType resultType,
+                                    long amount, long balanceSnapShot, LocalDate day) {
+        return TransactionOutbox.builder()
+                .accountNumber(account.getAccountNumber())
+                .transactionType(type)
+                .transactionResultType(resultType)
+                .amount(amount)
+                .balanceSnapShot(balanceSnapShot)
+                .transactedAt(day.atTime(12, 0))
+                .build();
+    }
+
+    @Test
+    @DisplayName("일별 합계 - 그날 행이 있으면 update 한번으로 누적")
+    void apply() {
+        // given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountDailySummaryRepository.accumulate(any(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .willReturn(1);
+
+        // when
+        dailySummaryService.apply(List.of(event(TransactionType.USE, TransactionResultType.S, 1000L, 9000L, DAY)));
+
+        // then
+        verify(accountDailySummaryRepository, times(1))
+                .accumulate(account, DAY, 1000L, 1L, 0L, 0L, 9000L);
+        verify(accountDailySummaryRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("일별 합계 - 그날 첫 거래면 누적값으로 행을 만든다 (별도 트랜잭션 없음)")
+    void apply_FirstOfDay() {
+        // given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountDailySummaryRepository.accumulate(any(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .willReturn(0);
+        ArgumentCaptor<AccountDailySummary> captor = ArgumentCaptor.forClass(AccountDailySummary.class);
+
+        // when
+        dailySummaryService.apply(List.of(event(TransactionType.CANCEL, TransactionResultType.S, 1000L, 11000L, DAY)));
+
+        // then
+        verify(accountDailySummaryRepository, times(1)).save(captor.capture());
+        assertEquals(DAY, captor.getValue().getSummaryDate());
+        assertEquals(1000L, captor.getValue().getCreditAmount());
+        assertEquals(1L, captor.getValue().getCreditCount());
+        assertEquals(0L, captor.getValue().getDebitAmount());
+        assertEquals(11000L, captor.getValue().getClosingBalance());
+    }
+
+    @Test
+    @DisplayName("일별 합계 - 실패 거래는 누적하지 않고, 묶음은 계좌 / 날짜별로 한번씩 누적")
+    void apply_Batch() {
+        // given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountDailySummaryRepository.accumulate(any(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .willReturn(1);
+
+        // when
+        dailySummaryService.apply(List.of(
+                event(TransactionType.USE, TransactionResultType.S, 1000L, 9000L, DAY),
+                event(TransactionType.USE, TransactionResultType.F, 5000L, 9000L, DAY),
+                event(TransactionType.USE, TransactionResultType.S, 2000L, 7000L, DAY),
+                event(TransactionType.USE, TransactionResultType.S, 3000L, 4000L, DAY.plusDays(1))));
+
+        // then
+        verify(accountRepository, times(1)).findByAccountNumber("1000000012");
+        verify(accountDailySummaryRepository, times(1))
+                .accumulate(account, DAY, 3000L, 2L, 0L, 0L, 7000L);
+        verify(accountDailySummaryRepository, times(1))
+                .accumulate(account, DAY.plusDays(1), 3000L, 1L, 0L, 0L, 4000L);
+    }
+
+    @Test
+    @DisplayName("outbox 없이 일별 합계를 켜면 시작 실패")
+    void requiresOutbox() {
+        assertThrows(IllegalStateException.class, () -> new DailySummaryService(
+                accountDailySummaryRepository, accountRepository,
+                new ShardRouter(1), true, false, 31));
+    }
+
+    @Test
+    @DisplayName("일별 합계 조회 - 일별 행을 합산")
+    void getDailySummary() {
+        // given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountDailySummaryRepository.findByAccountAndSummaryDateBetweenOrderBySummaryDate(
+                any(), any(), any()))
+                .willReturn(List.of(
+                        AccountDailySummary.builder().summaryDate(DAY)
+                                .debitAmount(3000L).debitCount(2L)
+                                .creditAmount(1000L).creditCount(1L)
+                                .closingBalance(8000L).build(),
+                        AccountDailySummary.builder().summaryDate(DAY.plusDays(2))
+                                .debitAmount(500L).debitCount(1L)
+                                .creditAmount(0L).creditCount(0L)
+                                .closingBalance(7500L).build()));
+
+        // when
+        DailySummary summary = dailySummaryService.getDailySummary(
+                "1000000012", DAY, DAY.plusDays(6));
+
+        // then
+        assertEquals(3500L, summary.getDebitAmount());
+        assertEquals(3L, summary.getDebitCount());
+        assertEquals(1000L, summary.getCreditAmount());
+        assertEquals(2, summary.getDays().size());
+        assertEquals(7500L, summary.getDays().get(1).getClosingBalance());
+    }
+
+    @Test
+    @DisplayName("일별 합계 조회 실패 - 최대 조회 기간 초과")
+    void getDailySummary_RangeTooLong() {
+        // given
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> dailySummaryService.getDailySummary("1000000012", DAY, DAY.plusDays(31)));
+
+        // then
+        assertEquals(ErrorCode.INVALID_REQUEST, exception.getErrorCode());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.account.service;
+
+import com.example.account.domain.FailedTransactionCount;
+import com.example.account.dto.FailedTransactionReport;
+import com.example.account.dto.TransactionType;
+import com.example.account.repository.FailedTransactionCountRepository;
+import com.example.account.shard.ShardRouter;
+import com.example.account.shard.ShardTemplate;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.account.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static com.example.account.type.ErrorCode.USER_ACCOUNT_UN_MATCH;
+import static com.example.account.type.ErrorCode.USER_NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionRecorderTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private BloomFilterService bloomFilterService;
+
+    @Mock
+    private FailedTransactionCountRepository failedTransactionCountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private FailedTransactionRecorder recorder(boolean enabled, long samplePerMinute) {
+        return recorder(enabled, samplePerMinute, 10000);
+    }
+
+    private FailedTransactionRecorder recorder(boolean enabled, long samplePerMinute, int maxKeysPerMinute) {
+        return new FailedTransactionRecorder(
+                transactionService, bloomFilterService, failedTransactionCountRepository,
+                new ShardRouter(1), new ShardTemplate(new ShardRouter(1), null, 1),
+                transactionManager, meterRegistry, enabled, samplePerMinute, maxKeysPerMinute, 1000);
+    }
+
+    private static FailedTransactionCountRepository.Total total(
+            ErrorCode errorCode, TransactionType transactionType, long failureCount, long sampledCount) {
+        return new FailedTransactionCountRepository.Total() {
+            @Override
+            public ErrorCode getErrorCode() {
+                return errorCode;
+            }
+
+            @Override
+            public TransactionType getTransactionType() {
+                return transactionType;
+            }
+
+            @Override
+            public Long getFailureCount() {
+                return failureCount;
+            }
+
+            @Override
+            public Long getSampledCount() {
+                return sampledCount;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("실패 기록 비활성화 - 실패할 때마다 실패 거래 저장")
+    void record_Disabled() {
+        // given
+        FailedTransactionRecorder recorder = recorder(false, 1);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            recorder.recordFailedUse("1000000012", 1000L, AMOUNT_EXCEED_BALANCE);
+        }
+        recorder.recordFailedCancel("1000000012", 1000L, AMOUNT_EXCEED_BALANCE);
+
+        // then
+        verify(transactionService, times(3)).saveFailedUseBalance("1000000012", 1000L);
+        verify(transactionService, times(1)).saveFailedCancelBalance("1000000012", 1000L);
+        verify(failedTransactionCountRepository, never())
+                .accumulate(anyString(), any(), any(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("실패 기록 - 샘플 예산까지만 실패 거래를 저장하고 전체 건수는 flush 때 누적")
+    void record_Sampled() {
+        // given
+        FailedTransactionRecorder recorder = recorder(true, 2);
+        given(failedTransactionCountRepository.accumulate(
+                anyString(), any(), any(), any(), anyLong(), anyLong()))
+                .willReturn(1);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            recorder.recordFailedUse("1000000012", 1000L, USER_ACCOUNT_UN_MATCH);
+        }
+        recorder.flush();
+
+        // then
+        verify(transactionService, times(2)).saveFailedUseBalance("1000000012", 1000L);
+        verify(failedTransactionCountRepository, times(1)).accumulate(
+                eq("1000000012"), eq(USER_ACCOUNT_UN_MATCH), eq(TransactionType.USE), any(),
+                eq(5L), eq(2L));
+        assertEquals(3.0, meterRegistry.counter("transaction.failure.sampled_out").count());
+    }
+
+    @Test
+    @DisplayName("실패 기록 flush - 처음 보는 분은 집계 행을 만든다")
+    void flush_NewWindow() {
+        // given
+        FailedTransactionRecorder recorder = recorder(true, 10);
+        given(failedTransactionCountRepository.accumulate(
+                anyString(), any(), any(), any(), anyLong(), anyLong()))
+                .willReturn(0);
+        ArgumentCaptor<FailedTransactionCount> captor = ArgumentCaptor.forClass(FailedTransactionCount.class);
+
+        // when
+        recorder.recordFailedCancel("1000000012", 1000L, AMOUNT_EXCEED_BALANCE);
+        recorder.flush();
+        recorder.flush();
+
+        // then
+        verify(failedTransactionCountRepository, times(1)).saveAndFlush(captor.capture());
+        assertEquals(TransactionType.CANCEL, captor.getValue().getTransactionType());
+        assertEquals(1L, captor.getValue().getFailureCount());
+        assertEquals(1L, captor.getValue().getSampledCount());
+    }
+
+    @Test
+    @DisplayName("실패 기록 flush - DB 저장에 실패하면 건수를 되돌려서 다음 flush 때 함께 누적")
+    void flush_RepositoryFailed() {
+        // given
+        FailedTransactionRecorder recorder = recorder(true, 10);
+        given(failedTransactionCountRepository.accumulate(
+                anyString(), any(), any(), any(), anyLong(), anyLong()))
+                .willThrow(new QueryTimeoutException("timeout"))
+                .willReturn(1);
+
+        // when
+        recorder.recordFailedUse("1000000012", 1000L, AMOUNT_EXCEED_BALANCE);
+        recorder.recordFailedUse("1000000012", 1000L, AMOUNT_EXCEED_BALANCE);
+        recorder.flush();
+        recorder.recordFailedUse("1000000012", 1000L, AMOUNT_EXCEED_BALANCE);
+        recorder.flush();
+
+        // then
+        verify(failedTransactionCountRepository, times(1)).accumulate(
+                eq("1000000012"), eq(AMOUNT_EXCEED_BALANCE), eq(TransactionType.USE), any(),
+                eq(2L), eq(2L));
+        verify(failedTransactionCountRepository, times(1)).accumulate(
+                eq("1000000012"), eq(AMOUNT_EXCEED_BALANCE), eq(TransactionType.USE), any(),
+                eq(3L), eq(3L));
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("없는 계좌의 실패는 계좌번호 대신 UNKNOWN 하나로 세고 실패 거래는 저장하지 않는다")
+    void record_UnknownAccount() {
+        // given
+        FailedTransactionRecorder recorder = recorder(true, 10);
+        given(bloomFilterService.isUnknownAccountNumber(anyString()))
+                .willReturn(true);
+        given(failedTransactionCountRepository.accumulate(
+                anyString(), any(), any(), any(), anyLong(), anyLong()))
+                .willReturn(1);
+
+        // when
+        recorder.recordFailedUse("9000000001", 1000L, USER_NOT_FOUND);
+        recorder.recordFailedUse("9000000002", 1000L, USER_NOT_FOUND);
+        recorder.recordFailedUse("9000000003", 1000L, USER_NOT_FOUND);
+        recorder.flush();
+
+        // then
+        verify(transactionService, never()).saveFailedUseBalance(anyString(), anyLong());
+        verify(failedTransactionCountRepository, times(1)).accumulate(
+                eq(FailedTransactionRecorder.UNKNOWN_ACCOUNT), eq(USER_NOT_FOUND), eq(TransactionType.USE), any(),
+                eq(3L), eq(0L));
+    }
+
+    @Test
+    @DisplayName("분당 집계 키 수를 넘으면 나머지 계좌는 OTHER 로 묶는다")
+    void record_MaxKeysPerMinute() {
+        // given
+        FailedTransactionRecorder recorder = recorder(true, 10, 1);
+        given(failedTransactionCountRepository.accumulate(
+                anyString(), any(), any(), any(), anyLong(), anyLong()))
+                .willReturn(1);
+
+        // when
+        recorder.recordFailedUse("1000000012", 1000L, AMOUNT_EXCEED_BALANCE);
+        recorder.recordFailedUse("1000000013", 1000L, AMOUNT_EXCEED_BALANCE);
+        recorder.recordFailedUse("1000000014", 1000L, AMOUNT_EXCEED_BALANCE);
+        recorder.flush();
+
+        // then
+        verify(transactionService, times(1)).saveFailedUseBalance("1000000012", 1000L);
+        verify(failedTransactionCountRepository, times(1)).accumulate(
+                eq("1000000012"), eq(AMOUNT_EXCEED_BALANCE), eq(TransactionType.USE), any(),
+                eq(1L), eq(1L));
+        verify(failedTransactionCountRepository, times(1)).accumulate(
+                eq(FailedTransactionRecorder.OTHER_ACCOUNTS), eq(AMOUNT_EXCEED_BALANCE), eq(TransactionType.USE), any(),
+                eq(2L), eq(0L));
+    }
+
+    @Test
+    @DisplayName("실패 집계 조회 - 에러코드 / 거래 종류별로 합쳐서 많은 순서로")
+    void getReport() {
+        // given
+        FailedTransactionRecorder recorder = recorder(true, 10);
+        LocalDateTime from = LocalDateTime.of(2022, 9, 1, 0, 0);
+        given(failedTransactionCountRepository.sumByErrorCode(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .willReturn(List.of(
+                        total(AMOUNT_EXCEED_BALANCE, TransactionType.USE, 10L, 10L),
+                        total(USER_ACCOUNT_UN_MATCH, TransactionType.USE, 1000L, 20L)));
+
+        // when
+        FailedTransactionReport report = recorder.getReport(null, from, from.plusDays(1));
+
+        // then
+        assertEquals(2, report.getTotals().size());
+        assertEquals(USER_ACCOUNT_UN_MATCH, report.getTotals().get(0).getErrorCode());
+        assertEquals(1000L, report.getTotals().get(0).getFailureCount());
+        assertEquals(20L, report.getTotals().get(0).getSampledCount());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.ErrorCode.RECORDING_ALREADY_RUNNING;
+import static com.example.account.type.ErrorCode.RECORDING_NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *  JFR 기록을 실제로 시작 / 중지하고 .jfr 파일에 거래 이벤트가 남는지 확인
+ */
+@SpringBootTest
+class FlightRecorderServiceTest {
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private FlightRecorderService flightRecorderService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @AfterEach
+    void tearDown() {
+        flightRecorderService.destroy();
+    }
+
+    @Test
+    @DisplayName("기록 중 발생한 잔액 사용 / 거래 저장 이벤트가 .jfr 파일에 남는다")
+    void startAndStop() throws IOException {
+        // given
+        String accountNumber = accountService.createAccount(USER_ID, 1000L).getAccountNumber();
+        flightRecorderService.start(60, 10);
+
+        // when
+        transactionService.useBalance(USER_ID, accountNumber, 300L);
+        Path file = flightRecorderService.stop();
+
+        // then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> accountNumber.equals(event.getString("accountNumber")))
+                .collect(Collectors.toList());
+        RecordedEvent operation = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.account.BalanceOperation"))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        assertEquals("USE", operation.getString("operation"));
+        assertEquals(300L, operation.getLong("amount"));
+        assertEquals("S", operation.getString("outcome"));
+        RecordedEvent insert = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.account.TransactionInsert"))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        assertEquals("USE", insert.getString("transactionType"));
+        assertEquals("S", insert.getString("resultType"));
+    }
+
+    @Test
+    @DisplayName("진행중인 기록이 있으면 새 기록 시작 실패")
+    void start_AlreadyRunning() {
+        // given
+        flightRecorderService.start(60, 10);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> flightRecorderService.start(60, 10));
+
+        // then
+        assertEquals(RECORDING_ALREADY_RUNNING, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("기록이 없으면 중지 실패")
+    void stop_NotFound() {
+        // given
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> flightRecorderService.stop());
+
+        // then
+        assertEquals(RECORDING_NOT_FOUND, exception.getErrorCode());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountBalanceSlot;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountBalanceSlotRepository;
+import com.example.account.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+import static com.example.account.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *  잔액 분할 계좌에 대한 요청이 서로 겹치는 경우 (실제 DB 로 확인)
+ */
+@SpringBootTest
+class HotAccountConcurrencyTest {
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private HotAccountService hotAccountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceSlotRepository accountBalanceSlotRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService otherThread = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        otherThread.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("계좌를 읽은 뒤 잔액 분할이 커밋되면 잔액 사용은 실패하고 슬롯 잔액은 그대로 남는다")
+    void useBalance_afterConcurrentSplit() {
+        // given
+        String accountNumber = accountService.createAccount(USER_ID, 1000L).getAccountNumber();
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // 분할 전 계좌를 먼저 읽어둔다. (잔액 사용이 같은 트랜잭션에서 이 계좌를 다시 쓴다)
+            Account stale = accountRepository.findByAccountNumber(accountNumber).get();
+            assertFalse(stale.isBalanceSplit());
+
+            try {
+                otherThread.submit(() -> hotAccountService.splitBalance(accountNumber, 4)).get();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+
+            AccountException exception = assertThrows(AccountException.class,
+                    () -> transactionService.useBalance(USER_ID, accountNumber, 300L));
+            assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+            status.setRollbackOnly();
+        });
+
+        // then
+        Account account = accountRepository.findByAccountNumber(accountNumber).get();
+        assertEquals(4, account.getBalanceSlotCount());
+        assertEquals(0L, account.getBalance());
+        assertEquals(1000L, slotSum(account));
+    }
+
+    @Test
+    @DisplayName("묶음 처리 중 빌려오기 -> 슬롯 차감 -> 빌려오기 순서여도 슬롯 잔액은 DB 값으로 확인한다")
+    void useBalanceBatch_borrowAfterWithdraw() {
+        // given
+        String accountNumber = accountService.createAccount(USER_ID, 100L).getAccountNumber();
+        hotAccountService.splitBalance(accountNumber, 2);
+
+        // when
+        // 60 은 빌려와서 [0, 40], 10 은 1번 슬롯 차감(벌크 update) 또는 빌려오기, 마지막 40 은 잔액(10) 부족
+        List<UseBalanceBatch.Result> results = transactionService.useBalanceBatch(accountNumber,
+                Stream.of(60L, 10L, 10L, 10L, 40L)
+                        .map(amount -> new UseBalanceBatch.Command(USER_ID, amount))
+                        .collect(Collectors.toList()));
+
+        // then
+        assertEquals(Arrays.asList(null, null, null, null, AMOUNT_EXCEED_BALANCE), results.stream()
+                .map(UseBalanceBatch.Result::getErrorCode)
+                .collect(Collectors.toList()));
+        assertEquals(10L, results.get(3).getTransactionDto().getBalanceSnapShot());
+        assertEquals(10L, slotSum(accountRepository.findByAccountNumber(accountNumber).get()));
+    }
+
+    private long slotSum(Account account) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                accountBalanceSlotRepository.findByAccountOrderBySlotIndex(account).stream()
+                        .mapToLong(AccountBalanceSlot::getBalance)
+                        .sum());
+    }
+}
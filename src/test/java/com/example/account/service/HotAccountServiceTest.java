@@ -0,0 +1,239 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountBalanceSlot;
+import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountBalanceSlotRepository;
+import com.example.account.repository.AccountRepository;
+import com.example.account.shard.ShardRouter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.AccountStatus.IN_USE;
+import static com.example.account.type.ErrorCode.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HotAccountServiceTest {
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountBalanceSlotRepository accountBalanceSlotRepository;
+
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter(1);
+
+    @InjectMocks
+    private HotAccountService hotAccountService;
+
+    @Test
+    @DisplayName("잔액 분할 - 나머지는 앞쪽 슬롯부터 나눠 담는다")
+    void splitBalance() {
+        // given
+        Account account = account(10L, null);
+        given(accountRepository.findByAccountNumberForUpdate(anyString()))
+                .willReturn(Optional.of(account));
+        ArgumentCaptor<AccountBalanceSlot> captor = ArgumentCaptor.forClass(AccountBalanceSlot.class);
+
+        // when
+        AccountDto accountDto = hotAccountService.splitBalance("1000000012", 4);
+
+        // then
+        verify(accountBalanceSlotRepository, times(4)).save(captor.capture());
+        assertEquals(Arrays.asList(3L, 3L, 2L, 2L), captor.getAllValues().stream()
+                .map(AccountBalanceSlot::getBalance)
+                .collect(Collectors.toList()));
+        assertEquals(0L, account.getBalance());
+        assertEquals(4, account.getBalanceSlotCount());
+        assertEquals(10L, accountDto.getBalance());
+    }
+
+    @Test
+    @DisplayName("이미 분할된 계좌는 다시 분할할 수 없다")
+    void splitBalance_AlreadySplit() {
+        // given
+        given(accountRepository.findByAccountNumberForUpdate(anyString()))
+                .willReturn(Optional.of(account(0L, 4)));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> hotAccountService.splitBalance("1000000012", 4));
+
+        // then
+        assertEquals(ACCOUNT_BALANCE_ALREADY_SPLIT, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("잔액 합치기 - 슬롯 합계를 계좌 잔액으로")
+    void mergeBalance() {
+        // given
+        Account account = account(0L, 2);
+        List<AccountBalanceSlot> slots = Arrays.asList(slot(account, 0, 30L), slot(account, 1, 12L));
+        given(accountRepository.findByAccountNumberForUpdate(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountBalanceSlotRepository.findByAccountOrderBySlotIndex(any()))
+                .willReturn(slots);
+
+        // when
+        AccountDto accountDto = hotAccountService.mergeBalance("1000000012");
+
+        // then
+        verify(accountBalanceSlotRepository).deleteAll(slots);
+        assertEquals(42L, account.getBalance());
+        assertNull(account.getBalanceSlotCount());
+        assertEquals(42L, accountDto.getBalance());
+    }
+
+    @Test
+    @DisplayName("슬롯 하나에서 차감 성공 - 다른 슬롯은 잠그지 않는다")
+    void useBalance_SingleSlot() {
+        // given
+        Account account = account(0L, 4);
+        given(accountBalanceSlotRepository.withdraw(any(), anyInt(), anyLong()))
+                .willReturn(1);
+        given(accountBalanceSlotRepository.sumBalance(any()))
+                .willReturn(900L);
+
+        // when
+        long balance = hotAccountService.useBalance(account, 100L, 0L);
+
+        // then
+        verify(accountBalanceSlotRepository, times(0)).findByAccountOrderBySlotIndex(any());
+        assertEquals(900L, balance);
+    }
+
+    @Test
+    @DisplayName("슬롯 잔액이 부족하면 다른 슬롯에서 빌려온다")
+    void useBalance_Borrow() {
+        // given
+        Account account = account(0L, 3);
+        List<AccountBalanceSlot> slots = Arrays.asList(
+                slot(account, 0, 30L), slot(account, 1, 50L), slot(account, 2, 40L));
+        given(accountBalanceSlotRepository.withdraw(any(), anyInt(), anyLong()))
+                .willReturn(0);
+        given(accountBalanceSlotRepository.findByAccountOrderBySlotIndex(any()))
+                .willReturn(slots);
+        given(accountBalanceSlotRepository.sumBalance(any()))
+                .willReturn(20L);
+
+        // when
+        long balance = hotAccountService.useBalance(account, 100L, 0L);
+
+        // then
+        assertEquals(0L, slots.get(0).getBalance());
+        assertEquals(0L, slots.get(1).getBalance());
+        assertEquals(20L, slots.get(2).getBalance());
+        assertEquals(20L, balance);
+    }
+
+    @Test
+    @DisplayName("모든 슬롯의 합계가 부족하면 실패")
+    void useBalance_AmountExceedBalance() {
+        // given
+        Account account = account(0L, 2);
+        given(accountBalanceSlotRepository.withdraw(any(), anyInt(), anyLong()))
+                .willReturn(0);
+        given(accountBalanceSlotRepository.findByAccountOrderBySlotIndex(any()))
+                .willReturn(Arrays.asList(slot(account, 0, 30L), slot(account, 1, 50L)));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> hotAccountService.useBalance(account, 100L, 0L));
+
+        // then
+        assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("홀드가 있으면 슬롯 하나에서 차감하지 않고 모든 슬롯의 합계 - 홀드로 확인")
+    void useBalance_WithHold() {
+        // given
+        Account account = account(0L, 2);
+        given(accountBalanceSlotRepository.findByAccountOrderBySlotIndex(any()))
+                .willReturn(Arrays.asList(slot(account, 0, 100L), slot(account, 1, 50L)));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> hotAccountService.useBalance(account, 100L, 60L));
+
+        // then
+        verify(accountBalanceSlotRepository, times(0)).withdraw(any(), anyInt(), anyLong());
+        assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("홀드를 빼고도 충분하면 잠근 슬롯에서 앞 슬롯부터 차감")
+    void useBalance_WithHoldEnough() {
+        // given
+        Account account = account(0L, 2);
+        List<AccountBalanceSlot> slots = Arrays.asList(slot(account, 0, 100L), slot(account, 1, 50L));
+        given(accountBalanceSlotRepository.findByAccountOrderBySlotIndex(any()))
+                .willReturn(slots);
+        given(accountBalanceSlotRepository.sumBalance(any()))
+                .willReturn(30L);
+
+        // when
+        long balance = hotAccountService.useBalance(account, 120L, 30L);
+
+        // then
+        verify(accountBalanceSlotRepository, times(0)).withdraw(any(), anyInt(), anyLong());
+        assertEquals(0L, slots.get(0).getBalance());
+        assertEquals(30L, slots.get(1).getBalance());
+        assertEquals(30L, balance);
+    }
+
+    @Test
+    @DisplayName("취소 금액은 슬롯 하나에 더한다")
+    void cancelBalance() {
+        // given
+        Account account = account(0L, 4);
+        given(accountBalanceSlotRepository.deposit(any(), anyInt(), anyLong()))
+                .willReturn(1);
+        given(accountBalanceSlotRepository.sumBalance(any()))
+                .willReturn(1100L);
+
+        // when
+        long balance = hotAccountService.cancelBalance(account, 100L);
+
+        // then
+        verify(accountBalanceSlotRepository).deposit(any(), anyInt(), eq(100L));
+        assertEquals(1100L, balance);
+    }
+
+    private static Account account(Long balance, Integer balanceSlotCount) {
+        return Account.builder()
+                .id(1L)
+                .accountUser(AccountUser.builder().id(12L).name("Pobi").build())
+                .accountStatus(IN_USE)
+                .accountNumber("1000000012")
+                .balance(balance)
+                .balanceSlotCount(balanceSlotCount)
+                .build();
+    }
+
+    private static AccountBalanceSlot slot(Account account, int slotIndex, Long balance) {
+        return AccountBalanceSlot.builder()
+                .account(account)
+                .slotIndex(slotIndex)
+                .balance(balance)
+                .build();
+    }
+}
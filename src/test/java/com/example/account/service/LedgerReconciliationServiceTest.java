@@ -0,0 +1,86 @@
+package com.example.account.service;
+
+import com.example.account.dto.ReconciliationReport;
+import com.example.account.dto.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerReconciliationServiceTest {
+    // 행 : 계좌 아이디, 계좌번호, 잔액, 분할 슬롯 수, 거래 아이디, 거래 종류, 금액, 잔액 스냅샷
+    private static Object[] row(Long accountId, Long balance, Integer slotCount,
+                                String transactionId, TransactionType type, Long amount, Long snapShot) {
+        return new Object[]{accountId, "100000000" + accountId, balance, slotCount,
+                transactionId, type, amount, snapShot};
+    }
+
+    private static LedgerReconciliationService.Tally check(int maxReported, Object[]... rows) {
+        LedgerReconciliationService.LedgerChecker checker =
+                new LedgerReconciliationService.LedgerChecker(0, maxReported);
+        for (Object[] row : rows) {
+            checker.accept(row);
+        }
+        return checker.finish();
+    }
+
+    @Test
+    @DisplayName("대사 - 스냅샷이 이어지고 마지막 스냅샷이 잔액과 같으면 불일치 없음")
+    void check_Consistent() {
+        // given
+        // when
+        LedgerReconciliationService.Tally tally = check(10,
+                row(1L, 7000L, null, "t1", TransactionType.USE, 1000L, 9000L),
+                row(1L, 7000L, null, "t2", TransactionType.USE, 3000L, 6000L),
+                row(1L, 7000L, null, "t3", TransactionType.CANCEL, 1000L, 7000L),
+                // 거래가 없는 계좌
+                row(2L, 500L, null, null, null, null, null));
+
+        // then
+        assertEquals(2, tally.getAccounts());
+        assertEquals(3, tally.getTransactions());
+        assertEquals(0, tally.getDiscrepancyCount());
+    }
+
+    @Test
+    @DisplayName("대사 - 스냅샷이 끊기거나 잔액이 다르면 불일치")
+    void check_Mismatch() {
+        // given
+        // when
+        LedgerReconciliationService.Tally tally = check(10,
+                row(1L, 6000L, null, "t1", TransactionType.USE, 1000L, 9000L),
+                row(1L, 6000L, null, "t2", TransactionType.USE, 3000L, 5000L),
+                row(2L, 100L, null, "t3", TransactionType.USE, 1000L, 200L));
+
+        // then
+        assertEquals(3, tally.getDiscrepancyCount());
+        List<ReconciliationReport.Discrepancy> discrepancies = tally.getDiscrepancies();
+        assertEquals(ReconciliationReport.DiscrepancyType.SNAPSHOT_MISMATCH, discrepancies.get(0).getType());
+        assertEquals("t2", discrepancies.get(0).getTransactionId());
+        assertEquals(6000L, discrepancies.get(0).getExpected());
+        assertEquals(5000L, discrepancies.get(0).getActual());
+        assertEquals(ReconciliationReport.DiscrepancyType.BALANCE_MISMATCH, discrepancies.get(1).getType());
+        assertEquals(1L, discrepancies.get(1).getAccountId());
+        assertEquals(ReconciliationReport.DiscrepancyType.BALANCE_MISMATCH, discrepancies.get(2).getType());
+        assertEquals(2L, discrepancies.get(2).getAccountId());
+    }
+
+    @Test
+    @DisplayName("대사 - 잔액 분할 계좌는 건너뛰고, 보고 건수는 max-reported 까지만")
+    void check_SkipSplitAndLimitReported() {
+        // given
+        // when
+        LedgerReconciliationService.Tally tally = check(1,
+                row(1L, 0L, 4, "t1", TransactionType.USE, 1000L, 123L),
+                row(2L, 0L, null, "t2", TransactionType.USE, 1000L, 100L),
+                row(3L, 0L, null, "t3", TransactionType.USE, 1000L, 100L));
+
+        // then
+        assertEquals(3, tally.getAccounts());
+        assertEquals(1, tally.getSkippedSplitAccounts());
+        assertEquals(2, tally.getDiscrepancyCount());
+        assertEquals(1, tally.getDiscrepancies().size());
+    }
+}
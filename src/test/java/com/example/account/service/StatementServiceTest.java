@@ -0,0 +1,171 @@
+package com.example.account.service;
+
+import com.example.account.dto.StatementReport;
+import com.example.account.dto.TransactionType;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class StatementServiceTest {
+    private static final YearMonth MONTH = YearMonth.of(2022, 9);
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(2022, 9, 1, 0, 0);
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private StatementService statementService;
+
+    @BeforeEach
+    void setUp() {
+        statementService = new StatementService(
+                accountRepository, transactionRepository, new ShardRouter(1), transactionManager,
+                directory.toString(), 2, 10, 2);
+    }
+
+    private static AccountRepository.AccountKey account(long id, String accountNumber) {
+        return new AccountRepository.AccountKey() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getAccountNumber() {
+                return accountNumber;
+            }
+        };
+    }
+
+    private static TransactionRepository.StatementLine line(long id, long amount, long balanceSnapShot) {
+        return new TransactionRepository.StatementLine() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTransactionId() {
+                return "transaction" + id;
+            }
+
+            @Override
+            public TransactionType getTransactionType() {
+                return TransactionType.USE;
+            }
+
+            @Override
+            public Long getAmount() {
+                return amount;
+            }
+
+            @Override
+            public Long getBalanceSnapShot() {
+                return balanceSnapShot;
+            }
+
+            @Override
+            public LocalDateTime getTransactedAt() {
+                return LocalDateTime.of(2022, 9, 1, 12, 0);
+            }
+        };
+    }
+
+    private static List<String> readLines(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("명세서 작성 - 계좌별 거래를 keyset 페이지로 읽어 gzip 파일로 작성")
+    void generate() throws IOException {
+        // given
+        given(accountRepository.findAccountKeysAfter(eq(0L), any()))
+                .willReturn(List.of(account(1L, "1000000001"), account(2L, "1000000002")));
+        given(transactionRepository.findStatementLines(eq(1L), any(), any(), any(),
+                eq(MONTH_START), eq(0L), any()))
+                .willReturn(List.of(line(11L, 1000L, 9000L), line(12L, 2000L, 7000L)));
+        given(transactionRepository.findStatementLines(eq(1L), any(), any(), any(),
+                eq(LocalDateTime.of(2022, 9, 1, 12, 0)), eq(12L), any()))
+                .willReturn(List.of(line(13L, 500L, 6500L)));
+        given(transactionRepository.findStatementLines(eq(2L), any(), any(), any(),
+                eq(MONTH_START), eq(0L), any()))
+                .willReturn(List.of());
+        StatementService.Progress progress = new StatementService.Progress(MONTH, directory.resolve("2022-09"));
+
+        // when
+        statementService.generate(progress);
+
+        // then
+        StatementReport report = progress.report();
+        assertEquals(StatementReport.Status.COMPLETED, report.getStatus());
+        assertEquals(2, report.getAccountsWritten());
+        assertEquals(3, report.getTransactionsWritten());
+        List<String> lines = readLines(directory.resolve("2022-09/1000000001.csv.gz"));
+        assertEquals(5, lines.size());
+        assertEquals("2022-09-01T12:00,transaction13,USE,500,6500", lines.get(4));
+        assertEquals(2, readLines(directory.resolve("2022-09/1000000002.csv.gz")).size());
+        assertFalse(Files.exists(directory.resolve("2022-09/1000000001.csv.gz.tmp")));
+    }
+
+    @Test
+    @DisplayName("명세서 작성 재시작 - 이미 작성된 계좌는 건너뜀")
+    void generate_Resume() throws IOException {
+        // given
+        Files.createDirectories(directory.resolve("2022-09"));
+        Files.write(directory.resolve("2022-09/1000000001.csv.gz"), new byte[0]);
+        given(accountRepository.findAccountKeysAfter(eq(0L), any()))
+                .willReturn(List.of(account(1L, "1000000001"), account(2L, "1000000002")));
+        given(transactionRepository.findStatementLines(eq(2L), any(), any(), any(),
+                eq(MONTH_START), eq(0L), any()))
+                .willReturn(List.of(line(21L, 1000L, 9000L)));
+        StatementService.Progress progress = new StatementService.Progress(MONTH, directory.resolve("2022-09"));
+
+        // when
+        statementService.generate(progress);
+
+        // then
+        StatementReport report = progress.report();
+        assertEquals(1, report.getAccountsSkipped());
+        assertEquals(1, report.getAccountsWritten());
+        verify(transactionRepository, never())
+                .findStatementLines(eq(1L), any(), any(), any(), any(), anyLong(), any());
+    }
+}
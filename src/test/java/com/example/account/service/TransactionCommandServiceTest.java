@@ -0,0 +1,252 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionCommand;
+import com.example.account.exception.AccountException;
+import com.example.account.exception.ConcurrencyLimitExceededException;
+import com.example.account.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.*;
+import org.redisson.api.stream.StreamAddArgs;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.type.ErrorCode.ACCOUNT_NOT_FOUND;
+import static com.example.account.type.ErrorCode.COMMAND_FAILED;
+import static com.example.account.type.ErrorCode.COMMAND_NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionCommandServiceTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private FailedTransactionRecorder failedTransactionRecorder;
+
+    @Mock
+    private BloomFilterService bloomFilterService;
+
+    @Mock
+    private RBatch batch;
+
+    @Mock
+    private RBucketAsync<TransactionCommand.Result> bucketAsync;
+
+    @Mock
+    private RStreamAsync<String, String> stream;
+
+    @Mock
+    private RBucket<TransactionCommand.Result> bucket;
+
+    @Mock
+    private RStream<String, String> partitionStream;
+
+    @Mock
+    private RStream<String, String> deadLetterStream;
+
+    @Mock
+    private RTopic topic;
+
+    private TransactionCommandService transactionCommandService;
+
+    @BeforeEach
+    void setUp() {
+        transactionCommandService = new TransactionCommandService(
+                redissonClient, transactionService, failedTransactionRecorder, bloomFilterService,
+                new ShardRouter(1),
+                new SimpleMeterRegistry(), true, 8, 32, 1000, 5, 600, 1000);
+    }
+
+    @Test
+    @DisplayName("요청 접수 - 결과 자리와 요청을 한번의 파이프라인으로 저장하고 접수 번호 반환")
+    void successEnqueue() {
+        // given
+        given(redissonClient.<String, String>getStream(anyString(), any())).willReturn(partitionStream);
+        given(redissonClient.createBatch(any())).willReturn(batch);
+        given(batch.<TransactionCommand.Result>getBucket(anyString())).willReturn(bucketAsync);
+        given(batch.<String, String>getStream(anyString(), any())).willReturn(stream);
+
+        // when
+        TransactionCommand.Result result =
+                transactionCommandService.enqueue(1L, "1000000012", 1000L);
+
+        // then
+        assertEquals(TransactionCommand.Status.PENDING, result.getStatus());
+        assertNotNull(result.getTicket());
+        verify(bucketAsync, times(1)).setAsync(eq(result), anyLong(), eq(TimeUnit.MILLISECONDS));
+        verify(stream, times(1)).addAsync(any(StreamAddArgs.class));
+        verify(batch, times(1)).execute();
+    }
+
+    @Test
+    @DisplayName("밀린 요청이 최대 길이만큼 쌓인 파티션 - 접수하지 않고 실패")
+    void enqueue_StreamFull() {
+        // given
+        given(redissonClient.<String, String>getStream(anyString(), any())).willReturn(partitionStream);
+        given(partitionStream.size()).willReturn(1000L);
+
+        // when
+        assertThrows(ConcurrencyLimitExceededException.class,
+                () -> transactionCommandService.enqueue(1L, "1000000012", 1000L));
+
+        // then
+        verify(redissonClient, never()).createBatch(any());
+    }
+
+    @Test
+    @DisplayName("블룸필터에 없는 계좌 - 접수하지 않고 실패")
+    void enqueue_AccountNotFound() {
+        // given
+        given(bloomFilterService.isUnknownAccountNumber(anyString())).willReturn(true);
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionCommandService.enqueue(1L, "1000000012", 1000L));
+
+        // then
+        assertEquals(ACCOUNT_NOT_FOUND, accountException.getErrorCode());
+        verify(redissonClient, times(0)).createBatch(any());
+    }
+
+    @Test
+    @DisplayName("이미 처리된 요청 - 기다리지 않고 결과 반환")
+    void awaitResult_AlreadyDone() throws Exception {
+        // given
+        given(redissonClient.<TransactionCommand.Result>getBucket(anyString())).willReturn(bucket);
+        given(bucket.get()).willReturn(TransactionCommand.Result.builder()
+                .ticket("ticket")
+                .status(TransactionCommand.Status.SUCCEEDED)
+                .build());
+
+        // when
+        CompletableFuture<TransactionCommand.Result> future =
+                transactionCommandService.awaitResult("ticket", 10_000L);
+
+        // then
+        assertEquals(TransactionCommand.Status.SUCCEEDED, future.get(1, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    @DisplayName("처리 중인 요청 - 대기시간이 지나면 대기 상태 반환")
+    void awaitResult_Timeout() throws Exception {
+        // given
+        given(redissonClient.<TransactionCommand.Result>getBucket(anyString())).willReturn(bucket);
+        given(bucket.get()).willReturn(TransactionCommand.Result.pending("ticket", "1000000012", 1000L));
+
+        // when
+        CompletableFuture<TransactionCommand.Result> future =
+                transactionCommandService.awaitResult("ticket", 50L);
+
+        // then
+        assertEquals(TransactionCommand.Status.PENDING, future.get(1, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    @DisplayName("없는 접수 번호 - 결과 조회 실패")
+    void getResult_CommandNotFound() {
+        // given
+        given(redissonClient.<TransactionCommand.Result>getBucket(anyString())).willReturn(bucket);
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionCommandService.getResult("ticket"));
+
+        // then
+        assertEquals(COMMAND_NOT_FOUND, accountException.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("처리할 수 없는 요청 - 최대 전달 횟수에 도달하면 실패 결과를 남기고 dead letter stream 으로 옮긴 뒤 ack")
+    void handle_DeadLetter() {
+        // given
+        StreamMessageId id = new StreamMessageId(1L, 0L);
+        given(partitionStream.listPending(anyString(), eq(id), eq(id), eq(1)))
+                .willReturn(List.of(new PendingEntry(id, "partition-0", 1000L, 5L)));
+        given(redissonClient.<String, String>getStream(eq("transaction-commands-dead:0"), any()))
+                .willReturn(deadLetterStream);
+        given(redissonClient.<TransactionCommand.Result>getBucket(anyString())).willReturn(bucket);
+        given(redissonClient.getTopic(anyString())).willReturn(topic);
+        ArgumentCaptor<TransactionCommand.Result> captor =
+                ArgumentCaptor.forClass(TransactionCommand.Result.class);
+
+        // when
+        transactionCommandService.handle(partitionStream, 0, id, poisonFields(), false);
+
+        // then
+        verify(deadLetterStream, times(1)).add(any(StreamAddArgs.class));
+        verify(bucket, times(1)).set(captor.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        assertEquals(TransactionCommand.Status.FAILED, captor.getValue().getStatus());
+        assertEquals(COMMAND_FAILED, captor.getValue().getErrorCode());
+        assertEquals(1000L, captor.getValue().getAmount());
+        verify(partitionStream, times(1)).ack(anyString(), eq(id));
+        verify(partitionStream, times(1)).remove(id);
+    }
+
+    @Test
+    @DisplayName("처리할 수 없는 요청 - 최대 전달 횟수 전에는 ack 하지 않고 다시 전달받음")
+    void handle_RetryBeforeMaxDeliveries() {
+        // given
+        StreamMessageId id = new StreamMessageId(1L, 0L);
+        given(partitionStream.listPending(anyString(), eq(id), eq(id), eq(1)))
+                .willReturn(List.of(new PendingEntry(id, "partition-0", 1000L, 1L)));
+
+        // when
+        assertThrows(NumberFormatException.class,
+                () -> transactionCommandService.handle(partitionStream, 0, id, poisonFields(), false));
+
+        // then
+        verify(deadLetterStream, never()).add(any(StreamAddArgs.class));
+        verify(partitionStream, never()).ack(anyString(), any());
+        verify(partitionStream, never()).remove(any());
+    }
+
+    @Test
+    @DisplayName("DB 장애 - 전달 횟수와 관계없이 dead letter stream 으로 옮기지 않음")
+    void handle_TransientFailure() {
+        // given
+        StreamMessageId id = new StreamMessageId(1L, 0L);
+        Map<String, String> fields = poisonFields();
+        fields.put("userId", "1");
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong(), anyString()))
+                .willThrow(new QueryTimeoutException("timeout"));
+
+        // when
+        assertThrows(QueryTimeoutException.class,
+                () -> transactionCommandService.handle(partitionStream, 0, id, fields, false));
+
+        // then
+        verify(partitionStream, never()).listPending(anyString(), any(), any(), anyInt());
+        verify(partitionStream, never()).ack(anyString(), any());
+    }
+
+    // userId 가 숫자가 아니라 몇번을 다시 처리해도 실패하는 요청
+    private static Map<String, String> poisonFields() {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("ticket", "ticket");
+        fields.put("userId", "abc");
+        fields.put("accountNumber", "1000000012");
+        fields.put("amount", "1000");
+        fields.put("enqueuedAt", String.valueOf(System.currentTimeMillis()));
+        return fields;
+    }
+}
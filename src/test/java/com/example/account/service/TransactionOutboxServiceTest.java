@@ -0,0 +1,206 @@
+package com.example.account.service;
+
+import com.example.account.domain.TransactionOutbox;
+import com.example.account.dto.TransactionType;
+import com.example.account.repository.TransactionOutboxRepository;
+import com.example.account.shard.ShardRouter;
+import com.example.account.shard.ShardTemplate;
+import com.example.account.type.TransactionResultType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBatch;
+import org.redisson.api.RLock;
+import org.redisson.api.RStreamAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.stream.StreamAddArgs;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionOutboxServiceTest {
+    @Mock
+    private TransactionOutboxRepository transactionOutboxRepository;
+
+    @Mock
+    private DailySummaryService dailySummaryService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RBatch batch;
+
+    @Mock
+    private RStreamAsync<String, String> stream;
+
+    @Mock
+    private RLock ownerLock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransactionOutboxService transactionOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transactionOutboxService = new TransactionOutboxService(
+                transactionOutboxRepository,
+                dailySummaryService,
+                new ShardTemplate(new ShardRouter(1), null, 1),
+                transactionManager,
+                redissonClient,
+                meterRegistry,
+                true, "transaction-events", 2, 1000, 100);
+        given(redissonClient.getLock(anyString())).willReturn(ownerLock);
+    }
+
+    @Test
+    @DisplayName("outbox 발행 - 한번의 파이프라인으로 발행하고, 일별 합계 누적과 함께 삭제")
+    void relay() {
+        // given
+        given(ownerLock.tryLock()).willReturn(true);
+        List<TransactionOutbox> events = events(1L, 2L);
+        given(transactionOutboxRepository.findByOrderByIdAsc(any()))
+                .willReturn(events);
+        given(redissonClient.createBatch(any())).willReturn(batch);
+        given(batch.<String, String>getStream(anyString(), any())).willReturn(stream);
+        given(transactionOutboxRepository.deleteByIds(anyList())).willReturn(2);
+        ArgumentCaptor<List<Long>> captor = ArgumentCaptor.forClass(List.class);
+
+        // when
+        boolean backlog = transactionOutboxService.relay();
+
+        // then
+        verify(stream, times(2)).addAsync(any(StreamAddArgs.class));
+        verify(batch, times(1)).execute();
+        verify(dailySummaryService, times(1)).apply(events);
+        verify(transactionOutboxRepository, times(1)).deleteByIds(captor.capture());
+        assertEquals(List.of(1L, 2L), captor.getValue());
+        assertTrue(backlog);
+        assertEquals(2.0, meterRegistry.counter("transaction.outbox.published").count());
+    }
+
+    @Test
+    @DisplayName("outbox 발행 실패 - 삭제하지 않고 다음에 다시 발행")
+    void relay_PublishFailed() {
+        // given
+        given(ownerLock.tryLock()).willReturn(true);
+        given(transactionOutboxRepository.findByOrderByIdAsc(any()))
+                .willReturn(events(1L));
+        given(redissonClient.createBatch(any())).willReturn(batch);
+        given(batch.<String, String>getStream(anyString(), any())).willReturn(stream);
+        given(batch.execute()).willThrow(new IllegalStateException("redis down"));
+
+        // when
+        assertThrows(IllegalStateException.class, () -> transactionOutboxService.relay());
+
+        // then
+        verify(dailySummaryService, times(0)).apply(anyList());
+        verify(transactionOutboxRepository, times(0)).deleteByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 같은 묶음을 먼저 지웠으면 일별 합계를 누적하지 않고 롤백")
+    void relay_AlreadyRelayed() {
+        // given
+        given(ownerLock.tryLock()).willReturn(true);
+        given(transactionOutboxRepository.findByOrderByIdAsc(any()))
+                .willReturn(events(1L, 2L));
+        given(redissonClient.createBatch(any())).willReturn(batch);
+        given(batch.<String, String>getStream(anyString(), any())).willReturn(stream);
+        given(transactionOutboxRepository.deleteByIds(anyList())).willReturn(0);
+        SimpleTransactionStatus status = new SimpleTransactionStatus();
+        given(transactionManager.getTransaction(any())).willReturn(status);
+
+        // when
+        transactionOutboxService.relay();
+
+        // then
+        verify(dailySummaryService, times(0)).apply(anyList());
+        assertTrue(status.isRollbackOnly());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 샤드 소유권 락을 잡고 있으면 읽지도 발행하지도 않는다")
+    void relay_OwnedByOtherNode() {
+        // given
+        given(ownerLock.tryLock()).willReturn(false);
+
+        // when
+        boolean backlog = transactionOutboxService.relay();
+
+        // then
+        assertFalse(backlog);
+        verify(redissonClient).getLock("transaction-outbox-owner:0");
+        verify(transactionOutboxRepository, times(0)).findByOrderByIdAsc(any());
+        verify(redissonClient, times(0)).createBatch(any());
+    }
+
+    @Test
+    @DisplayName("한번 잡은 샤드 소유권 락은 다시 잡지 않고 계속 발행")
+    void relay_AlreadyOwned() {
+        // given
+        given(ownerLock.isHeldByCurrentThread()).willReturn(true);
+        given(transactionOutboxRepository.findByOrderByIdAsc(any()))
+                .willReturn(List.of());
+
+        // when
+        transactionOutboxService.relay();
+
+        // then
+        verify(ownerLock, times(0)).tryLock();
+        verify(transactionOutboxRepository, times(1)).findByOrderByIdAsc(any());
+    }
+
+    @Test
+    @DisplayName("outbox 가 비어 있으면 Redis 호출 없음")
+    void relay_Empty() {
+        // given
+        given(ownerLock.tryLock()).willReturn(true);
+        given(transactionOutboxRepository.findByOrderByIdAsc(any()))
+                .willReturn(List.of());
+
+        // when
+        boolean backlog = transactionOutboxService.relay();
+
+        // then
+        assertFalse(backlog);
+        verify(redissonClient, times(0)).createBatch(any());
+    }
+
+    private static List<TransactionOutbox> events(Long... ids) {
+        return Arrays.stream(ids)
+                .map(id -> TransactionOutbox.builder()
+                        .id(id)
+                        .transactionId("transactionId" + id)
+                        .accountNumber("1000000012")
+                        .transactionType(TransactionType.USE)
+                        .transactionResultType(TransactionResultType.S)
+                        .amount(1000L)
+                        .balanceSnapShot(9000L)
+                        .transactedAt(LocalDateTime.now())
+                        .createdAt(LocalDateTime.now())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
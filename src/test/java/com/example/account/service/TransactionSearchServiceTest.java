@@ -0,0 +1,167 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.dto.TransactionSearch;
+import com.example.account.dto.TransactionType;
+import com.example.account.exception.AccountException;
+import com.example.account.exception.ConcurrencyLimitExceededException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.shard.ShardRouter;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSearchServiceTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2022, 9, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2022, 10, 1, 0, 0);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private TransactionSearchService searchService(int maxConcurrent) {
+        return new TransactionSearchService(
+                transactionRepository, accountRepository, new ShardRouter(1),
+                92, 100, 3, maxConcurrent);
+    }
+
+    private static TransactionRepository.SearchRow row(long id, LocalDateTime transactedAt) {
+        return new TransactionRepository.SearchRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTransactionId() {
+                return "transaction" + id;
+            }
+
+            @Override
+            public TransactionType getTransactionType() {
+                return TransactionType.USE;
+            }
+
+            @Override
+            public TransactionResultType getTransactionResultType() {
+                return TransactionResultType.S;
+            }
+
+            @Override
+            public Long getAmount() {
+                return 1000L;
+            }
+
+            @Override
+            public Long getBalanceSnapShot() {
+                return 9000L;
+            }
+
+            @Override
+            public LocalDateTime getTransactedAt() {
+                return transactedAt;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("거래 검색 - 첫 페이지는 건수를 최대 건수까지만 세고 다음 페이지 커서를 준다")
+    void search_FirstPage() {
+        // given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder().id(1L).accountNumber("1000000012").build()));
+        given(transactionRepository.search(eq(1L), eq(FROM), eq(TO), eq(0L), anyCollection(), anyCollection(), any()))
+                .willReturn(List.of(
+                        row(3L, LocalDateTime.of(2022, 9, 3, 0, 0)),
+                        row(2L, LocalDateTime.of(2022, 9, 2, 0, 0)),
+                        row(1L, LocalDateTime.of(2022, 9, 1, 0, 0))));
+        given(transactionRepository.findSearchIds(eq(1L), eq(FROM), eq(TO), anyCollection(), anyCollection(), any()))
+                .willReturn(List.of(1L, 2L, 3L, 4L));
+
+        // when
+        TransactionSearch result = searchService(4).search(
+                "1000000012", FROM, TO, List.of(TransactionType.USE), null, 2, null);
+
+        // then
+        assertEquals(2, result.getTransactions().size());
+        assertEquals("transaction3", result.getTransactions().get(0).getTransactionId());
+        assertEquals("2022-09-02T00:00_2", result.getNextCursor());
+        assertEquals(3L, result.getEstimatedCount());
+        assertTrue(result.isCountCapped());
+    }
+
+    @Test
+    @DisplayName("거래 검색 - 다음 페이지는 커서 이후부터 읽고 건수는 세지 않는다")
+    void search_NextPage() {
+        // given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder().id(1L).accountNumber("1000000012").build()));
+        given(transactionRepository.search(eq(1L), eq(FROM), eq(LocalDateTime.of(2022, 9, 2, 0, 0)), eq(2L),
+                anyCollection(), anyCollection(), any()))
+                .willReturn(List.of(row(1L, LocalDateTime.of(2022, 9, 1, 0, 0))));
+
+        // when
+        TransactionSearch result = searchService(4).search(
+                "1000000012", FROM, TO, null, null, 2, "2022-09-02T00:00_2");
+
+        // then
+        assertEquals(1, result.getTransactions().size());
+        assertNull(result.getNextCursor());
+        assertNull(result.getEstimatedCount());
+        verify(transactionRepository, never())
+                .findSearchIds(anyLong(), any(), any(), anyCollection(), anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("거래 검색 실패 - 최대 조회 기간 / 페이지 크기 초과, 잘못된 커서")
+    void search_InvalidRequest() {
+        // given
+        TransactionSearchService service = searchService(4);
+
+        // when
+        AccountException tooLong = assertThrows(AccountException.class,
+                () -> service.search("1000000012", FROM, FROM.plusDays(92), null, null, 10, null));
+        AccountException tooLarge = assertThrows(AccountException.class,
+                () -> service.search("1000000012", FROM, TO, null, null, 101, null));
+        AccountException badCursor = assertThrows(AccountException.class,
+                () -> service.search("1000000012", FROM, TO, null, null, 10, "abc"));
+
+        // then
+        assertEquals(ErrorCode.INVALID_REQUEST, tooLong.getErrorCode());
+        assertEquals(ErrorCode.INVALID_REQUEST, tooLarge.getErrorCode());
+        assertEquals(ErrorCode.INVALID_REQUEST, badCursor.getErrorCode());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("거래 검색 실패 - 동시 검색 수 초과")
+    void search_Overloaded() {
+        // given
+        TransactionSearchService service = searchService(0);
+
+        // when
+        // then
+        assertThrows(ConcurrencyLimitExceededException.class,
+                () -> service.search("1000000012", FROM, TO, Collections.emptyList(), null, 10, null));
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+}
@@ -1,25 +1,33 @@
 package com.example.account.service;
 
+import com.example.account.config.ReplicaStalenessGuard;
 import com.example.account.controller.TransactionController;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.domain.BalanceHold;
 import com.example.account.domain.Transaction;
+import com.example.account.dto.AvailableBalance;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalanceBatch;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
 import com.example.account.repository.TransactionRepository;
+import com.example.account.shard.ShardRouter;
 import com.example.account.type.AccountStatus;
 import com.example.account.type.ErrorCode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static com.example.account.dto.TransactionType.CANCEL;
@@ -30,6 +38,9 @@ import static com.example.account.type.TransactionResultType.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -42,6 +53,27 @@ class TransactionServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private BloomFilterService bloomFilterService;
+
+    @Mock
+    private ReplicaStalenessGuard replicaStalenessGuard;
+
+    @Mock
+    private HotAccountService hotAccountService;
+
+    @Mock
+    private BalanceHoldService balanceHoldService;
+
+    @Mock
+    private TransactionOutboxService transactionOutboxService;
+
+    @Mock
+    private BalanceEventBroadcaster balanceEventBroadcaster;
+
+    @Mock
+    private ShardRouter shardRouter;
+
     @Mock
     private TransactionRepository transactionRepository;
 
@@ -91,12 +123,109 @@ class TransactionServiceTest {
         verify(transactionRepository, times(1)).save(captor.capture());
         assertEquals(2000L, captor.getValue().getAmount());
         assertEquals(8000L, captor.getValue().getBalanceSnapShot());
+        verify(transactionOutboxService, times(1)).record(captor.getValue());
+        verify(balanceEventBroadcaster, times(1)).publishAfterCommit(captor.getValue());
         assertEquals(USE, transactionDto.getTransactionType());
         assertEquals(S, transactionDto.getTransactionResultType());
         assertEquals(1000L, transactionDto.getAmount());
         assertEquals(9000L, transactionDto.getBalanceSnapShot());
     }
 
+    @Test
+    @DisplayName("잔액 분할 계좌 사용 - 슬롯에서 차감하고 합계 잔액을 기록")
+    void successUseBalance_SplitAccount() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(0L)
+                .balanceSlotCount(4)
+                .accountNumber("1000000012").build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(hotAccountService.useBalance(any(), anyLong(), anyLong()))
+                .willReturn(8000L);
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        // when
+        transactionService.useBalance(1L, "1000000012", 2000L);
+
+        // then
+        verify(hotAccountService, times(1)).useBalance(account, 2000L, 0L);
+        verify(transactionRepository, times(1)).save(captor.capture());
+        assertEquals(8000L, captor.getValue().getBalanceSnapShot());
+        assertEquals(0L, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("잔액 분할 계좌 사용 - 홀드 합계를 넘겨 슬롯 합계에서 빼고 확인")
+    void useBalance_SplitAccountWithHold() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(0L)
+                .balanceSlotCount(4)
+                .accountNumber("1000000012").build();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(balanceHoldService.heldAmount(anyString()))
+                .willReturn(8000L);
+        given(hotAccountService.useBalance(any(), anyLong(), anyLong()))
+                .willThrow(new AccountException(AMOUNT_EXCEED_BALANCE));
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(1L, "1000000012", 3000L));
+
+        // then
+        assertEquals(AMOUNT_EXCEED_BALANCE, accountException.getErrorCode());
+        verify(hotAccountService, times(1)).useBalance(account, 3000L, 8000L);
+        verify(transactionRepository, times(0)).save(any());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 - 홀드 락을 잡은 뒤에 잔액과 홀드 합계를 읽는다")
+    void useBalance_LocksBeforeReadingHolds() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(user)
+                        .accountStatus(IN_USE)
+                        .balance(10000L)
+                        .accountNumber("1000000012").build()));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        transactionService.useBalance(1L, "1000000012", 3000L);
+
+        // then
+        InOrder inOrder = inOrder(balanceHoldService, accountRepository);
+        inOrder.verify(balanceHoldService).lockUntilCompletion("1000000012");
+        inOrder.verify(accountRepository).findByAccountNumber("1000000012");
+        inOrder.verify(balanceHoldService).heldAmount("1000000012");
+    }
+
     @Test
     @DisplayName("해당 유저 없음(잔액 사용 실패)")
     void useBalance_UserNotFound() {
@@ -313,6 +442,7 @@ class TransactionServiceTest {
         verify(transactionRepository, times(1)).save(captor.capture());
         assertEquals(1000L, captor.getValue().getAmount());
         assertEquals(11000L, captor.getValue().getBalanceSnapShot());
+        assertEquals("transactionIdForCancel", captor.getValue().getOriginalTransactionId());
         assertEquals(S, transactionDto.getTransactionResultType());
         assertEquals(CANCEL, transactionDto.getTransactionType());
         assertEquals(10000L, transactionDto.getBalanceSnapShot());
@@ -496,6 +626,184 @@ class TransactionServiceTest {
         assertEquals(TOO_OLD_ORDER_TO_CANCEL, accountException.getErrorCode());
     }
 
+    @Test
+    @DisplayName("취소 거래를 다시 취소 - 잔액 사용 취소 실패")
+    void cancelTransaction_cancelTransaction() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+
+        Account account = Account.builder()
+                .id(1L)
+                .accountNumber("1000000012")
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L).build();
+
+        Transaction transaction = Transaction.builder()
+                .account(account)
+                .transactionType(CANCEL)
+                .transactionResultType(S)
+                .transactionId("transactionIdForCancel")
+                .transactedAt(LocalDateTime.now())
+                .amount(1000L)
+                .balanceSnapShot(10000L)
+                .build();
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        // when
+        AccountException accountException =
+                assertThrows(AccountException.class,
+                        () -> transactionService.cancelBalance(
+                                "transactionIdForCancel",
+                                "1000000012",
+                                1000L));
+
+        // then
+        assertEquals(TRANSACTION_NOT_CANCELLABLE, accountException.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("실패한 잔액 사용 거래 - 잔액 사용 취소 실패")
+    void cancelTransaction_failedTransaction() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+
+        Account account = Account.builder()
+                .id(1L)
+                .accountNumber("1000000012")
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L).build();
+
+        Transaction transaction = Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(F)
+                .transactionId("transactionIdForCancel")
+                .transactedAt(LocalDateTime.now())
+                .amount(1000L)
+                .balanceSnapShot(10000L)
+                .build();
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        // when
+        AccountException accountException =
+                assertThrows(AccountException.class,
+                        () -> transactionService.cancelBalance(
+                                "transactionIdForCancel",
+                                "1000000012",
+                                1000L));
+
+        // then
+        assertEquals(TRANSACTION_NOT_CANCELLABLE, accountException.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("이미 취소된 거래 - 잔액 사용 취소 실패")
+    void cancelTransaction_alreadyCancelled() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+
+        Account account = Account.builder()
+                .id(1L)
+                .accountNumber("1000000012")
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L).build();
+
+        Transaction transaction = Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("transactionIdForCancel")
+                .transactedAt(LocalDateTime.now())
+                .amount(1000L)
+                .balanceSnapShot(9000L)
+                .build();
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.existsByOriginalTransactionId("transactionIdForCancel"))
+                .willReturn(true);
+
+        // when
+        AccountException accountException =
+                assertThrows(AccountException.class,
+                        () -> transactionService.cancelBalance(
+                                "transactionIdForCancel",
+                                "1000000012",
+                                1000L));
+
+        // then
+        assertEquals(TRANSACTION_ALREADY_CANCELLED, accountException.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("동시에 취소된 거래 - unique 제약 위반시 잔액 사용 취소 실패")
+    void cancelTransaction_concurrentlyCancelled() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+
+        Account account = Account.builder()
+                .id(1L)
+                .accountNumber("1000000012")
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L).build();
+
+        Transaction transaction = Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResultType(S)
+                .transactionId("transactionIdForCancel")
+                .transactedAt(LocalDateTime.now())
+                .amount(1000L)
+                .balanceSnapShot(9000L)
+                .build();
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        willThrow(new DataIntegrityViolationException("uk_transaction_original_transaction_id"))
+                .given(transactionRepository).flush();
+
+        // when
+        AccountException accountException =
+                assertThrows(AccountException.class,
+                        () -> transactionService.cancelBalance(
+                                "transactionIdForCancel",
+                                "1000000012",
+                                1000L));
+
+        // then
+        assertEquals(TRANSACTION_ALREADY_CANCELLED, accountException.getErrorCode());
+    }
+
     @Test
     void successQueryTransaction() {
         // given
@@ -550,4 +858,288 @@ class TransactionServiceTest {
         // then
         assertEquals(TRANSACTION_NOT_FOUND, accountException.getErrorCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("블룸필터에 없는 계좌 - DB 조회 없이 실패")
+    void useBalance_AccountNotFoundByBloomFilter() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(bloomFilterService.isUnknownAccountNumber(anyString()))
+                .willReturn(true);
+
+        // when
+        AccountException accountException =
+                assertThrows(AccountException.class,
+                        () -> transactionService.useBalance(
+                                1L,
+                                "1234567890",
+                                1000L));
+
+        // then
+        assertEquals(ACCOUNT_NOT_FOUND, accountException.getErrorCode());
+        verify(accountRepository, times(0)).findByAccountNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("블룸필터에 없는 거래 - DB 조회 없이 실패")
+    void queryTransaction_TransactionNotFoundByBloomFilter() {
+        // given
+        given(bloomFilterService.isUnknownTransactionId(anyString()))
+                .willReturn(true);
+
+        // when
+        AccountException accountException =
+                assertThrows(AccountException.class,
+                        () -> transactionService.queryTransaction(
+                                "transactionId"));
+
+        // then
+        assertEquals(TRANSACTION_NOT_FOUND, accountException.getErrorCode());
+        verify(transactionRepository, times(0)).findByTransactionId(anyString());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 묶음 처리 - 잔액이 모자란 요청만 실패")
+    void useBalanceBatch_PartialFailure() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build();
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(accountUserRepository.findAllById(anySet()))
+                .willReturn(List.of(user));
+        given(transactionRepository.saveAll(anyList()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        // when
+        List<UseBalanceBatch.Result> results = transactionService.useBalanceBatch(
+                "1000000012",
+                List.of(new UseBalanceBatch.Command(12L, 7000L),
+                        new UseBalanceBatch.Command(12L, 5000L),
+                        new UseBalanceBatch.Command(12L, 3000L)));
+
+        // then
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        verify(transactionOutboxService, times(1)).recordAll(captor.getValue());
+        assertEquals(3, results.size());
+        assertEquals(7000L, results.get(0).getTransactionDto().getAmount());
+        assertEquals(3000L, results.get(0).getTransactionDto().getBalanceSnapShot());
+        assertEquals(AMOUNT_EXCEED_BALANCE, results.get(1).getErrorCode());
+        assertEquals(0L, results.get(2).getTransactionDto().getBalanceSnapShot());
+        assertEquals(0L, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 묶음 처리 - 계좌가 없으면 전부 실패")
+    void useBalanceBatch_AccountNotFound() {
+        // given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.empty());
+
+        // when
+        List<UseBalanceBatch.Result> results = transactionService.useBalanceBatch(
+                "1000000012",
+                List.of(new UseBalanceBatch.Command(12L, 1000L),
+                        new UseBalanceBatch.Command(13L, 1000L)));
+
+        // then
+        assertEquals(2, results.size());
+        results.forEach(result -> assertEquals(ACCOUNT_NOT_FOUND, result.getErrorCode()));
+        verify(transactionRepository, times(0)).saveAll(anyList());
+    }
+
+    @Test
+    @Test
+    @DisplayName("홀드된 금액을 빼면 잔액이 부족한 경우 - 잔액 사용 실패")
+    void useBalance_AmountExceedAvailableBalance() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(balanceHoldService.heldAmount(anyString()))
+                .willReturn(8000L);
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(1L, "1000000012", 3000L));
+
+        // then
+        assertEquals(AMOUNT_EXCEED_BALANCE, accountException.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+        verify(transactionRepository, times(0)).save(any());
+    }
+
+    @Test
+    @DisplayName("잔액 홀드 - 거래 저장 없이 현재 잔액으로 홀드")
+    void successHoldBalance() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(user)
+                        .accountStatus(IN_USE)
+                        .balance(10000L)
+                        .accountNumber("1000000012").build()));
+        given(balanceHoldService.hold(anyLong(), anyString(), anyLong(), any(), anyLong()))
+                .willReturn(hold(3000L));
+
+        // when
+        BalanceHold hold = transactionService.holdBalance(12L, "1000000012", 3000L, null);
+
+        // then
+        InOrder inOrder = inOrder(balanceHoldService, accountRepository);
+        inOrder.verify(balanceHoldService).lockUntilCompletion("1000000012");
+        inOrder.verify(accountRepository).findByAccountNumber("1000000012");
+        inOrder.verify(balanceHoldService).hold(12L, "1000000012", 3000L, null, 10000L);
+        verify(transactionRepository, times(0)).save(any());
+        assertEquals("holdId", hold.getHoldId());
+    }
+
+    @Test
+    @DisplayName("홀드 확정 - 홀드 금액만큼 잔액 사용 거래 저장")
+    void successCaptureHold() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .accountNumber("1000000012").build();
+        given(balanceHoldService.take(anyString(), anyString()))
+                .willReturn(hold(3000L));
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(balanceHoldService.heldAmount(anyString()))
+                .willReturn(7000L);
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        TransactionDto transactionDto = transactionService.captureHold("holdId", "1000000012");
+
+        // then
+        assertEquals(USE, transactionDto.getTransactionType());
+        assertEquals(3000L, transactionDto.getAmount());
+        assertEquals(7000L, transactionDto.getBalanceSnapShot());
+    }
+
+    @Test
+    @DisplayName("이미 확정 / 만료된 홀드 - 확정 실패")
+    void captureHold_HoldNotFound() {
+        // given
+        given(balanceHoldService.take(anyString(), anyString()))
+                .willThrow(new AccountException(HOLD_NOT_FOUND));
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> transactionService.captureHold("holdId", "1000000012"));
+
+        // then
+        assertEquals(HOLD_NOT_FOUND, accountException.getErrorCode());
+        verify(transactionRepository, times(0)).save(any());
+    }
+
+    @Test
+    @DisplayName("홀드 확정 - 홀드 락을 잡은 뒤에 홀드를 꺼낸다")
+    void captureHold_LocksBeforeTakingHold() {
+        // given
+        given(balanceHoldService.take(anyString(), anyString()))
+                .willThrow(new AccountException(HOLD_NOT_FOUND));
+
+        // when
+        assertThrows(AccountException.class,
+                () -> transactionService.captureHold("holdId", "1000000012"));
+
+        // then
+        InOrder inOrder = inOrder(balanceHoldService);
+        inOrder.verify(balanceHoldService).lockUntilCompletion("1000000012");
+        inOrder.verify(balanceHoldService).take("holdId", "1000000012");
+    }
+
+    @Test
+    @DisplayName("사용 가능 잔액 조회 - 잔액에서 홀드 합계를 뺀다")
+    void getAvailableBalance() {
+        // given
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountStatus(IN_USE)
+                        .balance(10000L)
+                        .accountNumber("1000000012").build()));
+        given(balanceHoldService.heldAmount(anyString()))
+                .willReturn(3000L);
+
+        // when
+        AvailableBalance availableBalance = transactionService.getAvailableBalance("1000000012");
+
+        // then
+        assertEquals(10000L, availableBalance.getBalance());
+        assertEquals(3000L, availableBalance.getHeldAmount());
+        assertEquals(7000L, availableBalance.getAvailableBalance());
+    }
+
+    private static BalanceHold hold(Long amount) {
+        return BalanceHold.builder()
+                .holdId("holdId")
+                .userId(12L)
+                .accountNumber("1000000012")
+                .amount(amount)
+                .build();
+    }
+
+    @Test
+    @DisplayName("거래 아이디를 정해서 잔액 사용 - 비동기 요청의 접수 번호를 그대로 사용")
+    void successUseBalance_WithTransactionId() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .id(12L)
+                .name("Pobi").build();
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(user)
+                        .accountStatus(IN_USE)
+                        .balance(10000L)
+                        .accountNumber("1000000012").build()));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        TransactionDto transactionDto = transactionService.useBalance(
+                12L, "1000000012", 1000L, "ticket");
+
+        // then
+        assertEquals("ticket", transactionDto.getTransactionId());
+        verify(bloomFilterService, times(1)).addTransactionId("ticket");
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalanceBatch;
+import com.example.account.exception.AccountException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.example.account.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UseBalanceGroupCommitterTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Test
+    @DisplayName("비활성화시 기존 잔액 사용으로 바로 처리")
+    void useBalance_Disabled() {
+        // given
+        UseBalanceGroupCommitter committer = committer(false);
+        given(transactionService.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(TransactionDto.builder().amount(1000L).build());
+
+        // when
+        TransactionDto transactionDto = committer.useBalance(1L, "1000000000", 1000L);
+
+        // then
+        assertEquals(1000L, transactionDto.getAmount());
+        verify(transactionService, times(0)).useBalanceBatch(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("묶음 처리 실패 결과는 요청자에게 예외로 전달")
+    void useBalance_FailedResult() {
+        // given
+        UseBalanceGroupCommitter committer = committer(true);
+        given(transactionService.useBalanceBatch(anyString(), anyList()))
+                .willReturn(List.of(UseBalanceBatch.Result.fail(AMOUNT_EXCEED_BALANCE)));
+
+        // when
+        AccountException accountException = assertThrows(AccountException.class,
+                () -> committer.useBalance(1L, "1000000000", 1000L));
+
+        // then
+        assertEquals(AMOUNT_EXCEED_BALANCE, accountException.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("동시 요청은 묶어서 처리하고 각자 자기 결과를 받는다")
+    void useBalance_Concurrent() throws Exception {
+        // given
+        UseBalanceGroupCommitter committer = committer(true);
+        AtomicInteger batchCalls = new AtomicInteger();
+        AtomicInteger committed = new AtomicInteger();
+        given(transactionService.useBalanceBatch(anyString(), anyList()))
+                .willAnswer(invocation -> {
+                    List<UseBalanceBatch.Command> commands = invocation.getArgument(1);
+                    batchCalls.incrementAndGet();
+                    committed.addAndGet(commands.size());
+                    Thread.sleep(5);
+                    return commands.stream()
+                            .map(command -> UseBalanceBatch.Result.success(
+                                    TransactionDto.builder().amount(command.getAmount()).build()))
+                            .collect(Collectors.toList());
+                });
+        int requests = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<TransactionDto>> futures = new ArrayList<>();
+        for (long i = 1; i <= requests; i++) {
+            long amount = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return committer.useBalance(1L, "1000000000", amount);
+            }));
+        }
+        start.countDown();
+
+        // then
+        for (int i = 0; i < requests; i++) {
+            assertEquals(i + 1L, futures.get(i).get(5, TimeUnit.SECONDS).getAmount());
+        }
+        executor.shutdown();
+        assertEquals(requests, committed.get());
+        assertTrue(batchCalls.get() <= requests);
+    }
+
+    private UseBalanceGroupCommitter committer(boolean enabled) {
+        given(meterRegistry.getIfAvailable()).willReturn(new SimpleMeterRegistry());
+        return new UseBalanceGroupCommitter(transactionService, enabled, 32, 0, meterRegistry);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.account.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRouterTest {
+    private final ShardRouter shardRouter = new ShardRouter(3);
+
+    @Test
+    @DisplayName("같은 계좌번호는 항상 같은 샤드, 연속된 번호는 모든 샤드에 분산")
+    void shardOfAccountNumber() {
+        // given
+        Set<Integer> shards = new HashSet<>();
+
+        // when
+        for (long number = 1000000000L; number < 1000000030L; number++) {
+            int shard = shardRouter.shardOf(String.valueOf(number));
+            assertEquals(shard, shardRouter.shardOf(String.valueOf(number)));
+            shards.add(shard);
+        }
+
+        // then
+        assertEquals(Set.of(0, 1, 2), shards);
+    }
+
+    @Test
+    @DisplayName("거래 아이디에 샤드 번호가 들어간다")
+    void shardOfTransactionId() {
+        // given
+        String transactionId = ShardRouter.newTransactionId(2);
+
+        // when
+        // then
+        assertEquals(32, transactionId.length());
+        assertEquals(2, shardRouter.shardOfTransactionId(transactionId));
+    }
+
+    @Test
+    @DisplayName("샤드 번호가 없거나 잘못된 거래 아이디")
+    void shardOfInvalidTransactionId() {
+        // given
+        // when
+        // then
+        assertEquals(-1, shardRouter.shardOfTransactionId("ff" + "0".repeat(30)));
+        assertEquals(-1, shardRouter.shardOfTransactionId("zz" + "0".repeat(30)));
+        assertEquals(-1, shardRouter.shardOfTransactionId("a"));
+        assertEquals(0, new ShardRouter(1).shardOfTransactionId("ff" + "0".repeat(30)));
+    }
+
+    @Test
+    @DisplayName("샤드별 시퀀스로 만든 아이디에서 샤드 번호를 알 수 있다")
+    void shardOfId() {
+        // given
+        // when
+        // then
+        assertEquals(0, shardRouter.shardOfId(1L));
+        assertEquals(1, shardRouter.shardOfId(2L));
+        assertEquals(2, shardRouter.shardOfId(3L));
+        assertEquals(1, shardRouter.shardOfId(5L));
+    }
+}
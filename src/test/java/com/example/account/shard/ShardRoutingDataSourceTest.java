@@ -0,0 +1,127 @@
+package com.example.account.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *  여러 개의 메모리 H2 를 샤드로 사용
+ */
+class ShardRoutingDataSourceTest {
+    private final List<DataSource> shards = Arrays.asList(
+            h2("shard-test-0"), h2("shard-test-1"), h2("shard-test-2"));
+
+    private ShardRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(shards.get(0));
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            completeTransaction();
+        }
+        for (DataSource shard : shards) {
+            new JdbcTemplate(shard).execute("drop all objects");
+        }
+    }
+
+    @Test
+    @DisplayName("트랜잭션에 지정된 샤드로 연결하고, 트랜잭션이 끝나면 0번 샤드")
+    void routeToBoundShard() throws Exception {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        ShardContext.bind(2);
+
+        // then
+        assertTrue(connectedUrl().startsWith("jdbc:h2:mem:shard-test-2"));
+        completeTransaction();
+        assertTrue(connectedUrl().startsWith("jdbc:h2:mem:shard-test-0"));
+    }
+
+    @Test
+    @DisplayName("한 트랜잭션에서 다른 샤드를 지정하면 실패")
+    void bindOtherShardInSameTransaction() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        ShardContext.bind(1);
+
+        // when
+        // then
+        assertThrows(IllegalStateException.class, () -> ShardContext.bind(2));
+    }
+
+    @Test
+    @DisplayName("0번 샤드의 스키마 / 사용자를 복사하고 아이디 시퀀스를 샤드별로 나눈다")
+    void initializeShards() {
+        // given
+        JdbcTemplate primary = new JdbcTemplate(shards.get(0));
+        primary.execute("create table account_user (id bigint primary key, name varchar(255), " +
+                "created_at timestamp, updated_at timestamp)");
+        primary.execute("create sequence hibernate_sequence start with 1 increment by 1");
+        primary.update("insert into account_user values (1, 'Pororo', now(), now())");
+
+        // when
+        new ShardSchemaInitializer(shards.get(0),
+                new ShardDataSources(shards.subList(1, shards.size())), true)
+                .initialize();
+
+        // then
+        ShardRouter shardRouter = new ShardRouter(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shards.get(shard));
+            assertEquals("Pororo", jdbcTemplate.queryForObject(
+                    "select name from account_user where id = 1", String.class));
+
+            Long first = jdbcTemplate.queryForObject(
+                    "select next value for hibernate_sequence", Long.class);
+            Long second = jdbcTemplate.queryForObject(
+                    "select next value for hibernate_sequence", Long.class);
+            assertEquals(shard, shardRouter.shardOfId(first));
+            assertEquals(shard, shardRouter.shardOfId(second));
+        }
+    }
+
+    private String connectedUrl() throws Exception {
+        try (Connection connection = routingDataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+
+    private static void completeTransaction() {
+        List<TransactionSynchronization> synchronizations =
+                TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.account.tcp;
+
+import com.example.account.config.TransactionExecutors;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.service.FailedTransactionRecorder;
+import com.example.account.service.TransactionService;
+import com.example.account.service.UseBalanceGroupCommitter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.example.account.dto.TransactionType.USE;
+import static com.example.account.tcp.BinaryProtocol.*;
+import static com.example.account.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static com.example.account.type.ErrorCode.INVALID_REQUEST;
+import static com.example.account.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BinaryRequestHandlerTest {
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private UseBalanceGroupCommitter useBalanceGroupCommitter;
+
+    @Mock
+    private TransactionExecutors transactionExecutors;
+
+    @Mock
+    private FailedTransactionRecorder failedTransactionRecorder;
+
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        channel = new EmbeddedChannel(
+                new LengthFieldBasedFrameDecoder(
+                        MAX_FRAME_LENGTH, 0, LENGTH_FIELD_SIZE, 0, LENGTH_FIELD_SIZE),
+                new LengthFieldPrepender(LENGTH_FIELD_SIZE),
+                new BinaryRequestHandler(
+                        transactionService, useBalanceGroupCommitter, transactionExecutors,
+                        failedTransactionRecorder, 16));
+    }
+
+    @Test
+    @DisplayName("잔액 사용 요청 - 요청 번호와 함께 거래 결과 응답")
+    void useBalance() {
+        // given
+        given(transactionExecutors.write(any())).willAnswer(
+                invocation -> CompletableFuture.completedFuture(
+                        invocation.<Supplier<TransactionDto>>getArgument(0).get()));
+        given(useBalanceGroupCommitter.useBalance(anyLong(), anyString(), anyLong()))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1000000012")
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .transactionId("transactionId")
+                        .amount(1000L)
+                        .balanceSnapShot(9000L)
+                        .transactedAt(LocalDateTime.now())
+                        .build());
+
+        // when
+        ByteBuf request = Unpooled.buffer();
+        request.writeByte(OP_USE).writeInt(7).writeLong(12L);
+        writeAccountNumber(request, "1000000012");
+        request.writeLong(1000L);
+        channel.writeInbound(frame(request));
+        channel.runPendingTasks();
+
+        // then
+        ByteBuf response = readResponse();
+        assertEquals(STATUS_OK, response.readByte());
+        assertEquals(7, response.readInt());
+        TransactionDto transactionDto = readTransaction(response);
+        assertEquals("transactionId", transactionDto.getTransactionId());
+        assertEquals(9000L, transactionDto.getBalanceSnapShot());
+        verify(useBalanceGroupCommitter, times(1)).useBalance(12L, "1000000012", 1000L);
+        response.release();
+    }
+
+    @Test
+    @DisplayName("잔액 사용 실패 - 실패 거래를 저장하고 에러코드 응답")
+    void useBalance_AccountError() {
+        // given
+        given(transactionExecutors.write(any())).willAnswer(invocation -> {
+            try {
+                return CompletableFuture.completedFuture(
+                        invocation.<Supplier<TransactionDto>>getArgument(0).get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+        given(useBalanceGroupCommitter.useBalance(anyLong(), anyString(), anyLong()))
+                .willThrow(new AccountException(AMOUNT_EXCEED_BALANCE));
+
+        // when
+        ByteBuf request = Unpooled.buffer();
+        request.writeByte(OP_USE).writeInt(8).writeLong(12L);
+        writeAccountNumber(request, "1000000012");
+        request.writeLong(1000L);
+        channel.writeInbound(frame(request));
+        channel.runPendingTasks();
+
+        // then
+        ByteBuf response = readResponse();
+        assertEquals(STATUS_ACCOUNT_ERROR, response.readByte());
+        assertEquals(8, response.readInt());
+        assertEquals(AMOUNT_EXCEED_BALANCE.name(), readString(response));
+        verify(failedTransactionRecorder, times(1))
+                .recordFailedUse("1000000012", 1000L, AMOUNT_EXCEED_BALANCE);
+        response.release();
+    }
+
+    @Test
+    @DisplayName("잘못된 금액 - 처리하지 않고 INVALID_REQUEST 응답")
+    void useBalance_InvalidAmount() {
+        // when
+        ByteBuf request = Unpooled.buffer();
+        request.writeByte(OP_USE).writeInt(9).writeLong(12L);
+        writeAccountNumber(request, "1000000012");
+        request.writeLong(1L);
+        channel.writeInbound(frame(request));
+        channel.runPendingTasks();
+
+        // then
+        ByteBuf response = readResponse();
+        assertEquals(STATUS_ACCOUNT_ERROR, response.readByte());
+        assertEquals(9, response.readInt());
+        assertEquals(INVALID_REQUEST.name(), readString(response));
+        verify(transactionExecutors, times(0)).write(any());
+        response.release();
+    }
+
+    private static ByteBuf frame(ByteBuf body) {
+        return Unpooled.wrappedBuffer(
+                Unpooled.buffer(LENGTH_FIELD_SIZE).writeInt(body.readableBytes()), body);
+    }
+
+    // LengthFieldPrepender 는 길이와 본문을 따로 내보낸다.
+    private ByteBuf readResponse() {
+        ByteBuf length = channel.readOutbound();
+        ByteBuf body = channel.readOutbound();
+        assertEquals(length.readInt(), body.readableBytes());
+        length.release();
+        return body;
+    }
+}